@@ -28,6 +28,7 @@ CREATE TABLE `course` (
   `description` varchar(255) DEFAULT NULL,
   `teacherId` int NOT NULL,
   PRIMARY KEY (`id`),
+  UNIQUE KEY `uk_course_name` (`name`),
   KEY `teacherId` (`teacherId`),
   CONSTRAINT `course_ibfk_1` FOREIGN KEY (`teacherId`) REFERENCES `teacher` (`id`)
 ) ENGINE=InnoDB AUTO_INCREMENT=3 DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_0900_ai_ci;
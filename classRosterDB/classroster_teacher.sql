@@ -27,7 +27,10 @@ CREATE TABLE `teacher` (
   `firstName` varchar(30) NOT NULL,
   `lastName` varchar(50) NOT NULL,
   `specialty` varchar(50) DEFAULT NULL,
-  PRIMARY KEY (`id`)
+  `specialty_course_id` int DEFAULT NULL,
+  PRIMARY KEY (`id`),
+  KEY `idx_teacher_specialty_course` (`specialty_course_id`),
+  CONSTRAINT `teacher_specialty_course_fk` FOREIGN KEY (`specialty_course_id`) REFERENCES `course` (`id`)
 ) ENGINE=InnoDB AUTO_INCREMENT=10 DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_0900_ai_ci;
 /*!40101 SET character_set_client = @saved_cs_client */;
 
@@ -37,7 +40,7 @@ CREATE TABLE `teacher` (
 
 LOCK TABLES `teacher` WRITE;
 /*!40000 ALTER TABLE `teacher` DISABLE KEYS */;
-INSERT INTO `teacher` VALUES (1,'Shane','Keefe','Maths'),(2,'Mary','Lyons','History'),(3,'Eddie','Donovan','Geography'),(4,'Brian','Eno','Music'),(5,'Mr.','Miyagi','Wax on, Wax off'),(6,'Eugene','Regan','Cowbell'),(7,'John','Wick','Hitman'),(8,'lo','li','il'),(9,'Lautaro','Martinez','Footie');
+INSERT INTO `teacher` VALUES (1,'Shane','Keefe','Maths',NULL),(2,'Mary','Lyons','History',NULL),(3,'Eddie','Donovan','Geography',NULL),(4,'Brian','Eno','Music',NULL),(5,'Mr.','Miyagi','Wax on, Wax off',NULL),(6,'Eugene','Regan','Cowbell',NULL),(7,'John','Wick','Hitman',NULL),(8,'lo','li','il',NULL),(9,'Lautaro','Martinez','Footie',NULL);
 /*!40000 ALTER TABLE `teacher` ENABLE KEYS */;
 UNLOCK TABLES;
 /*!40103 SET TIME_ZONE=@OLD_TIME_ZONE */;
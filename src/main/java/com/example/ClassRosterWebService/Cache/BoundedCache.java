@@ -0,0 +1,164 @@
+package com.example.ClassRosterWebService.Cache;
+
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.LongSupplier;
+import java.util.function.Supplier;
+
+/*
+Size-bounded, least-recently-used in-process cache with hit/miss counters and
+an optional time-to-live per entry.
+
+Loads happen outside the lock. A value loaded while an invalidation was in
+progress is returned to the caller but never stored, so a write can't be
+undone by a slow reader putting the old data back.
+ */
+public class BoundedCache<K, V> {
+
+    private final String name;
+    private final int maxEntries;
+    private final long ttlNanos;
+    private final LongSupplier clock;
+    private final ReentrantLock lock = new ReentrantLock();
+    private final LinkedHashMap<K, CacheEntry<V>> entries;
+
+    private final AtomicLong generation = new AtomicLong();
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+    private final AtomicLong evictions = new AtomicLong();
+
+    public BoundedCache(String name, int maxEntries) {
+        this(name, maxEntries, null);
+    }
+
+    // A null or zero ttl means entries only leave through eviction or invalidation
+    public BoundedCache(String name, int maxEntries, Duration ttl) {
+        this(name, maxEntries, ttl, System::nanoTime);
+    }
+
+    BoundedCache(String name, int maxEntries, Duration ttl, LongSupplier clock) {
+        if (maxEntries <= 0) {
+            throw new IllegalArgumentException("maxEntries must be positive");
+        }
+        this.name = name;
+        this.maxEntries = maxEntries;
+        this.ttlNanos = ttl != null ? ttl.toNanos() : 0;
+        this.clock = clock;
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<K, CacheEntry<V>> eldest) {
+                if (size() > BoundedCache.this.maxEntries) {
+                    evictions.incrementAndGet();
+                    return true;
+                }
+                return false;
+            }
+        };
+    }
+
+    // Returns the cached value, or loads and caches it. Null results are not cached.
+    public V get(K key, Supplier<V> loader) {
+        lock.lock();
+        try {
+            CacheEntry<V> entry = entries.get(key);
+            if (entry != null) {
+                if (!entry.isExpired(clock.getAsLong())) {
+                    hits.incrementAndGet();
+                    return entry.value;
+                }
+                entries.remove(key);
+            }
+        } finally {
+            lock.unlock();
+        }
+
+        misses.incrementAndGet();
+        long loadGeneration = generation.get();
+        V loaded = loader.get();
+        if (loaded != null) {
+            long expiresAt = ttlNanos > 0 ? clock.getAsLong() + ttlNanos : Long.MAX_VALUE;
+            lock.lock();
+            try {
+                if (generation.get() == loadGeneration) {
+                    entries.put(key, new CacheEntry<>(loaded, expiresAt));
+                }
+            } finally {
+                lock.unlock();
+            }
+        }
+        return loaded;
+    }
+
+    public void invalidateAll() {
+        lock.lock();
+        try {
+            generation.incrementAndGet();
+            entries.clear();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // Clears now and, when called inside a transaction, once more after it commits.
+    // Otherwise a reader could reload pre-commit rows between the two and keep them.
+    public void invalidateAllOnCommit() {
+        invalidateAll();
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    invalidateAll();
+                }
+            });
+        }
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public int getMaxEntries() {
+        return maxEntries;
+    }
+
+    public int size() {
+        lock.lock();
+        try {
+            return entries.size();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public long getHitCount() {
+        return hits.get();
+    }
+
+    public long getMissCount() {
+        return misses.get();
+    }
+
+    public long getEvictionCount() {
+        return evictions.get();
+    }
+
+    private static final class CacheEntry<V> {
+        private final V value;
+        private final long expiresAt;
+
+        private CacheEntry(V value, long expiresAt) {
+            this.value = value;
+            this.expiresAt = expiresAt;
+        }
+
+        private boolean isExpired(long now) {
+            return now - expiresAt >= 0;
+        }
+    }
+}
@@ -0,0 +1,43 @@
+package com.example.ClassRosterWebService.Cache;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+@Configuration
+public class CacheConfig {
+
+    // Shared by the course and teacher DAOs: any catalog write clears the whole cache,
+    // because course rows embed teachers and teacher specialties reference course names
+    @Bean
+    public BoundedCache<String, Object> catalogCache(
+            @Value("${roster.cache.catalog.max-entries:500}") int maxEntries) {
+        return new BoundedCache<>("catalog", maxEntries);
+    }
+
+    // Users with their roles, keyed by username, id and linked student id. The TTL bounds
+    // how long a change made outside this application (e.g. directly in MySQL) can go unseen.
+    @Bean
+    public BoundedCache<String, Object> userCache(
+            @Value("${roster.cache.user.max-entries:10000}") int maxEntries,
+            @Value("${roster.cache.user.ttl:5m}") Duration ttl) {
+        return new BoundedCache<>("user", maxEntries, ttl);
+    }
+
+    @Bean
+    public RosterVersion rosterVersion() {
+        return new RosterVersion();
+    }
+
+    // Rendered HTML of repeated page fragments (see Controller.RosterFragments), keyed by entity
+    // id and roster version. The TTL bounds how long a replica read that lagged behind a write
+    // can stay cached under the version that followed it.
+    @Bean
+    public BoundedCache<String, String> fragmentCache(
+            @Value("${roster.cache.fragment.max-entries:5000}") int maxEntries,
+            @Value("${roster.cache.fragment.ttl:1m}") Duration ttl) {
+        return new BoundedCache<>("fragment", maxEntries, ttl);
+    }
+}
@@ -0,0 +1,84 @@
+package com.example.ClassRosterWebService.Cache;
+
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/*
+Write counters per roster aggregate, bumped by every write method of the DAO
+that owns it (StudentDaoDB: students and enrollments, CourseDaoDB, TeacherDaoDB).
+Anything derived from roster data keys itself on the versions current when the
+data was read, so a write makes all of it stale at once instead of each entry
+being tracked and evicted: cached page fragments use the roster-wide version,
+page ETags the versions of the aggregates the page shows.
+
+The counters live in this process and restart at zero, which is why tags carry
+the start-up epoch; like the other in-process caches this assumes one instance
+(or sticky sessions) in front of the database.
+ */
+public class RosterVersion {
+
+    public enum Aggregate { STUDENTS, COURSES, TEACHERS }
+
+    private final AtomicLongArray versions = new AtomicLongArray(Aggregate.values().length);
+    // System.nanoTime() of each aggregate's latest bump, i.e. of its latest commit
+    private final AtomicLongArray changedAt = new AtomicLongArray(Aggregate.values().length);
+    private final String epoch = Long.toString(System.currentTimeMillis(), 36);
+
+    public long current(Aggregate aggregate) {
+        return versions.get(aggregate.ordinal());
+    }
+
+    // Changes whenever any aggregate does (each counter only grows)
+    public long current() {
+        long sum = 0;
+        for (int i = 0; i < versions.length(); i++) {
+            sum += versions.get(i);
+        }
+        return sum;
+    }
+
+    // The given aggregates' versions as a string, for use in a validator such as an ETag
+    public String tag(Aggregate... aggregates) {
+        StringBuilder tag = new StringBuilder(epoch);
+        for (Aggregate aggregate : aggregates) {
+            tag.append('.').append(current(aggregate));
+        }
+        return tag.toString();
+    }
+
+    // Whether any of the aggregates was written (committed) less than window ago
+    public boolean changedWithin(Duration window, Aggregate... aggregates) {
+        long now = System.nanoTime();
+        for (Aggregate aggregate : aggregates) {
+            if (current(aggregate) > 0 && now - changedAt.get(aggregate.ordinal()) < window.toNanos()) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    // Bumps now and, when called inside a transaction, once more after it commits,
+    // so data read between the two can't be stored under the post-commit version
+    public void changed(Aggregate... aggregates) {
+        bump(aggregates);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    bump(aggregates);
+                }
+            });
+        }
+    }
+
+    private void bump(Aggregate[] aggregates) {
+        long now = System.nanoTime();
+        for (Aggregate aggregate : aggregates) {
+            changedAt.set(aggregate.ordinal(), now);
+            versions.incrementAndGet(aggregate.ordinal());
+        }
+    }
+}
@@ -0,0 +1,119 @@
+package com.example.ClassRosterWebService.Config;
+
+import com.zaxxer.hikari.HikariConfig;
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.metrics.micrometer.MicrometerMetricsTrackerFactory;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.core.Ordered;
+import org.springframework.core.env.Environment;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+
+/*
+Replaces Boot's single pool with one Hikari pool per Workload, all built from
+spring.datasource.* and tuned individually under roster.datasource.pools.<auth|read|write>.*
+(any HikariConfig property, e.g. maximum-pool-size, connection-timeout).
+
+Read replicas are optional: each roster.datasource.replicas.<name>.jdbc-url adds a
+pool, tuned like the read pool unless overridden under the same prefix. When any
+are configured, READ work is spread over them (roster.datasource.replica-selection)
+instead of using the primary's read pool.
+
+Pool metrics (hikaricp.connections.pending / .acquire / .usage / .active, tagged
+pool=roster-<workload> or roster-replica-<name>) are published through Micrometer.
+ */
+@Configuration
+public class DataSourceConfig {
+
+    @Bean(destroyMethod = "close")
+    public WorkloadPools workloadPools(DataSourceProperties properties, Environment environment,
+                                       ObjectProvider<MeterRegistry> registry) {
+        Binder binder = Binder.get(environment);
+        Map<String, String> mysqlProperties = binder
+            .bind("roster.datasource.mysql-properties", Bindable.mapOf(String.class, String.class))
+            .orElse(Map.of());
+        
+        MeterRegistry meterRegistry = registry.getIfAvailable();
+        
+        Map<Workload, HikariDataSource> pools = new EnumMap<>(Workload.class);
+        for (Workload workload : Workload.values()) {
+            String name = workload.name().toLowerCase(Locale.ROOT);
+            pools.put(workload, newPool(properties, binder, mysqlProperties, meterRegistry, "roster-" + name,
+                "roster.datasource.pools." + name));
+        }
+        
+        List<HikariDataSource> replicas = new ArrayList<>();
+        // Bound only to discover the replica names; each pool is bound again in newPool
+        Set<String> replicaNames = binder
+            .bind("roster.datasource.replicas", Bindable.mapOf(String.class, HikariConfig.class))
+            .orElse(Map.of())
+            .keySet();
+        for (String name : new TreeSet<>(replicaNames)) {
+            replicas.add(newPool(properties, binder, mysqlProperties, meterRegistry, "roster-replica-" + name,
+                "roster.datasource.pools.read", "roster.datasource.replicas." + name));
+        }
+        return new WorkloadPools(pools, replicas);
+    }
+
+    // Later prefixes override earlier ones
+    private static HikariDataSource newPool(DataSourceProperties properties, Binder binder,
+                                            Map<String, String> mysqlProperties, MeterRegistry meterRegistry,
+                                            String poolName, String... prefixes) {
+        // Built with setters rather than new HikariDataSource(config), so the pool starts on first use
+        HikariDataSource pool = properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        for (String prefix : prefixes) {
+            binder.bind(prefix, Bindable.ofInstance(pool));
+        }
+        pool.setPoolName(poolName);
+        
+        // Connector/J statement caching and batch rewriting; other drivers reject unknown properties
+        if (pool.getJdbcUrl() != null && pool.getJdbcUrl().startsWith("jdbc:mysql:")) {
+            mysqlProperties.forEach(pool::addDataSourceProperty);
+        }
+        
+        if (meterRegistry != null) {
+            pool.setMetricsTrackerFactory(new MicrometerMetricsTrackerFactory(meterRegistry));
+        }
+        return pool;
+    }
+
+    @Bean
+    @Primary
+    public DataSource dataSource(WorkloadPools pools,
+                                 @Value("${roster.datasource.replica-selection:least-loaded}") String selection) {
+        Map<Workload, DataSource> targets = new EnumMap<>(pools.asMap());
+        if (!pools.replicas().isEmpty()) {
+            targets.put(Workload.READ,
+                new ReplicaRoutingDataSource(pools.replicas(), ReplicaRoutingDataSource.Selection.of(selection)));
+        }
+        return new LazyConnectionDataSourceProxy(new WorkloadRoutingDataSource(targets));
+    }
+
+    @Bean
+    public FilterRegistrationBean<ReadYourWritesFilter> readYourWritesFilter(
+            @Value("${roster.datasource.read-your-writes-window:5s}") Duration window) {
+        FilterRegistrationBean<ReadYourWritesFilter> registration =
+            new FilterRegistrationBean<>(new ReadYourWritesFilter(window));
+        // Ahead of Spring Security, whose filters already read through the DAOs
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE + 1);
+        return registration;
+    }
+}
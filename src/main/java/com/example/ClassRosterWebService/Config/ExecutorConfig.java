@@ -0,0 +1,78 @@
+package com.example.ClassRosterWebService.Config;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+import java.sql.Driver;
+
+/*
+Executor for DAO calls made off the request thread (see PageAssembler). Tasks
+see the submitting request's context (RequestContextTaskDecorator). With
+spring.threads.virtual.enabled=true (which also moves Tomcat's request handling
+to virtual threads) each task gets a virtual thread; otherwise a fixed pool of
+platform threads is used.
+
+Either way concurrency is capped at roster.dao-executor.max-concurrency: with
+virtual threads nothing else limits it, and tasks beyond the connection pools'
+size would only queue inside Hikari until connection-timeout.
+
+Pinning audit of the JDBC path (a virtual thread blocking inside a synchronized
+block holds on to its carrier thread):
+ - our code (BoundedCache, metrics, routing) uses ReentrantLock / atomics, never
+   synchronized around I/O
+ - HikariCP hands out connections through ConcurrentBag, which parks rather than
+   waits on a monitor
+ - MySQL Connector/J only replaced its synchronized blocks with locks in 9.0;
+   older drivers pin on every statement, hence the startup warning below
+Run with -Djdk.tracePinnedThreads=short to have the JVM report any pinning left.
+ */
+@Configuration
+public class ExecutorConfig {
+
+    private static final Logger log = LoggerFactory.getLogger(ExecutorConfig.class);
+
+    @Bean
+    public AsyncTaskExecutor daoExecutor(
+            @Value("${spring.threads.virtual.enabled:false}") boolean virtualThreads,
+            @Value("${roster.dao-executor.max-concurrency:16}") int maxConcurrency) {
+        if (virtualThreads) {
+            warnIfDriverPins();
+            SimpleAsyncTaskExecutor executor = new SimpleAsyncTaskExecutor("roster-dao-");
+            executor.setVirtualThreads(true);
+            executor.setTaskDecorator(new RequestContextTaskDecorator());
+            executor.setConcurrencyLimit(maxConcurrency);
+            executor.setTaskTerminationTimeout(10_000);
+            return executor;
+        }
+        
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setThreadNamePrefix("roster-dao-");
+        executor.setTaskDecorator(new RequestContextTaskDecorator());
+        executor.setCorePoolSize(maxConcurrency);
+        executor.setMaxPoolSize(maxConcurrency);
+        executor.setAllowCoreThreadTimeOut(true);
+        executor.setWaitForTasksToCompleteOnShutdown(true);
+        executor.setAwaitTerminationSeconds(10);
+        executor.initialize();
+        return executor;
+    }
+
+    private static void warnIfDriverPins() {
+        try {
+            Driver driver = (Driver) Class.forName("com.mysql.cj.jdbc.Driver").getDeclaredConstructor().newInstance();
+            if (driver.getMajorVersion() < 9) {
+                log.warn("Virtual threads are enabled but MySQL Connector/J {}.{} synchronizes on every statement "
+                    + "and will pin carrier threads; upgrade to 9.0 or later",
+                    driver.getMajorVersion(), driver.getMinorVersion());
+            }
+        } catch (ReflectiveOperationException | LinkageError ex) {
+            // Not running against MySQL
+        }
+    }
+}
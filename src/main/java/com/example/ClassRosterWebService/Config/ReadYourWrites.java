@@ -0,0 +1,37 @@
+package com.example.ClassRosterWebService.Config;
+
+/*
+Once the current request has opened a read-write transaction, its read-only
+transactions are sent to the primary too, so it never reads data older than its
+own write from a lagging replica. ReadYourWritesFilter carries the pin over to
+the user's next requests for a short window (e.g. the redirect after a POST).
+ */
+public final class ReadYourWrites {
+    // Absent: replicas allowed; FALSE: pinned by an earlier request; TRUE: this request wrote
+    private static final ThreadLocal<Boolean> STATE = new ThreadLocal<>();
+
+    private ReadYourWrites() {
+    }
+
+    public static boolean isPinned() {
+        return STATE.get() != null;
+    }
+
+    public static boolean hasWritten() {
+        return Boolean.TRUE.equals(STATE.get());
+    }
+
+    public static void pin() {
+        if (STATE.get() == null) {
+            STATE.set(Boolean.FALSE);
+        }
+    }
+
+    public static void markWrite() {
+        STATE.set(Boolean.TRUE);
+    }
+
+    public static void clear() {
+        STATE.remove();
+    }
+}
@@ -0,0 +1,47 @@
+package com.example.ClassRosterWebService.Config;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.servlet.http.HttpSession;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.time.Duration;
+
+// Keeps a session on the primary for a while after it wrote something (see ReadYourWrites)
+public class ReadYourWritesFilter extends OncePerRequestFilter {
+
+    static final String PINNED_UNTIL_ATTRIBUTE = ReadYourWritesFilter.class.getName() + ".pinnedUntil";
+
+    private final Duration window;
+
+    public ReadYourWritesFilter(Duration window) {
+        this.window = window;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        HttpSession session = request.getSession(false);
+        if (session != null && session.getAttribute(PINNED_UNTIL_ATTRIBUTE) instanceof Long until
+                && until > System.currentTimeMillis()) {
+            ReadYourWrites.pin();
+        }
+        
+        try {
+            chain.doFilter(request, response);
+        } finally {
+            // Only a write restarts the window, so reads alone let the pin expire
+            if (ReadYourWrites.hasWritten()) {
+                // The session may have been created (login) or replaced during the request
+                session = request.getSession(false);
+                if (session != null) {
+                    session.setAttribute(PINNED_UNTIL_ATTRIBUTE, System.currentTimeMillis() + window.toMillis());
+                }
+            }
+            ReadYourWrites.clear();
+        }
+    }
+}
@@ -0,0 +1,43 @@
+package com.example.ClassRosterWebService.Config;
+
+import com.example.ClassRosterWebService.Cache.RosterVersion;
+import com.example.ClassRosterWebService.Cache.RosterVersion.Aggregate;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/*
+Tells whether data the current request reads may be older than the latest
+version of some aggregates, i.e. whether it reads from replicas that may not
+have applied a recent write yet. Anything stored or tagged under a version
+(page ETags, cached fragments) must check this first, or a lagging read ends up
+filed under the version of the write it doesn't contain.
+
+The lag is assumed to stay within roster.datasource.read-your-writes-window,
+the same bound that keeps a writer's own session on the primary. Without
+replicas, or in a request pinned to the primary (ReadYourWrites), reads are
+never behind.
+ */
+@Component
+public class ReplicaLag {
+
+    private final WorkloadPools workloadPools;
+    private final RosterVersion rosterVersion;
+    private final Duration window;
+
+    @Autowired
+    public ReplicaLag(WorkloadPools workloadPools, RosterVersion rosterVersion,
+                      @Value("${roster.datasource.read-your-writes-window:5s}") Duration window) {
+        this.workloadPools = workloadPools;
+        this.rosterVersion = rosterVersion;
+        this.window = window;
+    }
+
+    public boolean mayBeBehind(Aggregate... aggregates) {
+        return !workloadPools.replicas().isEmpty()
+            && !ReadYourWrites.isPinned()
+            && rosterVersion.changedWithin(window, aggregates);
+    }
+}
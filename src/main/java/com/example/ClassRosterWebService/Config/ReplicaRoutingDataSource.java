@@ -0,0 +1,81 @@
+package com.example.ClassRosterWebService.Config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.HikariPoolMXBean;
+import org.springframework.jdbc.datasource.AbstractDataSource;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/*
+Spreads read-only work over the replica pools. ROUND_ROBIN takes them in turn;
+LEAST_LOADED takes the pool with the fewest active plus waiting connections,
+starting the scan at the round-robin position so ties are still spread out.
+Pools that are not Hikari (or not started yet) count as idle.
+ */
+public class ReplicaRoutingDataSource extends AbstractDataSource {
+
+    public enum Selection {
+        ROUND_ROBIN,
+        LEAST_LOADED;
+
+        public static Selection of(String value) {
+            return valueOf(value.trim().toUpperCase(Locale.ROOT).replace('-', '_'));
+        }
+    }
+
+    private final List<? extends DataSource> replicas;
+    private final Selection selection;
+    private final AtomicInteger next = new AtomicInteger();
+
+    public ReplicaRoutingDataSource(List<? extends DataSource> replicas, Selection selection) {
+        if (replicas.isEmpty()) {
+            throw new IllegalArgumentException("At least one replica is required");
+        }
+        this.replicas = List.copyOf(replicas);
+        this.selection = selection;
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        return select().getConnection();
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return select().getConnection(username, password);
+    }
+
+    DataSource select() {
+        int start = Math.floorMod(next.getAndIncrement(), replicas.size());
+        if (selection == Selection.ROUND_ROBIN) {
+            return replicas.get(start);
+        }
+        
+        DataSource best = null;
+        int bestLoad = Integer.MAX_VALUE;
+        for (int i = 0; i < replicas.size(); i++) {
+            DataSource candidate = replicas.get((start + i) % replicas.size());
+            int load = load(candidate);
+            if (load < bestLoad) {
+                best = candidate;
+                bestLoad = load;
+            }
+        }
+        return best;
+    }
+
+    private static int load(DataSource dataSource) {
+        if (dataSource instanceof HikariDataSource hikari) {
+            HikariPoolMXBean pool = hikari.getHikariPoolMXBean();
+            if (pool != null) {
+                return pool.getActiveConnections() + pool.getThreadsAwaitingConnection();
+            }
+        }
+        return 0;
+    }
+}
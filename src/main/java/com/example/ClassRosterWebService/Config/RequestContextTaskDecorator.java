@@ -0,0 +1,46 @@
+package com.example.ClassRosterWebService.Config;
+
+import com.example.ClassRosterWebService.Metrics.DbRequestStats;
+import org.springframework.core.task.TaskDecorator;
+import org.springframework.security.core.context.SecurityContext;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+/*
+Carries the submitting thread's per-request state over to executor threads:
+the security context, the request's statement counters, the explicit workload
+and the read-your-writes pin. Transactions are not carried over; a task always
+runs in its own.
+ */
+public class RequestContextTaskDecorator implements TaskDecorator {
+
+    @Override
+    public Runnable decorate(Runnable task) {
+        SecurityContext securityContext = SecurityContextHolder.getContext();
+        DbRequestStats stats = DbRequestStats.current();
+        Workload workload = WorkloadContext.current();
+        boolean pinned = ReadYourWrites.isPinned();
+        
+        return () -> {
+            SecurityContext previousSecurityContext = SecurityContextHolder.getContext();
+            DbRequestStats previousStats = DbRequestStats.bind(stats);
+            SecurityContextHolder.setContext(securityContext);
+            if (pinned) {
+                ReadYourWrites.pin();
+            }
+            try {
+                if (workload != null) {
+                    WorkloadContext.call(workload, () -> {
+                        task.run();
+                        return null;
+                    });
+                } else {
+                    task.run();
+                }
+            } finally {
+                ReadYourWrites.clear();
+                SecurityContextHolder.setContext(previousSecurityContext);
+                DbRequestStats.restore(previousStats);
+            }
+        };
+    }
+}
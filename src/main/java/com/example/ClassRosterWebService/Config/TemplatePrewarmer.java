@@ -0,0 +1,66 @@
+package com.example.ClassRosterWebService.Config;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.thymeleaf.ThymeleafProperties;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationListener;
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.support.PathMatchingResourcePatternResolver;
+import org.springframework.stereotype.Component;
+import org.thymeleaf.ITemplateEngine;
+import org.thymeleaf.context.Context;
+
+import java.io.IOException;
+
+/*
+With the Thymeleaf template cache on (the prod profile), parses every template
+under spring.thymeleaf.prefix once at startup, so the first visitor of each page
+doesn't pay for parsing it. processThrottled parses and caches the template when
+it is created but only evaluates it when asked for output, which never happens
+here, so no request or model is needed.
+ */
+@Component
+@ConditionalOnProperty(name = "spring.thymeleaf.cache", havingValue = "true", matchIfMissing = true)
+public class TemplatePrewarmer implements ApplicationListener<ApplicationReadyEvent> {
+
+    private static final Logger log = LoggerFactory.getLogger(TemplatePrewarmer.class);
+
+    @Autowired
+    ITemplateEngine templateEngine;
+
+    @Autowired
+    ThymeleafProperties thymeleaf;
+
+    @Override
+    public void onApplicationEvent(ApplicationReadyEvent event) {
+        long start = System.nanoTime();
+        int warmed = 0;
+        for (String template : templateNames()) {
+            templateEngine.processThrottled(template, new Context());
+            warmed++;
+        }
+        log.info("Pre-warmed {} templates in {} ms", warmed, (System.nanoTime() - start) / 1_000_000);
+    }
+
+    // Template names as a controller returns them: relative to the prefix, without the suffix
+    private String[] templateNames() {
+        String prefix = thymeleaf.getPrefix();
+        String suffix = thymeleaf.getSuffix();
+        try {
+            Resource root = new PathMatchingResourcePatternResolver().getResource(prefix);
+            String rootUri = root.getURI().toString();
+            Resource[] templates = new PathMatchingResourcePatternResolver().getResources(prefix + "**/*" + suffix);
+            String[] names = new String[templates.length];
+            for (int i = 0; i < templates.length; i++) {
+                String uri = templates[i].getURI().toString();
+                names[i] = uri.substring(rootUri.length(), uri.length() - suffix.length());
+            }
+            return names;
+        } catch (IOException ex) {
+            throw new RuntimeException("Could not list templates under " + prefix, ex);
+        }
+    }
+}
@@ -0,0 +1,14 @@
+package com.example.ClassRosterWebService.Config;
+
+/*
+Connection pool a unit of work is served from. Keeping them apart means a burst
+of slow roster reads cannot starve logins, and vice versa.
+ */
+public enum Workload {
+    // Login and principal lookups: short queries, fail fast when saturated
+    AUTH,
+    // Read-only transactions (listings, exports)
+    READ,
+    // Everything else: read-write transactions and non-transactional statements
+    WRITE
+}
@@ -0,0 +1,33 @@
+package com.example.ClassRosterWebService.Config;
+
+import java.util.function.Supplier;
+
+/*
+Explicit workload for the current thread, for code paths that are not described
+by their transaction (e.g. authentication). Takes precedence over the
+read-only/read-write routing in WorkloadRoutingDataSource.
+ */
+public final class WorkloadContext {
+    private static final ThreadLocal<Workload> CURRENT = new ThreadLocal<>();
+
+    private WorkloadContext() {
+    }
+
+    public static Workload current() {
+        return CURRENT.get();
+    }
+
+    public static <T> T call(Workload workload, Supplier<T> action) {
+        Workload previous = CURRENT.get();
+        CURRENT.set(workload);
+        try {
+            return action.get();
+        } finally {
+            if (previous == null) {
+                CURRENT.remove();
+            } else {
+                CURRENT.set(previous);
+            }
+        }
+    }
+}
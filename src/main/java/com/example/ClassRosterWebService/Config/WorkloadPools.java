@@ -0,0 +1,42 @@
+package com.example.ClassRosterWebService.Config;
+
+import com.zaxxer.hikari.HikariDataSource;
+
+import java.io.Closeable;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+// Owns the per-workload and replica Hikari pools so they are closed on shutdown
+public class WorkloadPools implements Closeable {
+    private final Map<Workload, HikariDataSource> pools;
+    private final List<HikariDataSource> replicas;
+
+    public WorkloadPools(Map<Workload, HikariDataSource> pools) {
+        this(pools, List.of());
+    }
+
+    public WorkloadPools(Map<Workload, HikariDataSource> pools, List<HikariDataSource> replicas) {
+        this.pools = Collections.unmodifiableMap(new EnumMap<>(pools));
+        this.replicas = List.copyOf(replicas);
+    }
+
+    public HikariDataSource get(Workload workload) {
+        return pools.get(workload);
+    }
+
+    public Map<Workload, HikariDataSource> asMap() {
+        return pools;
+    }
+
+    public List<HikariDataSource> replicas() {
+        return replicas;
+    }
+
+    @Override
+    public void close() {
+        pools.values().forEach(HikariDataSource::close);
+        replicas.forEach(HikariDataSource::close);
+    }
+}
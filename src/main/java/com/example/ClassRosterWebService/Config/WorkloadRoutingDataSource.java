@@ -0,0 +1,45 @@
+package com.example.ClassRosterWebService.Config;
+
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.util.HashMap;
+import java.util.Map;
+
+/*
+Picks the pool for each new connection:
+ - the workload set with WorkloadContext, if any
+ - READ inside a @Transactional(readOnly = true) method, unless the request is
+   pinned to the primary by ReadYourWrites
+ - WRITE otherwise; a read-write transaction also pins the rest of the request
+The read-only flag is only known once the transaction has started, so this must
+sit behind a LazyConnectionDataSourceProxy (see DataSourceConfig).
+ */
+public class WorkloadRoutingDataSource extends AbstractRoutingDataSource {
+
+    public WorkloadRoutingDataSource(Map<Workload, ? extends DataSource> pools) {
+        setTargetDataSources(new HashMap<>(pools));
+        setDefaultTargetDataSource(pools.get(Workload.WRITE));
+        afterPropertiesSet();
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        return currentWorkload();
+    }
+
+    public static Workload currentWorkload() {
+        Workload explicit = WorkloadContext.current();
+        if (explicit != null) {
+            return explicit;
+        }
+        if (TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            return ReadYourWrites.isPinned() ? Workload.WRITE : Workload.READ;
+        }
+        if (TransactionSynchronizationManager.isActualTransactionActive()) {
+            ReadYourWrites.markWrite();
+        }
+        return Workload.WRITE;
+    }
+}
@@ -0,0 +1,78 @@
+package com.example.ClassRosterWebService.Controller;
+
+import com.example.ClassRosterWebService.Cache.RosterVersion;
+import com.example.ClassRosterWebService.Cache.RosterVersion.Aggregate;
+import com.example.ClassRosterWebService.Config.ReplicaLag;
+import com.example.ClassRosterWebService.Security.RosterUserDetails;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.util.DigestUtils;
+import org.springframework.web.context.request.ServletWebRequest;
+
+import java.nio.charset.StandardCharsets;
+import java.util.stream.Collectors;
+
+/*
+Conditional GET for the list pages, answered before any query runs:
+
+    if (conditionalPages.notModified(request, "teachers", Aggregate.TEACHERS, Aggregate.COURSES)) {
+        return null;
+    }
+
+The ETag combines the page, the viewer and the versions of the aggregates the
+page shows (Cache.RosterVersion). The viewer part is a digest of the username,
+roles and linked student, so a student's copy of /students (their own record)
+never validates for anyone else. It is weak: the page is the same data, not
+necessarily the same bytes.
+
+With read replicas, the page body may come from a replica that has not caught
+up with the write behind the current version yet. Tagging that page would keep
+it validated until the next write, so while any of the page's aggregates was
+written recently enough for the replicas to be behind (Config.ReplicaLag) no
+ETag is sent or checked.
+
+Responses are marked "private, no-cache": browsers may keep them but must
+revalidate on every use, shared caches must not store them. Without this Spring
+Security would send no-store and browsers would never ask If-None-Match.
+ */
+@Component
+public class ConditionalPages {
+
+    @Autowired
+    RosterVersion rosterVersion;
+
+    @Autowired
+    ReplicaLag replicaLag;
+
+    // True when the client's copy is current: a 304 has been set up and the handler returns null
+    public boolean notModified(ServletWebRequest request, String page, Aggregate... aggregates) {
+        String etag = "W/\"" + page + "-" + viewer() + "-" + rosterVersion.tag(aggregates) + "\"";
+        if (request.getResponse() != null) {
+            request.getResponse().setHeader(HttpHeaders.CACHE_CONTROL, "private, no-cache");
+        }
+        if (replicaLag.mayBeBehind(aggregates)) {
+            return false;
+        }
+        return request.checkNotModified(etag);
+    }
+
+    private static String viewer() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication == null) {
+            return "anonymous";
+        }
+        String roles = authentication.getAuthorities().stream()
+            .map(GrantedAuthority::getAuthority)
+            .sorted()
+            .collect(Collectors.joining(","));
+        Integer studentId = authentication.getPrincipal() instanceof RosterUserDetails details
+            ? details.getStudentId()
+            : null;
+        String viewer = authentication.getName() + "|" + roles + "|" + studentId;
+        return DigestUtils.md5DigestAsHex(viewer.getBytes(StandardCharsets.UTF_8)).substring(0, 16);
+    }
+}
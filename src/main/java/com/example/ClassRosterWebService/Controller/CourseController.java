@@ -1,17 +1,20 @@
 package com.example.ClassRosterWebService.Controller;
 
+import com.example.ClassRosterWebService.Cache.RosterVersion.Aggregate;
 import com.example.ClassRosterWebService.DAO.CourseDao;
 import com.example.ClassRosterWebService.DAO.TeacherDao;
 import com.example.ClassRosterWebService.Entity.Course;
 import com.example.ClassRosterWebService.Entity.Teacher;
 import jakarta.servlet.http.HttpServletRequest;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DuplicateKeyException;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Controller;
 import org.springframework.ui.Model;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.context.request.ServletWebRequest;
 
 import java.util.List;
 
@@ -23,7 +26,17 @@ public class CourseController {
     @Autowired
     CourseDao courseDao;
 
+    @Autowired
+    ConditionalPages conditionalPages;
+
     @GetMapping("courses")
+    public String courses(Model model, ServletWebRequest webRequest) {
+        if (conditionalPages.notModified(webRequest, "courses", Aggregate.COURSES, Aggregate.TEACHERS)) {
+            return null;
+        }
+        return displayCourses(model);
+    }
+
     public String displayCourses(Model model) {
         // Check if user has permission to access courses page
         Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
@@ -89,7 +102,7 @@ public class CourseController {
     }
 
     @PostMapping("addCourse")
-    public String addCourse(HttpServletRequest request) {
+    public String addCourse(HttpServletRequest request, Model model) {
         // Check if user has permission to add courses
         Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
         boolean hasPermission = authentication.getAuthorities().stream()
@@ -114,12 +127,18 @@ public class CourseController {
             course.setTeacher(teacher);
         }
         
-        courseDao.addCourse(course);
+        try {
+            courseDao.addCourse(course);
+        } catch (DuplicateKeyException e) {
+            // course.name is unique
+            model.addAttribute("errorMessage", "A course named '" + name + "' already exists.");
+            return displayCourses(model);
+        }
         return "redirect:/courses";
     }
 
     @PostMapping("editCourse")
-    public String editCourse(HttpServletRequest request) {
+    public String editCourse(HttpServletRequest request, Model model) {
         // Check if user has permission to edit courses
         Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
         boolean hasPermission = authentication.getAuthorities().stream()
@@ -151,7 +170,12 @@ public class CourseController {
             course.setTeacher(null);
         }
         
-        courseDao.updateCourse(course);
+        try {
+            courseDao.updateCourse(course);
+        } catch (DuplicateKeyException e) {
+            model.addAttribute("errorMessage", "A course named '" + name + "' already exists.");
+            return displayCourses(model);
+        }
         return "redirect:/courses";
     }
 
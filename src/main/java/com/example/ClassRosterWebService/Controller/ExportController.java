@@ -0,0 +1,89 @@
+package com.example.ClassRosterWebService.Controller;
+
+import com.example.ClassRosterWebService.DAO.ExportDao;
+import com.example.ClassRosterWebService.Export.ExportFormat;
+import com.example.ClassRosterWebService.Export.ExportWriter;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Controller;
+import org.springframework.web.bind.annotation.GetMapping;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.zip.GZIPOutputStream;
+
+/*
+Bulk roster exports for downstream systems. Rows go from the JDBC cursor to the
+response as they are read: ?format=csv (default) or ?format=ndjson, gzipped
+when the client sends Accept-Encoding: gzip.
+ */
+@Controller
+public class ExportController {
+    
+    @Autowired
+    ExportDao exportDao;
+    
+    @Autowired
+    ObjectMapper objectMapper;
+
+    @GetMapping("export/students")
+    public void exportStudents(HttpServletRequest request, HttpServletResponse response) throws IOException {
+        stream("students", ExportDao.STUDENT_ENROLLMENT_COLUMNS, exportDao::streamStudentEnrollments, request, response);
+    }
+
+    @GetMapping("export/courses")
+    public void exportCourses(HttpServletRequest request, HttpServletResponse response) throws IOException {
+        stream("courses", ExportDao.COURSE_COLUMNS, exportDao::streamCourses, request, response);
+    }
+
+    private void stream(String name, List<String> columns, Consumer<RowCallbackHandler> source,
+                        HttpServletRequest request, HttpServletResponse response) throws IOException {
+        ExportFormat format = ExportFormat.fromParameter(request.getParameter("format"));
+        if (format == null) {
+            response.sendError(HttpServletResponse.SC_BAD_REQUEST, "Unsupported export format. Use csv or ndjson.");
+            return;
+        }
+        
+        response.setContentType(format.getContentType() + ";charset=UTF-8");
+        response.setHeader("Content-Disposition", 
+            "attachment; filename=\"" + name + "." + format.getExtension() + "\"");
+        response.setHeader("Vary", "Accept-Encoding");
+        
+        OutputStream out = response.getOutputStream();
+        if (acceptsGzip(request.getHeader("Accept-Encoding"))) {
+            response.setHeader("Content-Encoding", "gzip");
+            out = new GZIPOutputStream(out, 8192);
+        }
+        
+        try (ExportWriter writer = format.open(out, columns, objectMapper.getFactory())) {
+            writer.writeHeader();
+            source.accept(writer);
+        }
+    }
+
+    // True when gzip is listed and not explicitly refused with q=0
+    static boolean acceptsGzip(String acceptEncoding) {
+        if (acceptEncoding == null) {
+            return false;
+        }
+        for (String part : acceptEncoding.split(",")) {
+            String[] tokens = part.trim().split(";");
+            if (!tokens[0].trim().equalsIgnoreCase("gzip")) {
+                continue;
+            }
+            for (int i = 1; i < tokens.length; i++) {
+                String param = tokens[i].trim().replace(" ", "");
+                if (param.equals("q=0") || param.matches("q=0\\.0*")) {
+                    return false;
+                }
+            }
+            return true;
+        }
+        return false;
+    }
+}
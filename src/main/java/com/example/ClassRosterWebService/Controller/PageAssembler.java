@@ -0,0 +1,154 @@
+package com.example.ClassRosterWebService.Controller;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.stereotype.Component;
+import org.springframework.ui.Model;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
+
+/*
+Runs the independent reads behind a page concurrently, so the page waits for the
+slowest query instead of the sum of all of them:
+
+    PageAssembler.Page page = pageAssembler.page(model);
+    page.add("teachers", teacherDao::getAllTeachers);
+    page.add("courses", courseDao::getAllCourses);
+    page.join();
+
+The first query runs on the calling thread and the rest on the bounded daoExecutor.
+Each query gets its own connection and transaction, so only use this for reads
+that do not need to see each other's writes, and not inside a transaction.
+Queries must not use the assembler themselves: nested tasks waiting on the same
+bounded executor can deadlock.
+ */
+@Component
+public class PageAssembler {
+
+    @Autowired
+    @Qualifier("daoExecutor")
+    AsyncTaskExecutor daoExecutor;
+
+    @Value("${roster.page.timeout:10s}")
+    Duration timeout;
+
+    public Page page(Model model) {
+        return new Page(model);
+    }
+
+    public final class Page {
+        private final Model model;
+        private final List<Part<?>> parts = new ArrayList<>();
+        private boolean joined;
+
+        private Page(Model model) {
+            this.model = model;
+        }
+
+        // Result goes into the model under the given attribute name
+        public <T> Part<T> add(String attribute, Supplier<T> query) {
+            Part<T> part = fetch(query);
+            part.attribute = attribute;
+            return part;
+        }
+
+        // Result is only available through the returned part, after join()
+        public <T> Part<T> fetch(Supplier<T> query) {
+            if (joined) {
+                throw new IllegalStateException("Page has already been assembled");
+            }
+            Part<T> part = new Part<>(query);
+            parts.add(part);
+            return part;
+        }
+
+        /*
+        Waits for every query and adds the named results to the model. If any query
+        fails the others are cancelled and its exception is rethrown as is.
+         */
+        public void join() {
+            joined = true;
+            if (parts.isEmpty()) {
+                return;
+            }
+            
+            for (Part<?> part : parts.subList(1, parts.size())) {
+                part.future = daoExecutor.submit(part::run);
+            }
+            long deadline = System.nanoTime() + timeout.toNanos();
+            try {
+                parts.get(0).run();
+                for (Part<?> part : parts.subList(1, parts.size())) {
+                    part.await(deadline - System.nanoTime());
+                }
+            } catch (RuntimeException | Error ex) {
+                parts.forEach(Part::cancel);
+                throw ex;
+            }
+            
+            for (Part<?> part : parts) {
+                if (part.attribute != null) {
+                    model.addAttribute(part.attribute, part.value);
+                }
+            }
+        }
+    }
+
+    public static final class Part<T> {
+        private final Supplier<T> query;
+        private String attribute;
+        private Future<?> future;
+        private volatile T value;
+        private volatile boolean done;
+
+        private Part(Supplier<T> query) {
+            this.query = query;
+        }
+
+        public T get() {
+            if (!done) {
+                throw new IllegalStateException("Page has not been joined yet");
+            }
+            return value;
+        }
+
+        private void run() {
+            value = query.get();
+            done = true;
+        }
+
+        private void await(long remainingNanos) {
+            try {
+                future.get(Math.max(remainingNanos, 0), TimeUnit.NANOSECONDS);
+            } catch (ExecutionException ex) {
+                if (ex.getCause() instanceof RuntimeException runtime) {
+                    throw runtime;
+                }
+                if (ex.getCause() instanceof Error error) {
+                    throw error;
+                }
+                throw new RuntimeException(ex.getCause());
+            } catch (TimeoutException ex) {
+                throw new RuntimeException("Page query did not finish in time", ex);
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+                throw new RuntimeException("Interrupted while assembling page", ex);
+            }
+        }
+
+        private void cancel() {
+            if (future != null) {
+                future.cancel(true);
+            }
+        }
+    }
+}
@@ -0,0 +1,65 @@
+package com.example.ClassRosterWebService.Controller;
+
+import com.example.ClassRosterWebService.Cache.BoundedCache;
+import com.example.ClassRosterWebService.Cache.RosterVersion.Aggregate;
+import com.example.ClassRosterWebService.Config.ReplicaLag;
+import com.example.ClassRosterWebService.Entity.Student;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.i18n.LocaleContextHolder;
+import org.springframework.stereotype.Component;
+import org.thymeleaf.ITemplateEngine;
+import org.thymeleaf.context.Context;
+
+import java.util.Map;
+import java.util.Set;
+
+/*
+Renders fragments that repeat on every row of a page and caches their HTML, so
+a page of students re-renders only the rows whose data changed:
+
+    <td th:utext="${@rosterFragments.studentCourses(student, rosterVersion)}"></td>
+
+Entries are keyed by entity id and the roster version the controller read before
+loading the page's data (Cache.RosterVersion), so any write makes them stale and
+a render can never store pre-write data under a post-write version. Nor is
+anything stored while the page's data may come from a replica still behind the
+latest write (Config.ReplicaLag): those rows are rendered but not cached. With
+roster.views.fragment-cache=false (development) every call renders afresh.
+ */
+@Component
+public class RosterFragments {
+
+    @Autowired
+    ITemplateEngine templateEngine;
+
+    @Autowired
+    @Qualifier("fragmentCache")
+    BoundedCache<String, String> fragmentCache;
+
+    @Autowired
+    ReplicaLag replicaLag;
+
+    @Value("${roster.views.fragment-cache:false}")
+    boolean enabled;
+
+    // Course count and names in a students table row
+    public String studentCourses(Student student, long rosterVersion) {
+        return render("student-courses:" + student.getId() + "@" + rosterVersion,
+            "fragments/studentCourses", "courses", Map.of("student", student), Aggregate.STUDENTS, Aggregate.COURSES);
+    }
+
+    // aggregates: those the fragment shows, whose recent writes a replica read may not contain yet
+    private String render(String key, String template, String fragment, Map<String, Object> variables,
+                          Aggregate... aggregates) {
+        if (!enabled || replicaLag.mayBeBehind(aggregates)) {
+            return process(template, fragment, variables);
+        }
+        return fragmentCache.get(key, () -> process(template, fragment, variables));
+    }
+
+    private String process(String template, String fragment, Map<String, Object> variables) {
+        return templateEngine.process(template, Set.of(fragment), new Context(LocaleContextHolder.getLocale(), variables));
+    }
+}
@@ -0,0 +1,29 @@
+package com.example.ClassRosterWebService.Controller;
+
+import com.example.ClassRosterWebService.DAO.RosterStatistics;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Controller;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.ResponseBody;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+// Roster counts for dashboards, served from memory (admin only, see SecurityConfig)
+@Controller
+public class StatisticsController {
+
+    @Autowired
+    RosterStatistics statistics;
+
+    @GetMapping("admin/stats")
+    @ResponseBody
+    public Map<String, Object> statistics() {
+        Map<String, Object> body = new LinkedHashMap<>();
+        body.put("enrollmentsByCourse", statistics.getEnrollmentCounts());
+        body.put("coursesByTeacher", statistics.getCourseCountsByTeacher());
+        body.put("teachersBySpecialty", statistics.getTeacherCountsBySpecialty());
+        body.put("unassignedTeachers", statistics.getUnassignedTeacherCount());
+        return body;
+    }
+}
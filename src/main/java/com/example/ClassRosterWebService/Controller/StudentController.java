@@ -1,22 +1,41 @@
 package com.example.ClassRosterWebService.Controller;
 
+import com.example.ClassRosterWebService.Cache.RosterVersion;
+import com.example.ClassRosterWebService.Cache.RosterVersion.Aggregate;
 import com.example.ClassRosterWebService.DAO.StudentDao;
+import com.example.ClassRosterWebService.DAO.StudentPage;
 import com.example.ClassRosterWebService.DAO.CourseDao;
 import com.example.ClassRosterWebService.DAO.UserDao;
 import com.example.ClassRosterWebService.Entity.Student;
 import com.example.ClassRosterWebService.Entity.Course;
 import com.example.ClassRosterWebService.Entity.User;
+import com.example.ClassRosterWebService.Import.StudentImporter;
+import com.example.ClassRosterWebService.Security.CurrentUser;
 import com.example.ClassRosterWebService.Validation.InputValidator;
 import jakarta.servlet.http.HttpServletRequest;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Controller;
 import org.springframework.ui.Model;
 import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.ModelAttribute;
 import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.ResponseBody;
+import org.springframework.web.context.request.ServletWebRequest;
+import org.springframework.web.multipart.MultipartFile;
 
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
 import java.util.List;
+import java.util.Map;
 
 @Controller
 public class StudentController {
@@ -29,12 +48,47 @@ public class StudentController {
     
     @Autowired
     UserDao userDao;
+    
+    @Autowired
+    PageAssembler pageAssembler;
+    
+    @Autowired
+    CurrentUser currentUser;
+    
+    @Autowired
+    StudentImporter studentImporter;
+    
+    @Autowired
+    RosterVersion rosterVersion;
+    
+    @Autowired
+    ConditionalPages conditionalPages;
+    
+    @Value("${roster.students.page-size:50}")
+    int defaultPageSize;
+    
+    @Value("${roster.students.max-page-size:500}")
+    int maxPageSize;
 
+    // Read before any handler loads data; keys the cached row fragments (see RosterFragments)
+    @ModelAttribute("rosterVersion")
+    public long currentRosterVersion() {
+        return rosterVersion.current();
+    }
+
+    // Students see their own record, with course descriptions and teacher names
     @GetMapping("students")
+    public String students(Model model, HttpServletRequest request, ServletWebRequest webRequest) {
+        if (conditionalPages.notModified(webRequest, "students",
+                Aggregate.STUDENTS, Aggregate.COURSES, Aggregate.TEACHERS)) {
+            return null;
+        }
+        return displayStudents(model, request);
+    }
+
     public String displayStudents(Model model, HttpServletRequest request) {
         Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
-        String username = authentication.getName();
-        User user = userDao.getUserByUsername(username);
+        User user = currentUser.get();
         
         List<Student> students;
         boolean isStudentView = false;
@@ -69,8 +123,8 @@ public class StudentController {
                 }
             }
         } else {
-            // ADMIN/TEACHER can see all students
-            students = studentDao.getAllStudents();
+            // ADMIN/TEACHER can see all students, one page at a time
+            students = loadStudentPage(model, request);
         }
         
         // Check for success messages
@@ -88,8 +142,7 @@ public class StudentController {
     @GetMapping("editStudent")
     public String editStudent(HttpServletRequest request, Model model) {
         Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
-        String username = authentication.getName();
-        User user = userDao.getUserByUsername(username);
+        User user = currentUser.get();
         
         int id;
         boolean isStudentView = false;
@@ -123,21 +176,22 @@ public class StudentController {
             }
         }
         
-        Student student = studentDao.getStudentById(id);
+        // The student and the course catalog are independent, so load them concurrently
+        final int studentKey = id;
+        PageAssembler.Page page = pageAssembler.page(model);
+        PageAssembler.Part<Student> studentPart = page.fetch(() -> studentDao.getStudentById(studentKey));
+        page.add("allCourses", courseDao::getAllCourses);
+        page.join();
+        Student student = studentPart.get();
         
         if (student == null) {
             model.addAttribute("errorMessage", "Student not found!");
             return displayStudents(model, request);
         }
         
-        // Get all available courses
-        List<Course> allCourses = courseDao.getAllCourses();
-        // Get courses student is currently enrolled in
-        List<Course> enrolledCourses = studentDao.getCoursesForStudent(id);
-        
         model.addAttribute("student", student);
-        model.addAttribute("allCourses", allCourses);
-        model.addAttribute("enrolledCourses", enrolledCourses);
+        // getStudentById already loads the courses the student is enrolled in
+        model.addAttribute("enrolledCourses", student.getCourses());
         model.addAttribute("isStudentView", isStudentView);
         
         return "editStudent";
@@ -168,11 +222,7 @@ public class StudentController {
             firstName = InputValidator.sanitizeInput(firstName);
             lastName = InputValidator.sanitizeInput(lastName);
             
-            // Check if student ID already exists
-            if (studentDao.studentIdExists(studentId)) {
-                throw new RuntimeException("Student ID '" + studentId + "' already exists!");
-            }
-            
+            // A taken student ID is rejected by the insert itself (StudentDaoDB.addStudent)
             Student student = new Student();
             student.setStudentId(studentId);
             student.setFirstName(firstName);
@@ -185,8 +235,7 @@ public class StudentController {
         } catch (RuntimeException e) {
             // Get current user info for view
             Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
-            String username = authentication.getName();
-            User user = userDao.getUserByUsername(username);
+            User user = currentUser.get();
             
             boolean isStudentView = false;
             List<Student> students;
@@ -205,7 +254,7 @@ public class StudentController {
                     students = List.of();
                 }
             } else {
-                students = studentDao.getAllStudents();
+                students = loadStudentPage(model, request);
             }
             
             model.addAttribute("students", students);
@@ -216,6 +265,67 @@ public class StudentController {
         }
     }
 
+    /*
+    Bulk import: multipart upload of a CSV file in the "file" part. Responds with
+    JSON listing how many rows were imported and why the others were rejected.
+     */
+    @PostMapping("importStudents")
+    @ResponseBody
+    public ResponseEntity<?> importStudents(@RequestParam("file") MultipartFile file) throws IOException {
+        try (Reader reader = new InputStreamReader(file.getInputStream(), StandardCharsets.UTF_8)) {
+            return ResponseEntity.ok(studentImporter.importCsv(reader));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
+        } catch (DuplicateKeyException e) {
+            // Another add or import took one of the studentIds meanwhile; nothing was imported
+            return ResponseEntity.status(HttpStatus.CONFLICT).body(Map.of("error",
+                "Some student IDs in the file were added by someone else during the import. "
+                    + "Nothing was imported; please upload the file again."));
+        }
+    }
+
+    /*
+    Bulk enroll/unenroll, answered with JSON counts. Either courseId with a list of
+    studentIds, or studentId with a list of courseIds (repeated or comma separated).
+     */
+    @PostMapping("bulkEnroll")
+    @ResponseBody
+    public ResponseEntity<?> bulkEnroll(@RequestParam(required = false) Integer courseId,
+                                        @RequestParam(required = false) List<Integer> studentIds,
+                                        @RequestParam(required = false) Integer studentId,
+                                        @RequestParam(required = false) List<Integer> courseIds) {
+        return bulkEnrollment(true, courseId, studentIds, studentId, courseIds);
+    }
+
+    @PostMapping("bulkUnenroll")
+    @ResponseBody
+    public ResponseEntity<?> bulkUnenroll(@RequestParam(required = false) Integer courseId,
+                                          @RequestParam(required = false) List<Integer> studentIds,
+                                          @RequestParam(required = false) Integer studentId,
+                                          @RequestParam(required = false) List<Integer> courseIds) {
+        return bulkEnrollment(false, courseId, studentIds, studentId, courseIds);
+    }
+
+    private ResponseEntity<?> bulkEnrollment(boolean enroll, Integer courseId, List<Integer> studentIds,
+                                             Integer studentId, List<Integer> courseIds) {
+        try {
+            if (courseId != null && studentIds != null && studentId == null && courseIds == null) {
+                return ResponseEntity.ok(enroll
+                    ? studentDao.enrollStudentsInCourse(courseId, studentIds)
+                    : studentDao.unenrollStudentsFromCourse(courseId, studentIds));
+            }
+            if (studentId != null && courseIds != null && courseId == null && studentIds == null) {
+                return ResponseEntity.ok(enroll
+                    ? studentDao.enrollStudentInCourses(studentId, courseIds)
+                    : studentDao.unenrollStudentFromCourses(studentId, courseIds));
+            }
+            return ResponseEntity.badRequest().body(Map.of("error", 
+                "Send either courseId with studentIds, or studentId with courseIds."));
+        } catch (RuntimeException e) {
+            return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
+        }
+    }
+
     @PostMapping("updateStudent")
     public String updateStudent(HttpServletRequest request, Model model) {
         try {
@@ -249,8 +359,7 @@ public class StudentController {
             
             // Check if user is a student trying to change their own data
             Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
-            String username = authentication.getName();
-            User user = userDao.getUserByUsername(username);
+            User user = currentUser.get();
             boolean isStudentView = false;
             
             if (authentication.getAuthorities().stream()
@@ -286,7 +395,7 @@ public class StudentController {
             int id = Integer.parseInt(request.getParameter("id"));
             Student student = studentDao.getStudentById(id);
             List<Course> allCourses = courseDao.getAllCourses();
-            List<Course> enrolledCourses = studentDao.getCoursesForStudent(id);
+            List<Course> enrolledCourses = student != null ? student.getCourses() : List.of();
             
             // Determine if student view
             Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
@@ -317,8 +426,7 @@ public class StudentController {
         } catch (RuntimeException e) {
             // Get the current user to determine view type
             Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
-            String username = authentication.getName();
-            User user = userDao.getUserByUsername(username);
+            User user = currentUser.get();
             
             boolean isStudentView = false;
             List<Student> students;
@@ -337,7 +445,7 @@ public class StudentController {
                     students = List.of();
                 }
             } else {
-                students = studentDao.getAllStudents();
+                students = loadStudentPage(model, request);
             }
             
             model.addAttribute("students", students);
@@ -464,4 +572,43 @@ public class StudentController {
         
         return "debugUser";
     }
-}
\ No newline at end of file
+
+    /*
+    Loads one keyset page of the roster for ADMIN/TEACHER views.
+    Request params: q (last name prefix), sort (asc|desc), size, cursor.
+     */
+    private List<Student> loadStudentPage(Model model, HttpServletRequest request) {
+        String prefix = request.getParameter("q");
+        prefix = prefix != null ? prefix.trim() : "";
+        boolean descending = "desc".equalsIgnoreCase(request.getParameter("sort"));
+        String cursor = request.getParameter("cursor");
+        
+        int pageSize = defaultPageSize;
+        String sizeParam = request.getParameter("size");
+        if (sizeParam != null && !sizeParam.isEmpty()) {
+            try {
+                pageSize = Math.max(1, Math.min(maxPageSize, Integer.parseInt(sizeParam)));
+            } catch (NumberFormatException e) {
+                // Fall back to the default page size
+            }
+        }
+        
+        StudentPage page;
+        try {
+            page = studentDao.getStudentsPage(prefix, cursor, descending, pageSize);
+        } catch (IllegalArgumentException e) {
+            // Tampered or stale cursor - start again from the first page
+            model.addAttribute("errorMessage", "Invalid page cursor, showing the first page.");
+            cursor = null;
+            page = studentDao.getStudentsPage(prefix, null, descending, pageSize);
+        }
+        
+        model.addAttribute("nextCursor", page.getNextCursor());
+        model.addAttribute("isFirstPage", cursor == null || cursor.isEmpty());
+        model.addAttribute("pageSize", pageSize);
+        model.addAttribute("prefix", prefix);
+        model.addAttribute("sort", descending ? "desc" : "asc");
+        
+        return page.getStudents();
+    }
+}
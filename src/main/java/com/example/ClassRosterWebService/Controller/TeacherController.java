@@ -1,5 +1,6 @@
 package com.example.ClassRosterWebService.Controller;
 
+import com.example.ClassRosterWebService.Cache.RosterVersion.Aggregate;
 import com.example.ClassRosterWebService.DAO.TeacherDao;
 import com.example.ClassRosterWebService.DAO.CourseDao;
 import com.example.ClassRosterWebService.Entity.Teacher;
@@ -12,6 +13,7 @@ import org.springframework.stereotype.Controller;
 import org.springframework.ui.Model;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.context.request.ServletWebRequest;
 
 import java.util.List;
 
@@ -22,8 +24,21 @@ public class TeacherController {
     
     @Autowired
     CourseDao courseDao;
+    
+    @Autowired
+    PageAssembler pageAssembler;
+    
+    @Autowired
+    ConditionalPages conditionalPages;
 
     @GetMapping("teachers")
+    public String teachers(Model model, HttpServletRequest request, ServletWebRequest webRequest) {
+        if (conditionalPages.notModified(webRequest, "teachers", Aggregate.TEACHERS, Aggregate.COURSES)) {
+            return null;
+        }
+        return displayTeachers(model, request);
+    }
+
     public String displayTeachers(Model model, HttpServletRequest request) {
         // Check if user has permission to access teachers page
         Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
@@ -36,9 +51,12 @@ public class TeacherController {
             return "accessDenied";
         }
         
-        List<Teacher> teachers = teacherDao.getAllTeachers();
-        List<String> tbc = teacherDao.getTeacherByCourse();
-        List<Course> courses = courseDao.getAllCourses();
+        // Independent reads, run concurrently
+        PageAssembler.Page page = pageAssembler.page(model);
+        page.add("teachers", teacherDao::getAllTeachers);
+        page.add("teachercourse", teacherDao::getTeacherByCourse);
+        page.add("courses", courseDao::getAllCourses);
+        page.join();
         
         // Check for success messages from redirect
         String successMessage = request.getParameter("success");
@@ -46,10 +64,6 @@ public class TeacherController {
             model.addAttribute("successMessage", successMessage.replace("+", " "));
         }
         
-        model.addAttribute("teachercourse", tbc);
-        model.addAttribute("teachers", teachers);
-        model.addAttribute("courses", courses);
-        
         return "teachers";
     }
 
@@ -271,15 +285,9 @@ public class TeacherController {
         }
     }
     
-    // Helper method to find course by name
+    // Helper method to find course by name (indexed lookup, no full course scan)
     private Course findCourseByName(String courseName) {
-        List<Course> allCourses = courseDao.getAllCourses();
-        for (Course course : allCourses) {
-            if (course.getName().equals(courseName)) {
-                return course;
-            }
-        }
-        return null;
+        return courseDao.getCourseByName(courseName);
     }
     
     // Helper method to update course teacher assignments
@@ -0,0 +1,60 @@
+package com.example.ClassRosterWebService.DAO;
+
+import java.util.List;
+
+/*
+Counts from a bulk enroll or unenroll. requested is the number of distinct ids
+sent; unknownIds lists the ones that matched no student/course and were skipped.
+For enrollments inserted + alreadyEnrolled + unknownIds.size() == requested,
+for unenrollments removed + notEnrolled + unknownIds.size() == requested.
+ */
+public class BulkEnrollmentResult {
+    private final int requested;
+    private final int inserted;
+    private final int alreadyEnrolled;
+    private final int removed;
+    private final int notEnrolled;
+    private final List<Integer> unknownIds;
+
+    private BulkEnrollmentResult(int requested, int inserted, int alreadyEnrolled,
+                                 int removed, int notEnrolled, List<Integer> unknownIds) {
+        this.requested = requested;
+        this.inserted = inserted;
+        this.alreadyEnrolled = alreadyEnrolled;
+        this.removed = removed;
+        this.notEnrolled = notEnrolled;
+        this.unknownIds = unknownIds;
+    }
+
+    static BulkEnrollmentResult enrolled(int requested, int inserted, int alreadyEnrolled, List<Integer> unknownIds) {
+        return new BulkEnrollmentResult(requested, inserted, alreadyEnrolled, 0, 0, unknownIds);
+    }
+
+    static BulkEnrollmentResult unenrolled(int requested, int removed, int notEnrolled, List<Integer> unknownIds) {
+        return new BulkEnrollmentResult(requested, 0, 0, removed, notEnrolled, unknownIds);
+    }
+
+    public int getRequested() {
+        return requested;
+    }
+
+    public int getInserted() {
+        return inserted;
+    }
+
+    public int getAlreadyEnrolled() {
+        return alreadyEnrolled;
+    }
+
+    public int getRemoved() {
+        return removed;
+    }
+
+    public int getNotEnrolled() {
+        return notEnrolled;
+    }
+
+    public List<Integer> getUnknownIds() {
+        return unknownIds;
+    }
+}
@@ -0,0 +1,146 @@
+package com.example.ClassRosterWebService.DAO;
+
+import com.example.ClassRosterWebService.Cache.BoundedCache;
+import com.example.ClassRosterWebService.Entity.Course;
+import com.example.ClassRosterWebService.Entity.Teacher;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.context.annotation.Primary;
+import org.springframework.stereotype.Repository;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+
+/*
+Caching decorator around CourseDaoDB, sharing the catalog cache with
+CachingTeacherDao. Course writes clear the whole catalog, since a rename also
+changes the specialty of every teacher linked to the course. Misses are loaded
+from the primary (see CachingTeacherDao.fromPrimary).
+ */
+@Repository
+@Primary
+public class CachingCourseDao implements CourseDao {
+
+    @Autowired
+    CourseDaoDB delegate;
+
+    @Autowired
+    @Qualifier("catalogCache")
+    BoundedCache<String, Object> catalogCache;
+
+    @Override
+    public Optional<Course> findCourseById(int id) {
+        Course cached = (Course) catalogCache.get("course:" + id,
+                () -> CachingTeacherDao.fromPrimary(() -> copy(delegate.getCourseById(id))));
+        return Optional.ofNullable(copy(cached));
+    }
+
+    @Override
+    public Course getCourseById(int id) {
+        return findCourseById(id).orElse(null);
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public Course getCourseByName(String name) {
+        if (name == null) {
+            return null;
+        }
+        // Name -> id index built from the catalog snapshot and cleared with it on every write
+        Map<String, Integer> idsByName = (Map<String, Integer>) catalogCache.get("courses:nameIndex",
+                this::buildNameIndex);
+        Integer id = idsByName.get(nameKey(name));
+        return id != null ? getCourseById(id) : null;
+    }
+
+    @Override
+    public List<Course> getAllCourses() {
+        return copyAll(allCoursesSnapshot());
+    }
+
+    @Override
+    public Course addCourse(Course course) {
+        try {
+            return delegate.addCourse(course);
+        } finally {
+            catalogCache.invalidateAllOnCommit();
+        }
+    }
+
+    @Override
+    public void updateCourse(Course course) {
+        try {
+            delegate.updateCourse(course);
+        } finally {
+            catalogCache.invalidateAllOnCommit();
+        }
+    }
+
+    @Override
+    public void deleteCourseById(int id) {
+        try {
+            delegate.deleteCourseById(id);
+        } finally {
+            catalogCache.invalidateAllOnCommit();
+        }
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public List<Course> getCoursesForTeacher(Teacher teacher) {
+        List<Course> cached = (List<Course>) catalogCache.get("courses:teacher:" + teacher.getId(),
+                () -> CachingTeacherDao.fromPrimary(() -> snapshot(delegate.getCoursesForTeacher(teacher))));
+        return copyAll(cached);
+    }
+
+    @Override
+    public boolean isCourseInUse(int courseId) {
+        // Used as a guard before writes, so always ask the database
+        return delegate.isCourseInUse(courseId);
+    }
+
+    @SuppressWarnings("unchecked")
+    private List<Course> allCoursesSnapshot() {
+        return (List<Course>) catalogCache.get("courses:all",
+                () -> CachingTeacherDao.fromPrimary(() -> snapshot(delegate.getAllCourses())));
+    }
+
+    private Map<String, Integer> buildNameIndex() {
+        Map<String, Integer> idsByName = new HashMap<>();
+        for (Course course : allCoursesSnapshot()) {
+            idsByName.put(nameKey(course.getName()), course.getId());
+        }
+        return Map.copyOf(idsByName);
+    }
+
+    // course.name is compared case-insensitively by MySQL, so the index is too
+    private static String nameKey(String name) {
+        return name.toLowerCase(Locale.ROOT);
+    }
+
+    private static List<Course> snapshot(List<Course> courses) {
+        return List.copyOf(copyAll(courses));
+    }
+
+    private static List<Course> copyAll(List<Course> courses) {
+        List<Course> copies = new ArrayList<>(courses.size());
+        for (Course course : courses) {
+            copies.add(copy(course));
+        }
+        return copies;
+    }
+
+    private static Course copy(Course course) {
+        if (course == null) {
+            return null;
+        }
+        Course copy = new Course(course.getId(), course.getName(), course.getDescription(),
+                CachingTeacherDao.copy(course.getTeacher()));
+        copy.setHasTeachersViaSpecialty(course.isHasTeachersViaSpecialty());
+        return copy;
+    }
+}
@@ -0,0 +1,114 @@
+package com.example.ClassRosterWebService.DAO;
+
+import com.example.ClassRosterWebService.Cache.BoundedCache;
+import com.example.ClassRosterWebService.Config.Workload;
+import com.example.ClassRosterWebService.Config.WorkloadContext;
+import com.example.ClassRosterWebService.Entity.Teacher;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.context.annotation.Primary;
+import org.springframework.stereotype.Repository;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.function.Supplier;
+
+/*
+Caching decorator around TeacherDaoDB. Reads are served from an immutable
+snapshot in the shared catalog cache; every write clears the catalog.
+Callers always get their own copies, so they can modify what they receive.
+Misses are loaded from the primary rather than a read replica: the catalog has
+no TTL, so a lagging replica read cached right after a write would be served to
+everyone until the next catalog write.
+ */
+@Repository
+@Primary
+public class CachingTeacherDao implements TeacherDao {
+
+    @Autowired
+    TeacherDaoDB delegate;
+
+    @Autowired
+    @Qualifier("catalogCache")
+    BoundedCache<String, Object> catalogCache;
+
+    @Override
+    public Optional<Teacher> findTeacherById(int id) {
+        Teacher cached = (Teacher) catalogCache.get("teacher:" + id,
+                () -> fromPrimary(() -> copy(delegate.getTeacherById(id))));
+        return Optional.ofNullable(copy(cached));
+    }
+
+    @Override
+    public Teacher getTeacherById(int id) {
+        return findTeacherById(id).orElse(null);
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public List<Teacher> getAllTeachers() {
+        List<Teacher> cached = (List<Teacher>) catalogCache.get("teachers:all",
+                () -> fromPrimary(() -> snapshot(delegate.getAllTeachers())));
+        return copyAll(cached);
+    }
+
+    @Override
+    public Teacher addTeacher(Teacher teacher) {
+        try {
+            return delegate.addTeacher(teacher);
+        } finally {
+            catalogCache.invalidateAllOnCommit();
+        }
+    }
+
+    @Override
+    public void updateTeacher(Teacher teacher) {
+        try {
+            delegate.updateTeacher(teacher);
+        } finally {
+            catalogCache.invalidateAllOnCommit();
+        }
+    }
+
+    @Override
+    public void deleteTeacherById(int id) {
+        try {
+            delegate.deleteTeacherById(id);
+        } finally {
+            catalogCache.invalidateAllOnCommit();
+        }
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public List<String> getTeacherByCourse() {
+        List<String> cached = (List<String>) catalogCache.get("teachers:byCourse",
+                () -> fromPrimary(() -> List.copyOf(delegate.getTeacherByCourse())));
+        return new ArrayList<>(cached);
+    }
+
+    // Runs a catalog cache fill against the primary, whatever the caller's transaction says
+    static <T> T fromPrimary(Supplier<T> load) {
+        return WorkloadContext.call(Workload.WRITE, load);
+    }
+
+    static List<Teacher> snapshot(List<Teacher> teachers) {
+        return List.copyOf(copyAll(teachers));
+    }
+
+    static List<Teacher> copyAll(List<Teacher> teachers) {
+        List<Teacher> copies = new ArrayList<>(teachers.size());
+        for (Teacher teacher : teachers) {
+            copies.add(copy(teacher));
+        }
+        return copies;
+    }
+
+    static Teacher copy(Teacher teacher) {
+        if (teacher == null) {
+            return null;
+        }
+        return new Teacher(teacher.getId(), teacher.getFirstName(), teacher.getLastName(), teacher.getSpecialty());
+    }
+}
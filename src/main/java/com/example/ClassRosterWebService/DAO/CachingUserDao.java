@@ -0,0 +1,169 @@
+package com.example.ClassRosterWebService.DAO;
+
+import com.example.ClassRosterWebService.Cache.BoundedCache;
+import com.example.ClassRosterWebService.Entity.Role;
+import com.example.ClassRosterWebService.Entity.User;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.context.annotation.Primary;
+import org.springframework.stereotype.Repository;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+/*
+Caching decorator around UserDaoDB. Single-user lookups (with roles) are kept in
+a TTL-bounded cache; any user or role write clears it.
+ */
+@Repository
+@Primary
+public class CachingUserDao implements UserDao {
+
+    @Autowired
+    UserDaoDB delegate;
+
+    @Autowired
+    @Qualifier("userCache")
+    BoundedCache<String, Object> userCache;
+
+    @Override
+    public Optional<User> findUserById(int id) {
+        User cached = (User) userCache.get("id:" + id, () -> copy(delegate.getUserById(id)));
+        return Optional.ofNullable(copy(cached));
+    }
+
+    @Override
+    public Optional<User> findUserByUsername(String username) {
+        User cached = (User) userCache.get("username:" + username, () -> copy(delegate.getUserByUsername(username)));
+        return Optional.ofNullable(copy(cached));
+    }
+
+    @Override
+    public Optional<User> findUserByStudentId(int studentId) {
+        User cached = (User) userCache.get("student:" + studentId, () -> copy(delegate.getUserByStudentId(studentId)));
+        return Optional.ofNullable(copy(cached));
+    }
+
+    @Override
+    public User getUserById(int id) {
+        return findUserById(id).orElse(null);
+    }
+
+    @Override
+    public User getUserByUsername(String username) {
+        return findUserByUsername(username).orElse(null);
+    }
+
+    @Override
+    public User getUserByStudentId(int studentId) {
+        return findUserByStudentId(studentId).orElse(null);
+    }
+
+    @Override
+    public List<User> getAllUsers() {
+        // Admin listing, not worth holding every account in memory
+        return delegate.getAllUsers();
+    }
+
+    @Override
+    public List<User> getUsersByIds(Collection<Integer> ids) {
+        return delegate.getUsersByIds(ids);
+    }
+
+    @Override
+    public User createUser(User user) {
+        try {
+            return delegate.createUser(user);
+        } finally {
+            userCache.invalidateAllOnCommit();
+        }
+    }
+
+    @Override
+    public void updateUser(User user) {
+        try {
+            delegate.updateUser(user);
+        } finally {
+            userCache.invalidateAllOnCommit();
+        }
+    }
+
+    @Override
+    public void updatePassword(int userId, String encodedPassword) {
+        try {
+            delegate.updatePassword(userId, encodedPassword);
+        } finally {
+            userCache.invalidateAllOnCommit();
+        }
+    }
+
+    @Override
+    public void deleteUser(int id) {
+        try {
+            delegate.deleteUser(id);
+        } finally {
+            userCache.invalidateAllOnCommit();
+        }
+    }
+
+    @Override
+    public void clearStudentLink(int studentId) {
+        try {
+            delegate.clearStudentLink(studentId);
+        } finally {
+            userCache.invalidateAllOnCommit();
+        }
+    }
+
+    @Override
+    public void addRoleToUser(int userId, int roleId) {
+        try {
+            delegate.addRoleToUser(userId, roleId);
+        } finally {
+            userCache.invalidateAllOnCommit();
+        }
+    }
+
+    @Override
+    public void removeRoleFromUser(int userId, int roleId) {
+        try {
+            delegate.removeRoleFromUser(userId, roleId);
+        } finally {
+            userCache.invalidateAllOnCommit();
+        }
+    }
+
+    @Override
+    public List<String> getRolesForUser(String username) {
+        User user = getUserByUsername(username);
+        List<String> roles = new ArrayList<>();
+        if (user != null) {
+            for (Role role : user.getRoles()) {
+                roles.add(role.getName());
+            }
+        }
+        return roles;
+    }
+
+    @Override
+    public boolean userExists(String username) {
+        // Checked before creating accounts, so always ask the database
+        return delegate.userExists(username);
+    }
+
+    private static User copy(User user) {
+        if (user == null) {
+            return null;
+        }
+        User copy = new User(user.getId(), user.getUsername(), user.getPassword(), user.isEnabled());
+        copy.setStudentId(user.getStudentId());
+        List<Role> roles = new ArrayList<>();
+        for (Role role : user.getRoles()) {
+            roles.add(new Role(role.getId(), role.getName()));
+        }
+        copy.setRoles(roles);
+        return copy;
+    }
+}
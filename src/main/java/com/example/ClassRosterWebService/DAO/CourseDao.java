@@ -4,9 +4,13 @@ import com.example.ClassRosterWebService.Entity.Course;
 import com.example.ClassRosterWebService.Entity.Teacher;
 
 import java.util.List;
+import java.util.Optional;
 
 public interface CourseDao {
+    Optional<Course> findCourseById(int id);
+    // findCourseById(id).orElse(null)
     Course getCourseById(int id);
+    Course getCourseByName(String name);
     List<Course> getAllCourses();
     Course addCourse(Course course);
     void updateCourse(Course course);
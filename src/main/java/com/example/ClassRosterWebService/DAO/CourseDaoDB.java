@@ -1,9 +1,10 @@
 package com.example.ClassRosterWebService.DAO;
 
+import com.example.ClassRosterWebService.Cache.RosterVersion;
+import com.example.ClassRosterWebService.Cache.RosterVersion.Aggregate;
 import com.example.ClassRosterWebService.Entity.Course;
 import com.example.ClassRosterWebService.Entity.Teacher;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.dao.DataAccessException;
 import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.jdbc.core.RowMapper;
 import org.springframework.stereotype.Repository;
@@ -11,41 +12,74 @@ import org.springframework.transaction.annotation.Transactional;
 
 import java.sql.ResultSet;
 import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
 
 @Repository
 public class CourseDaoDB implements CourseDao {
     @Autowired
     JdbcTemplate jdbc;
 
+    @Autowired
+    RosterStatistics statistics;
+    
+    @Autowired
+    RosterVersion rosterVersion;
+
+    @Override
+    public Optional<Course> findCourseById(int id) {
+        // The assigned teacher is LEFT JOINed in, so an unassigned course is just a NULL teacherId
+        final String GET_COURSE_BY_ID = 
+            "SELECT c.id, c.name, c.description, " +
+            "t.id AS teacherId, t.firstName, t.lastName, " + TeacherDaoDB.SPECIALTY + " AS specialty " +
+            "FROM course c " +
+            "LEFT JOIN teacher t ON t.id = c.teacherId " +
+            TeacherDaoDB.SPECIALTY_JOIN +
+            "WHERE c.id = ?";
+        Optional<Course> course = jdbc.query(GET_COURSE_BY_ID, new OptionalRowExtractor<>(new CourseWithTeacherMapper()), id);
+        
+        // Check if any teacher has this course as specialty
+        course.ifPresent(c -> c.setHasTeachersViaSpecialty(checkIfCourseHasTeachersViaSpecialty(c.getName())));
+        return course;
+    }
+
     @Override
     public Course getCourseById(int id) {
-        try {
-            final String GET_COURSE_BY_ID = "SELECT * FROM course WHERE id = ?";
-            Course course = jdbc.queryForObject(GET_COURSE_BY_ID, new CourseMapper(), id);
-            
-            // Associate teacher if exists
-            if (course != null) {
-                Teacher teacher = getTeacherForCourse(course.getId());
-                course.setTeacher(teacher);
-                
-                // Check if any teacher has this course as specialty
-                boolean hasTeachersViaSpecialty = checkIfCourseHasTeachersViaSpecialty(course.getName());
-                course.setHasTeachersViaSpecialty(hasTeachersViaSpecialty);
-            }
-            
-            return course;
-        } catch (DataAccessException ex) {
-            return null;
-        }
+        return findCourseById(id).orElse(null);
     }
 
     @Override
-    public List<Course> getAllCourses() {
-        final String SELECT_ALL_COURSES = "SELECT * FROM course";
-        List<Course> courses = jdbc.query(SELECT_ALL_COURSES, new CourseMapper());
+    public Course getCourseByName(String name) {
+        // Served by the unique index on course.name
+        final String GET_COURSE_BY_NAME = "SELECT * FROM course WHERE name = ?";
+        List<Course> courses = jdbc.query(GET_COURSE_BY_NAME, new CourseMapper(), name);
         associateTeachers(courses);
-        return courses;
+        return courses.isEmpty() ? null : courses.get(0);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<Course> getAllCourses() {
+        // Teacher and specialty flag joined in rather than looked up by an IN list of every course id
+        final String SELECT_ALL_COURSES = 
+            "SELECT c.id, c.name, c.description, " +
+            "t.id AS teacherId, t.firstName, t.lastName, " + TeacherDaoDB.SPECIALTY + " AS specialty, " +
+            "EXISTS (SELECT 1 FROM teacher st WHERE st.specialty_course_id = c.id) AS hasSpecialtyTeachers " +
+            "FROM course c " +
+            "LEFT JOIN teacher t ON t.id = c.teacherId " +
+            TeacherDaoDB.SPECIALTY_JOIN +
+            "ORDER BY c.id";
+        CourseWithTeacherMapper mapper = new CourseWithTeacherMapper();
+        return jdbc.query(SELECT_ALL_COURSES, (rs, rowNum) -> {
+            Course course = mapper.mapRow(rs, rowNum);
+            course.setHasTeachersViaSpecialty(rs.getBoolean("hasSpecialtyTeachers"));
+            return course;
+        });
     }
 
     @Override
@@ -59,6 +93,14 @@ public class CourseDaoDB implements CourseDao {
 
         int newId = jdbc.queryForObject("SELECT LAST_INSERT_ID()", Integer.class);
         course.setId(newId);
+        
+        // Teachers whose free-text specialty names the new course become linked to it;
+        // their specialty reads the same, so the statistics are unaffected
+        final String LINK_TEACHER_SPECIALTIES = 
+            "UPDATE teacher SET specialty_course_id = ? WHERE specialty_course_id IS NULL AND specialty = ?";
+        jdbc.update(LINK_TEACHER_SPECIALTIES, newId, course.getName());
+        statistics.courseTeacherChanged(null, course.getTeacher() != null ? course.getTeacher().getId() : null);
+        rosterVersion.changed(Aggregate.COURSES, Aggregate.TEACHERS);
         return course;
     }
 
@@ -69,21 +111,26 @@ public class CourseDaoDB implements CourseDao {
         Course oldCourse = getCourseById(course.getId());
         String oldName = oldCourse != null ? oldCourse.getName() : null;
         String newName = course.getName();
+        Integer oldTeacherId = oldCourse != null && oldCourse.getTeacher() != null ? oldCourse.getTeacher().getId() : null;
+        Integer newTeacherId = course.getTeacher() != null ? course.getTeacher().getId() : null;
         
         // Update course
         final String UPDATE_COURSE = "UPDATE course SET name = ?, description = ?, teacherId = ? WHERE id = ?";
         jdbc.update(UPDATE_COURSE,
                 newName,
                 course.getDescription(),
-                course.getTeacher() != null ? course.getTeacher().getId() : null,
+                newTeacherId,
                 course.getId());
+        if (oldCourse != null) {
+            statistics.courseTeacherChanged(oldTeacherId, newTeacherId);
+        }
         
-        // If course name changed, update teachers' specialties
+        // Teachers reference the course by id, so a rename touches only the course row;
+        // their specialty now reads as the new name
         if (oldName != null && !oldName.equals(newName)) {
-            final String UPDATE_TEACHER_SPECIALTIES = 
-                "UPDATE teacher SET specialty = ? WHERE specialty = ?";
-            jdbc.update(UPDATE_TEACHER_SPECIALTIES, newName, oldName);
+            statistics.specialtyRenamed(oldName, newName);
         }
+        rosterVersion.changed(Aggregate.COURSES);
     }
 
     @Override
@@ -97,35 +144,28 @@ public class CourseDaoDB implements CourseDao {
         
         String courseName = course.getName();
         
-        // Check if course is assigned to any teacher via teacherId
-        final String CHECK_TEACHER_ASSIGNMENT = 
-            "SELECT COUNT(*) FROM course WHERE id = ? AND teacherId IS NOT NULL";
-        
-        // Check if any teacher has this course as their specialty
-        final String CHECK_SPECIALTY_REFERENCE = 
-            "SELECT COUNT(*) FROM teacher WHERE specialty = ?";
-        
-        int teacherAssignedCount = jdbc.queryForObject(CHECK_TEACHER_ASSIGNMENT, Integer.class, id);
-        int specialtyReferenceCount = jdbc.queryForObject(CHECK_SPECIALTY_REFERENCE, Integer.class, courseName);
-        
-        // Build error message if course is in use via teacherId
-        if (teacherAssignedCount > 0) {
+        // getCourseById has already joined in the teacher assigned via teacherId
+        if (course.getTeacher() != null) {
             throw new RuntimeException("Cannot delete course. It has a teacher assigned via teacherId.");
         }
         
-        // If teachers have this course as specialty, update their specialties to "Unassigned"
-        if (specialtyReferenceCount > 0) {
-            final String UPDATE_TEACHER_SPECIALTIES = 
-                "UPDATE teacher SET specialty = 'Unassigned' WHERE specialty = ?";
-            jdbc.update(UPDATE_TEACHER_SPECIALTIES, courseName);
+        // Teachers with this course as specialty become "Unassigned"; no count needed first,
+        // the UPDATE simply matches no rows when there are none
+        final String UPDATE_TEACHER_SPECIALTIES = 
+            "UPDATE teacher SET specialty = ?, specialty_course_id = NULL WHERE specialty_course_id = ?";
+        if (jdbc.update(UPDATE_TEACHER_SPECIALTIES, RosterStatistics.UNASSIGNED_SPECIALTY, id) > 0) {
+            statistics.specialtyRenamed(courseName, RosterStatistics.UNASSIGNED_SPECIALTY);
         }
         
         // Delete the course
         final String DELETE_COURSE = "DELETE FROM course WHERE id = ?";
         jdbc.update(DELETE_COURSE, id);
+        statistics.courseRemoved(id);
+        rosterVersion.changed(Aggregate.COURSES, Aggregate.TEACHERS);
     }
 
     @Override
+    @Transactional(readOnly = true)
     public List<Course> getCoursesForTeacher(Teacher teacher) {
         final String SELECT_COURSES_FOR_TEACHER = "SELECT * FROM course WHERE teacherId = ?";
         List<Course> courses = jdbc.query(SELECT_COURSES_FOR_TEACHER, new CourseMapper(), teacher.getId());
@@ -133,35 +173,46 @@ public class CourseDaoDB implements CourseDao {
         return courses;
     }
 
-    // Helper method to associate teachers with courses
+    // Helper method to associate teachers with courses. Uses a fixed number of queries
+    // per SqlHelper.IN_LIST_CHUNK_SIZE courses (one for the teachers, one for the
+    // specialty flags), however many courses are in the list.
     private void associateTeachers(List<Course> courses) {
+        List<Integer> courseIds = new ArrayList<>();
         for (Course course : courses) {
-            Teacher teacher = getTeacherForCourse(course.getId());
-            course.setTeacher(teacher);
+            courseIds.add(course.getId());
+        }
+        
+        Map<Integer, Teacher> teacherByCourseId = new HashMap<>();
+        Set<Integer> coursesWithSpecialtyTeachers = new HashSet<>();
+        TeacherDaoDB.TeacherMapper teacherMapper = new TeacherDaoDB.TeacherMapper();
+        for (int from = 0; from < courseIds.size(); from += SqlHelper.IN_LIST_CHUNK_SIZE) {
+            List<Integer> chunk = courseIds.subList(from, Math.min(from + SqlHelper.IN_LIST_CHUNK_SIZE, courseIds.size()));
+            final String SELECT_TEACHERS_FOR_COURSES = 
+                "SELECT c.id AS courseId, t.id, t.firstName, t.lastName, " + TeacherDaoDB.SPECIALTY + " AS specialty " +
+                "FROM course c " +
+                "JOIN teacher t ON t.id = c.teacherId " +
+                TeacherDaoDB.SPECIALTY_JOIN +
+                "WHERE c.id IN (" + SqlHelper.placeholders(chunk.size()) + ")";
+            jdbc.query(SELECT_TEACHERS_FOR_COURSES, rs -> {
+                teacherByCourseId.put(rs.getInt("courseId"), teacherMapper.mapRow(rs, rs.getRow()));
+            }, chunk.toArray());
             
-            // Check if any teacher has this course as specialty
-            boolean hasTeachersViaSpecialty = checkIfCourseHasTeachersViaSpecialty(course.getName());
-            course.setHasTeachersViaSpecialty(hasTeachersViaSpecialty);
+            // Which courses are some teacher's specialty, read off the specialty_course_id index
+            final String COURSES_WITH_SPECIALTY_TEACHERS = 
+                "SELECT DISTINCT specialty_course_id FROM teacher " +
+                "WHERE specialty_course_id IN (" + SqlHelper.placeholders(chunk.size()) + ")";
+            coursesWithSpecialtyTeachers.addAll(
+                jdbc.queryForList(COURSES_WITH_SPECIALTY_TEACHERS, Integer.class, chunk.toArray()));
         }
-    }
-
-    private Teacher getTeacherForCourse(int courseId) {
-        final String SELECT_TEACHER_FOR_COURSE = 
-            "SELECT t.* FROM teacher t " +
-            "JOIN course c ON t.id = c.teacherId " +
-            "WHERE c.id = ?";
         
-        try {
-            return jdbc.queryForObject(SELECT_TEACHER_FOR_COURSE, new TeacherDaoDB.TeacherMapper(), courseId);
-        } catch (DataAccessException ex) {
-            return null;
+        for (Course course : courses) {
+            course.setTeacher(teacherByCourseId.get(course.getId()));
+            course.setHasTeachersViaSpecialty(coursesWithSpecialtyTeachers.contains(course.getId()));
         }
     }
-    
+
     private boolean checkIfCourseHasTeachersViaSpecialty(String courseName) {
-        final String CHECK_SPECIALTY = "SELECT COUNT(*) FROM teacher WHERE specialty = ?";
-        int count = jdbc.queryForObject(CHECK_SPECIALTY, Integer.class, courseName);
-        return count > 0;
+        return statistics.getTeacherCountForSpecialty(courseName) > 0;
     }
     
     // Add this method to CourseDao interface
@@ -169,18 +220,8 @@ public class CourseDaoDB implements CourseDao {
         Course course = getCourseById(courseId);
         if (course == null) return false;
         
-        String courseName = course.getName();
-        
-        final String CHECK_TEACHER_ASSIGNMENT = 
-            "SELECT COUNT(*) FROM course WHERE id = ? AND teacherId IS NOT NULL";
-        
-        final String CHECK_SPECIALTY_REFERENCE = 
-            "SELECT COUNT(*) FROM teacher WHERE specialty = ?";
-        
-        int teacherAssignedCount = jdbc.queryForObject(CHECK_TEACHER_ASSIGNMENT, Integer.class, courseId);
-        int specialtyReferenceCount = jdbc.queryForObject(CHECK_SPECIALTY_REFERENCE, Integer.class, courseName);
-        
-        return (teacherAssignedCount > 0) || (specialtyReferenceCount > 0);
+        // getCourseById has already filled in both the assigned teacher and the specialty flag
+        return course.getTeacher() != null || course.isHasTeachersViaSpecialty();
     }
 
     public static final class CourseMapper implements RowMapper<Course> {
@@ -193,4 +234,26 @@ public class CourseDaoDB implements CourseDao {
             return course;
         }
     }
+
+    /*
+    RowMapper for course queries that LEFT JOIN the teacher table. Expects the
+    teacher's id aliased as teacherId; a NULL teacherId means no teacher assigned.
+     */
+    public static final class CourseWithTeacherMapper implements RowMapper<Course> {
+        @Override
+        public Course mapRow(ResultSet rs, int index) throws SQLException {
+            Course course = new CourseMapper().mapRow(rs, index);
+            
+            int teacherId = rs.getInt("teacherId");
+            if (!rs.wasNull()) {
+                Teacher teacher = new Teacher();
+                teacher.setId(teacherId);
+                teacher.setFirstName(rs.getString("firstName"));
+                teacher.setLastName(rs.getString("lastName"));
+                teacher.setSpecialty(rs.getString("specialty"));
+                course.setTeacher(teacher);
+            }
+            return course;
+        }
+    }
 }
\ No newline at end of file
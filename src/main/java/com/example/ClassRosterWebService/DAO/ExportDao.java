@@ -0,0 +1,23 @@
+package com.example.ClassRosterWebService.DAO;
+
+import org.springframework.jdbc.core.RowCallbackHandler;
+
+import java.util.List;
+
+/*
+Forward-only reads for bulk exports. Rows are handed to the callback as they
+arrive from the driver and are never collected, so memory use does not depend
+on the size of the roster.
+ */
+public interface ExportDao {
+    // One row per enrollment; students without courses get a single row with empty course columns
+    List<String> STUDENT_ENROLLMENT_COLUMNS = List.of(
+        "id", "studentId", "firstName", "lastName", "courseId", "courseName");
+
+    // One row per course with its assigned teacher, if any
+    List<String> COURSE_COLUMNS = List.of(
+        "id", "name", "description", "teacherId", "teacherFirstName", "teacherLastName", "teacherSpecialty");
+
+    void streamStudentEnrollments(RowCallbackHandler handler);
+    void streamCourses(RowCallbackHandler handler);
+}
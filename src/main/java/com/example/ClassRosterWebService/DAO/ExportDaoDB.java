@@ -0,0 +1,53 @@
+package com.example.ClassRosterWebService.DAO;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import javax.sql.DataSource;
+
+@Repository
+public class ExportDaoDB implements ExportDao {
+    // Separate template so the streaming fetch size never leaks into the regular DAOs
+    final JdbcTemplate jdbc;
+
+    /*
+    Connector/J only streams a result set row by row when the fetch size is
+    Integer.MIN_VALUE; any other value buffers the whole result in the client.
+    Drivers that use a real cursor (e.g. H2 in tests) take a positive batch size.
+     */
+    @Autowired
+    public ExportDaoDB(DataSource dataSource,
+                       @Value("${roster.export.fetch-size:-2147483648}") int fetchSize) {
+        this.jdbc = new JdbcTemplate(dataSource);
+        this.jdbc.setFetchSize(fetchSize);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public void streamStudentEnrollments(RowCallbackHandler handler) {
+        final String STREAM_STUDENT_ENROLLMENTS = 
+            "SELECT s.id, s.studentId, s.firstName, s.lastName, c.id AS courseId, c.name AS courseName " +
+            "FROM student s " +
+            "LEFT JOIN course_student cs ON cs.studentId = s.id " +
+            "LEFT JOIN course c ON c.id = cs.courseId " +
+            "ORDER BY s.id, c.id";
+        jdbc.query(STREAM_STUDENT_ENROLLMENTS, handler);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public void streamCourses(RowCallbackHandler handler) {
+        final String STREAM_COURSES = 
+            "SELECT c.id, c.name, c.description, t.id AS teacherId, " +
+            "t.firstName AS teacherFirstName, t.lastName AS teacherLastName, " + TeacherDaoDB.SPECIALTY + " AS teacherSpecialty " +
+            "FROM course c " +
+            "LEFT JOIN teacher t ON t.id = c.teacherId " +
+            TeacherDaoDB.SPECIALTY_JOIN +
+            "ORDER BY c.id";
+        jdbc.query(STREAM_COURSES, handler);
+    }
+}
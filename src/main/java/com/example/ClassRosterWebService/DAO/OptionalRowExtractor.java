@@ -0,0 +1,27 @@
+package com.example.ClassRosterWebService.DAO;
+
+import org.springframework.jdbc.core.ResultSetExtractor;
+import org.springframework.jdbc.core.RowMapper;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.Optional;
+
+/*
+Maps the first row of a lookup by key, or returns Optional.empty() when there is
+none. Used instead of queryForObject, which signals "not found" by throwing an
+EmptyResultDataAccessException and so builds a stack trace on every miss.
+ */
+public final class OptionalRowExtractor<T> implements ResultSetExtractor<Optional<T>> {
+
+    private final RowMapper<T> rowMapper;
+
+    public OptionalRowExtractor(RowMapper<T> rowMapper) {
+        this.rowMapper = rowMapper;
+    }
+
+    @Override
+    public Optional<T> extractData(ResultSet rs) throws SQLException {
+        return rs.next() ? Optional.ofNullable(rowMapper.mapRow(rs, 1)) : Optional.empty();
+    }
+}
@@ -0,0 +1,262 @@
+package com.example.ClassRosterWebService.DAO;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+import java.util.function.LongSupplier;
+
+/*
+In-memory roster counts, each an O(1) lookup:
+ - students enrolled per course
+ - courses assigned per teacher (course.teacherId)
+ - teachers per specialty, compared case-insensitively like MySQL's collation;
+   "unassigned" teachers are those with no specialty or the 'Unassigned' placeholder
+
+The counts are loaded with three grouped queries on first use and then kept up to
+date by the DAOs, which report each change as a delta applied after their
+transaction commits (immediately when there is none). A change whose exact delta
+is unknown calls invalidate() instead, and the next lookup reloads.
+
+A reload only replaces the counts if no DAO write was in flight or completed while
+it ran; otherwise that write's delta could be counted twice. The counts are also
+reloaded after roster.statistics.max-age, to pick up changes made outside this
+application.
+ */
+@Component
+public class RosterStatistics {
+    public static final String UNASSIGNED_SPECIALTY = "Unassigned";
+
+    private final JdbcTemplate jdbc;
+    private final long maxAgeNanos;
+    private final LongSupplier clock;
+    private final ReentrantLock lock = new ReentrantLock();
+    // Bumped whenever a write completes; writes in progress are counted in inFlight
+    private final AtomicLong generation = new AtomicLong();
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private volatile Counts counts;
+
+    @Autowired
+    public RosterStatistics(JdbcTemplate jdbc,
+                            @Value("${roster.statistics.max-age:10m}") Duration maxAge) {
+        this(jdbc, maxAge, System::nanoTime);
+    }
+
+    RosterStatistics(JdbcTemplate jdbc, Duration maxAge, LongSupplier clock) {
+        this.jdbc = jdbc;
+        this.maxAgeNanos = maxAge.toNanos();
+        this.clock = clock;
+    }
+
+    public int getEnrollmentCount(int courseId) {
+        return get(current().enrollmentsByCourse, courseId);
+    }
+
+    public int getCourseCountForTeacher(int teacherId) {
+        return get(current().coursesByTeacher, teacherId);
+    }
+
+    public int getTeacherCountForSpecialty(String specialty) {
+        return get(current().teachersBySpecialty, specialtyKey(specialty));
+    }
+
+    public int getUnassignedTeacherCount() {
+        Counts current = current();
+        return get(current.teachersBySpecialty, specialtyKey(null))
+            + get(current.teachersBySpecialty, specialtyKey(UNASSIGNED_SPECIALTY));
+    }
+
+    // Sorted copies, for the admin statistics page
+    public Map<Integer, Integer> getEnrollmentCounts() {
+        return copy(current().enrollmentsByCourse);
+    }
+
+    public Map<Integer, Integer> getCourseCountsByTeacher() {
+        return copy(current().coursesByTeacher);
+    }
+
+    public Map<String, Integer> getTeacherCountsBySpecialty() {
+        return copy(current().teachersBySpecialty);
+    }
+
+    // Deltas reported by the DAOs
+
+    void enrollmentChanged(int courseId, int delta) {
+        onCommit(counts -> add(counts.enrollmentsByCourse, courseId, delta));
+    }
+
+    void courseTeacherChanged(Integer oldTeacherId, Integer newTeacherId) {
+        if (oldTeacherId != null && oldTeacherId.equals(newTeacherId)) {
+            return;
+        }
+        onCommit(counts -> {
+            if (oldTeacherId != null) {
+                add(counts.coursesByTeacher, oldTeacherId, -1);
+            }
+            if (newTeacherId != null) {
+                add(counts.coursesByTeacher, newTeacherId, 1);
+            }
+        });
+    }
+
+    void courseRemoved(int courseId) {
+        onCommit(counts -> counts.enrollmentsByCourse.remove(courseId));
+    }
+
+    void teacherAdded(String specialty) {
+        onCommit(counts -> add(counts.teachersBySpecialty, specialtyKey(specialty), 1));
+    }
+
+    void teacherSpecialtyChanged(String oldSpecialty, String newSpecialty) {
+        if (specialtyKey(oldSpecialty).equals(specialtyKey(newSpecialty))) {
+            return;
+        }
+        onCommit(counts -> {
+            add(counts.teachersBySpecialty, specialtyKey(oldSpecialty), -1);
+            add(counts.teachersBySpecialty, specialtyKey(newSpecialty), 1);
+        });
+    }
+
+    void teacherRemoved(int teacherId, String specialty) {
+        onCommit(counts -> {
+            add(counts.teachersBySpecialty, specialtyKey(specialty), -1);
+            counts.coursesByTeacher.remove(teacherId);
+        });
+    }
+
+    // Every teacher with the old specialty now has the new one (course renamed or deleted)
+    void specialtyRenamed(String oldSpecialty, String newSpecialty) {
+        onCommit(counts -> {
+            AtomicInteger moved = counts.teachersBySpecialty.remove(specialtyKey(oldSpecialty));
+            if (moved != null) {
+                add(counts.teachersBySpecialty, specialtyKey(newSpecialty), moved.get());
+            }
+        });
+    }
+
+    // Drops the counts once the current transaction completes; the next lookup reloads
+    public void invalidate() {
+        onCommit(current -> counts = null);
+    }
+
+    private void onCommit(Consumer<Counts> change) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            apply(change, true);
+            return;
+        }
+        
+        inFlight.incrementAndGet();
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                try {
+                    apply(change, status == STATUS_COMMITTED);
+                } finally {
+                    inFlight.decrementAndGet();
+                }
+            }
+        });
+    }
+
+    private void apply(Consumer<Counts> change, boolean committed) {
+        lock.lock();
+        try {
+            generation.incrementAndGet();
+            Counts current = counts;
+            if (committed && current != null) {
+                change.accept(current);
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private Counts current() {
+        Counts current = counts;
+        if (current != null && clock.getAsLong() - current.loadedAt < maxAgeNanos) {
+            return current;
+        }
+        
+        long startGeneration = generation.get();
+        Counts loaded = load();
+        lock.lock();
+        try {
+            if (generation.get() == startGeneration && inFlight.get() == 0) {
+                counts = loaded;
+            }
+        } finally {
+            lock.unlock();
+        }
+        return loaded;
+    }
+
+    private Counts load() {
+        Counts loaded = new Counts(clock.getAsLong());
+        
+        final String ENROLLMENTS_BY_COURSE = "SELECT courseId, COUNT(*) FROM course_student GROUP BY courseId";
+        jdbc.query(ENROLLMENTS_BY_COURSE, rs -> {
+            loaded.enrollmentsByCourse.put(rs.getInt(1), new AtomicInteger(rs.getInt(2)));
+        });
+        
+        final String COURSES_BY_TEACHER = 
+            "SELECT teacherId, COUNT(*) FROM course WHERE teacherId IS NOT NULL GROUP BY teacherId";
+        jdbc.query(COURSES_BY_TEACHER, rs -> {
+            loaded.coursesByTeacher.put(rs.getInt(1), new AtomicInteger(rs.getInt(2)));
+        });
+        
+        // Grouped in Java rather than SQL so specialties differing only in case add up on any collation
+        final String TEACHERS_BY_SPECIALTY = 
+            "SELECT " + TeacherDaoDB.SPECIALTY + ", COUNT(*) FROM teacher t " + TeacherDaoDB.SPECIALTY_JOIN +
+            "GROUP BY " + TeacherDaoDB.SPECIALTY;
+        jdbc.query(TEACHERS_BY_SPECIALTY, rs -> {
+            add(loaded.teachersBySpecialty, specialtyKey(rs.getString(1)), rs.getInt(2));
+        });
+        return loaded;
+    }
+
+    // Null specialties are kept under the empty string
+    private static String specialtyKey(String specialty) {
+        return specialty == null ? "" : specialty.trim().toLowerCase(Locale.ROOT);
+    }
+
+    private static <K> int get(Map<K, AtomicInteger> counts, K key) {
+        AtomicInteger count = counts.get(key);
+        return count != null ? count.get() : 0;
+    }
+
+    private static <K> void add(Map<K, AtomicInteger> counts, K key, int delta) {
+        int updated = counts.computeIfAbsent(key, k -> new AtomicInteger()).addAndGet(delta);
+        if (updated <= 0) {
+            counts.remove(key);
+        }
+    }
+
+    private static <K> Map<K, Integer> copy(Map<K, AtomicInteger> counts) {
+        Map<K, Integer> copy = new TreeMap<>();
+        counts.forEach((key, count) -> copy.put(key, count.get()));
+        return copy;
+    }
+
+    private static final class Counts {
+        final long loadedAt;
+        final Map<Integer, AtomicInteger> enrollmentsByCourse = new ConcurrentHashMap<>();
+        final Map<Integer, AtomicInteger> coursesByTeacher = new ConcurrentHashMap<>();
+        final Map<String, AtomicInteger> teachersBySpecialty = new ConcurrentHashMap<>();
+
+        Counts(long loadedAt) {
+            this.loadedAt = loadedAt;
+        }
+    }
+}
@@ -0,0 +1,20 @@
+package com.example.ClassRosterWebService.DAO;
+
+import java.util.Collections;
+
+/*
+Small helpers shared by the DAO implementations for building set-based queries.
+ */
+final class SqlHelper {
+
+    // Keeps each IN (...) list well under MySQL's packet and optimizer limits
+    static final int IN_LIST_CHUNK_SIZE = 1000;
+
+    private SqlHelper() {
+    }
+
+    // Returns "?,?,?" with one placeholder per value, for use inside an IN (...) clause
+    static String placeholders(int count) {
+        return String.join(",", Collections.nCopies(count, "?"));
+    }
+}
@@ -0,0 +1,51 @@
+package com.example.ClassRosterWebService.DAO;
+
+import com.example.ClassRosterWebService.Entity.Student;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+/*
+Position in the student listing: the (lastName, firstName, id) sort key of the
+last student on a page, encoded as a URL-safe token.
+ */
+public final class StudentCursor {
+    private static final char SEPARATOR = '\u0000';
+
+    private final String lastName;
+    private final String firstName;
+    private final int id;
+
+    private StudentCursor(String lastName, String firstName, int id) {
+        this.lastName = lastName;
+        this.firstName = firstName;
+        this.id = id;
+    }
+
+    public static String encode(Student student) {
+        String key = student.getLastName() + SEPARATOR + student.getFirstName() + SEPARATOR + student.getId();
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(key.getBytes(StandardCharsets.UTF_8));
+    }
+
+    // Throws IllegalArgumentException for tokens that weren't produced by encode
+    public static StudentCursor decode(String token) {
+        String key = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+        String[] parts = key.split(String.valueOf(SEPARATOR), -1);
+        if (parts.length != 3) {
+            throw new IllegalArgumentException("Malformed student cursor");
+        }
+        return new StudentCursor(parts[0], parts[1], Integer.parseInt(parts[2]));
+    }
+
+    public String getLastName() {
+        return lastName;
+    }
+
+    public String getFirstName() {
+        return firstName;
+    }
+
+    public int getId() {
+        return id;
+    }
+}
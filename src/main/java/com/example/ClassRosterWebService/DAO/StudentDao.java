@@ -3,25 +3,40 @@ package com.example.ClassRosterWebService.DAO;
 import com.example.ClassRosterWebService.Entity.Course;
 import com.example.ClassRosterWebService.Entity.Student;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
+import java.util.Set;
 
 public interface StudentDao {
+    // Lookups by key: empty when there is no such student, without an exception
+    Optional<Student> findStudentById(int id);
+    Optional<Student> findStudentByStudentId(String studentId);
+    // The same lookups returning null when not found
     Student getStudentById(int id);
     Student getStudentByStudentId(String studentId);  // ADD THIS METHOD
     List<Student> getAllStudents();
+    // Keyset pagination on (lastName, firstName, id); cursor is null for the first page
+    StudentPage getStudentsPage(String lastNamePrefix, String cursor, boolean descending, int pageSize);
     Student addStudent(Student student);
+    // Inserts with JDBC batches and sets the generated id on each student
+    void addStudents(List<Student> students);
+    // Returns which of the given studentIds already exist, lower-cased (MySQL compares them case-insensitively)
+    Set<String> findExistingStudentIds(Collection<String> studentIds);
     void updateStudent(Student student);
     void deleteStudentById(int id);
     
     // Enrollment methods
     void enrollStudentInCourse(int studentId, int courseId);
     void unenrollStudentFromCourse(int studentId, int courseId);
+    // Bulk variants: one transaction, set-based checks, batched writes
+    BulkEnrollmentResult enrollStudentsInCourse(int courseId, Collection<Integer> studentIds);
+    BulkEnrollmentResult enrollStudentInCourses(int studentId, Collection<Integer> courseIds);
+    BulkEnrollmentResult unenrollStudentsFromCourse(int courseId, Collection<Integer> studentIds);
+    BulkEnrollmentResult unenrollStudentFromCourses(int studentId, Collection<Integer> courseIds);
     List<Course> getCoursesForStudent(int studentId);
     List<Student> getStudentsForCourse(int courseId);
     
     // Check if student is enrolled in any courses
     boolean isStudentEnrolledInAnyCourse(int studentId);
-    
-    // ADD THIS METHOD
-    boolean studentIdExists(String studentId);
 }
\ No newline at end of file
@@ -1,117 +1,235 @@
 package com.example.ClassRosterWebService.DAO;
 
+import com.example.ClassRosterWebService.Cache.RosterVersion;
+import com.example.ClassRosterWebService.Cache.RosterVersion.Aggregate;
 import com.example.ClassRosterWebService.Entity.Course;
 import com.example.ClassRosterWebService.Entity.Student;
-import com.example.ClassRosterWebService.Entity.Teacher;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.dao.DataAccessException;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
 import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.jdbc.core.RowMapper;
+import org.springframework.jdbc.support.GeneratedKeyHolder;
+import org.springframework.jdbc.support.KeyHolder;
 import org.springframework.stereotype.Repository;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
 
 @Repository
 public class StudentDaoDB implements StudentDao {
     
     @Autowired
     JdbcTemplate jdbc;
+    
+    @Autowired
+    RosterStatistics statistics;
+    
+    @Autowired
+    RosterVersion rosterVersion;
+    
+    // The caching decorator, so unlinking a deleted student's account also clears cached users
+    @Autowired
+    UserDao userDao;
+    
+    // Rows per executeBatch() for bulk inserts
+    private static final int BATCH_SIZE = 1000;
+
+    @Override
+    public Optional<Student> findStudentById(int id) {
+        final String GET_STUDENT_BY_ID = "SELECT * FROM student WHERE id = ?";
+        Optional<Student> student = jdbc.query(GET_STUDENT_BY_ID, new OptionalRowExtractor<>(new StudentMapper()), id);
+        
+        // Get courses for this student
+        student.ifPresent(s -> s.setCourses(getCoursesForStudent(s.getId())));
+        return student;
+    }
+
+    @Override
+    public Optional<Student> findStudentByStudentId(String studentId) {
+        final String GET_STUDENT_BY_STUDENT_ID = "SELECT * FROM student WHERE studentId = ?";
+        Optional<Student> student = jdbc.query(GET_STUDENT_BY_STUDENT_ID, new OptionalRowExtractor<>(new StudentMapper()), studentId);
+        
+        // Get courses for this student
+        student.ifPresent(s -> s.setCourses(getCoursesForStudent(s.getId())));
+        return student;
+    }
 
     @Override
     public Student getStudentById(int id) {
-        try {
-            final String GET_STUDENT_BY_ID = "SELECT * FROM student WHERE id = ?";
-            Student student = jdbc.queryForObject(GET_STUDENT_BY_ID, new StudentMapper(), id);
-            
-            // Get courses for this student
-            if (student != null) {
-                List<Course> courses = getCoursesForStudent(id);
-                student.setCourses(courses);
-            }
-            
-            return student;
-        } catch (DataAccessException ex) {
-            return null;
-        }
+        return findStudentById(id).orElse(null);
     }
 
+    @Override
     public Student getStudentByStudentId(String studentId) {
-        try {
-            final String GET_STUDENT_BY_STUDENT_ID = "SELECT * FROM student WHERE studentId = ?";
-            Student student = jdbc.queryForObject(GET_STUDENT_BY_STUDENT_ID, new StudentMapper(), studentId);
-            
-            // Get courses for this student
-            if (student != null) {
-                List<Course> courses = getCoursesForStudent(student.getId());
-                student.setCourses(courses);
-            }
-            
-            return student;
-        } catch (DataAccessException ex) {
-            return null;
-        }
+        return findStudentByStudentId(studentId).orElse(null);
     }
 
     @Override
+    @Transactional(readOnly = true)
     public List<Student> getAllStudents() {
         final String GET_ALL_STUDENTS = "SELECT * FROM student ORDER BY lastName, firstName";
         List<Student> students = jdbc.query(GET_ALL_STUDENTS, new StudentMapper());
         
-        // Get courses for each student
+        // Load every enrollment in one joined query and attach the courses in memory,
+        // instead of running one course query (plus one teacher query per course) per student
+        Map<Integer, List<Course>> coursesByStudent = getCoursesForAllStudents();
         for (Student student : students) {
-            List<Course> courses = getCoursesForStudent(student.getId());
-            student.setCourses(courses);
+            List<Course> courses = coursesByStudent.get(student.getId());
+            student.setCourses(courses != null ? courses : new ArrayList<>());
         }
         
         return students;
     }
 
     @Override
-    @Transactional
-    public Student addStudent(Student student) {
-        // Check if studentId already exists
-        final String CHECK_STUDENT_ID = "SELECT COUNT(*) FROM student WHERE studentId = ?";
-        int count = jdbc.queryForObject(CHECK_STUDENT_ID, Integer.class, student.getStudentId());
+    @Transactional(readOnly = true)
+    public StudentPage getStudentsPage(String lastNamePrefix, String cursor, boolean descending, int pageSize) {
+        StringBuilder sql = new StringBuilder("SELECT * FROM student WHERE 1 = 1");
+        List<Object> args = new ArrayList<>();
         
-        if (count > 0) {
-            throw new RuntimeException("Student ID '" + student.getStudentId() + "' already exists!");
+        if (lastNamePrefix != null && !lastNamePrefix.isEmpty()) {
+            sql.append(" AND lastName LIKE ?");
+            args.add(escapeLike(lastNamePrefix) + "%");
         }
         
+        // Seek past the last row of the previous page instead of using OFFSET,
+        // so every page costs the same no matter how deep into the roster it is
+        if (cursor != null && !cursor.isEmpty()) {
+            StudentCursor position = StudentCursor.decode(cursor);
+            String op = descending ? "<" : ">";
+            sql.append(" AND (lastName ").append(op).append(" ?")
+               .append(" OR (lastName = ? AND firstName ").append(op).append(" ?)")
+               .append(" OR (lastName = ? AND firstName = ? AND id ").append(op).append(" ?))");
+            args.add(position.getLastName());
+            args.add(position.getLastName());
+            args.add(position.getFirstName());
+            args.add(position.getLastName());
+            args.add(position.getFirstName());
+            args.add(position.getId());
+        }
+        
+        String direction = descending ? " DESC" : "";
+        sql.append(" ORDER BY lastName").append(direction)
+           .append(", firstName").append(direction)
+           .append(", id").append(direction)
+           .append(" LIMIT ?");
+        // One extra row tells us whether there is a next page
+        args.add(pageSize + 1);
+        
+        List<Student> students = jdbc.query(sql.toString(), new StudentMapper(), args.toArray());
+        
+        String nextCursor = null;
+        if (students.size() > pageSize) {
+            students = new ArrayList<>(students.subList(0, pageSize));
+            nextCursor = StudentCursor.encode(students.get(pageSize - 1));
+        }
+        
+        attachCourses(students);
+        return new StudentPage(students, nextCursor);
+    }
+
+    @Override
+    @Transactional
+    public Student addStudent(Student student) {
+        // A taken studentId is rejected by the uk_student_student_id constraint
         final String INSERT_STUDENT = "INSERT INTO student(studentId, firstName, lastName) VALUES(?,?,?)";
-        jdbc.update(INSERT_STUDENT,
-                student.getStudentId(),
-                student.getFirstName(),
-                student.getLastName());
+        try {
+            jdbc.update(INSERT_STUDENT,
+                    student.getStudentId(),
+                    student.getFirstName(),
+                    student.getLastName());
+        } catch (DuplicateKeyException ex) {
+            throw new RuntimeException("Student ID '" + student.getStudentId() + "' already exists!");
+        }
 
         int newId = jdbc.queryForObject("SELECT LAST_INSERT_ID()", Integer.class);
         student.setId(newId);
+        rosterVersion.changed(Aggregate.STUDENTS);
         return student;
     }
 
     @Override
-    public void updateStudent(Student student) {
-        // Check if studentId is being changed and if new one already exists
-        final String GET_OLD_STUDENT = "SELECT studentId FROM student WHERE id = ?";
-        String oldStudentId = jdbc.queryForObject(GET_OLD_STUDENT, String.class, student.getId());
+    @Transactional
+    public void addStudents(List<Student> students) {
+        final String INSERT_STUDENT = "INSERT INTO student(studentId, firstName, lastName) VALUES(?,?,?)";
         
-        if (!oldStudentId.equals(student.getStudentId())) {
-            final String CHECK_STUDENT_ID = "SELECT COUNT(*) FROM student WHERE studentId = ? AND id != ?";
-            int count = jdbc.queryForObject(CHECK_STUDENT_ID, Integer.class, student.getStudentId(), student.getId());
+        for (int from = 0; from < students.size(); from += BATCH_SIZE) {
+            List<Student> batch = students.subList(from, Math.min(from + BATCH_SIZE, students.size()));
+            KeyHolder keyHolder = new GeneratedKeyHolder();
             
-            if (count > 0) {
-                throw new RuntimeException("Student ID '" + student.getStudentId() + "' already exists!");
+            jdbc.batchUpdate(
+                con -> con.prepareStatement(INSERT_STUDENT, new String[]{"id"}),
+                new BatchPreparedStatementSetter() {
+                    @Override
+                    public void setValues(PreparedStatement ps, int i) throws SQLException {
+                        Student student = batch.get(i);
+                        ps.setString(1, student.getStudentId());
+                        ps.setString(2, student.getFirstName());
+                        ps.setString(3, student.getLastName());
+                    }
+
+                    @Override
+                    public int getBatchSize() {
+                        return batch.size();
+                    }
+                },
+                keyHolder);
+            
+            // Keys come back in the order the rows were added to the batch
+            List<Map<String, Object>> keys = keyHolder.getKeyList();
+            for (int i = 0; i < batch.size(); i++) {
+                batch.get(i).setId(((Number) keys.get(i).values().iterator().next()).intValue());
             }
         }
+        rosterVersion.changed(Aggregate.STUDENTS);
+    }
+
+    @Override
+    public Set<String> findExistingStudentIds(Collection<String> studentIds) {
+        List<String> distinctIds = new ArrayList<>(new LinkedHashSet<>(studentIds));
+        Set<String> existing = new HashSet<>();
+        
+        for (int from = 0; from < distinctIds.size(); from += SqlHelper.IN_LIST_CHUNK_SIZE) {
+            List<String> chunk = distinctIds.subList(from, Math.min(from + SqlHelper.IN_LIST_CHUNK_SIZE, distinctIds.size()));
+            final String FIND_EXISTING_STUDENT_IDS = 
+                "SELECT studentId FROM student WHERE studentId IN (" + SqlHelper.placeholders(chunk.size()) + ")";
+            jdbc.query(FIND_EXISTING_STUDENT_IDS, 
+                rs -> { existing.add(rs.getString("studentId").toLowerCase(Locale.ROOT)); }, 
+                chunk.toArray());
+        }
         
+        return existing;
+    }
+
+    @Override
+    @Transactional
+    public void updateStudent(Student student) {
+        // Changing to a studentId another student has is rejected by uk_student_student_id
         final String UPDATE_STUDENT = "UPDATE student SET studentId = ?, firstName = ?, lastName = ? WHERE id = ?";
-        jdbc.update(UPDATE_STUDENT,
-                student.getStudentId(),
-                student.getFirstName(),
-                student.getLastName(),
-                student.getId());
+        try {
+            jdbc.update(UPDATE_STUDENT,
+                    student.getStudentId(),
+                    student.getFirstName(),
+                    student.getLastName(),
+                    student.getId());
+        } catch (DuplicateKeyException ex) {
+            throw new RuntimeException("Student ID '" + student.getStudentId() + "' already exists!");
+        }
+        rosterVersion.changed(Aggregate.STUDENTS);
     }
 
     @Override
@@ -123,67 +241,260 @@ public class StudentDaoDB implements StudentDao {
         }
         
         // Remove student reference from user table first
-        final String UPDATE_USER = "UPDATE user SET student_id = NULL WHERE student_id = ?";
-        jdbc.update(UPDATE_USER, id);
+        userDao.clearStudentLink(id);
         
         final String DELETE_STUDENT = "DELETE FROM student WHERE id = ?";
         jdbc.update(DELETE_STUDENT, id);
+        rosterVersion.changed(Aggregate.STUDENTS);
     }
 
     @Override
     @Transactional
     public void enrollStudentInCourse(int studentId, int courseId) {
-        // Check if already enrolled
-        final String CHECK_ENROLLMENT = "SELECT COUNT(*) FROM course_student WHERE studentId = ? AND courseId = ?";
-        int count = jdbc.queryForObject(CHECK_ENROLLMENT, Integer.class, studentId, courseId);
-        
-        if (count > 0) {
+        // An existing enrollment is rejected by the (courseId, studentId) primary key
+        final String ENROLL_STUDENT = "INSERT INTO course_student(studentId, courseId) VALUES(?,?)";
+        try {
+            jdbc.update(ENROLL_STUDENT, studentId, courseId);
+        } catch (DuplicateKeyException ex) {
             throw new RuntimeException("Student is already enrolled in this course.");
         }
-        
-        final String ENROLL_STUDENT = "INSERT INTO course_student(studentId, courseId) VALUES(?,?)";
-        jdbc.update(ENROLL_STUDENT, studentId, courseId);
+        statistics.enrollmentChanged(courseId, 1);
+        rosterVersion.changed(Aggregate.STUDENTS);
     }
 
     @Override
     @Transactional
     public void unenrollStudentFromCourse(int studentId, int courseId) {
         final String UNENROLL_STUDENT = "DELETE FROM course_student WHERE studentId = ? AND courseId = ?";
-        jdbc.update(UNENROLL_STUDENT, studentId, courseId);
+        if (jdbc.update(UNENROLL_STUDENT, studentId, courseId) > 0) {
+            statistics.enrollmentChanged(courseId, -1);
+            rosterVersion.changed(Aggregate.STUDENTS);
+        }
     }
 
     @Override
+    @Transactional(readOnly = true)
     public List<Course> getCoursesForStudent(int studentId) {
+        // Teacher is joined in so the course list costs a single round trip
         final String GET_COURSES_FOR_STUDENT = 
-            "SELECT c.* FROM course c " +
+            "SELECT c.id, c.name, c.description, " +
+            "t.id AS teacherId, t.firstName, t.lastName, " + TeacherDaoDB.SPECIALTY + " AS specialty " +
+            "FROM course c " +
             "JOIN course_student cs ON c.id = cs.courseId " +
+            "LEFT JOIN teacher t ON t.id = c.teacherId " +
+            TeacherDaoDB.SPECIALTY_JOIN +
             "WHERE cs.studentId = ? " +
             "ORDER BY c.name";
         
-        List<Course> courses = jdbc.query(GET_COURSES_FOR_STUDENT, new CourseDaoDB.CourseMapper(), studentId);
-        
-        // Fetch teacher info for each course
-        for (Course course : courses) {
-            if (course != null) {
-                // Get teacher from course's teacherId
-                final String GET_TEACHER_FOR_COURSE = 
-                    "SELECT t.* FROM teacher t " +
-                    "WHERE t.id = (SELECT teacherId FROM course WHERE id = ?)";
-                
-                try {
-                    Teacher teacher = jdbc.queryForObject(GET_TEACHER_FOR_COURSE, new TeacherDaoDB.TeacherMapper(), course.getId());
-                    course.setTeacher(teacher);
-                } catch (DataAccessException ex) {
-                    // Teacher not found, leave as null
-                    course.setTeacher(null);
+        return jdbc.query(GET_COURSES_FOR_STUDENT, new CourseDaoDB.CourseWithTeacherMapper(), studentId);
+    }
+
+    @Override
+    @Transactional
+    public BulkEnrollmentResult enrollStudentsInCourse(int courseId, Collection<Integer> studentIds) {
+        return bulkEnroll(EnrollmentSide.COURSE, courseId, studentIds);
+    }
+
+    @Override
+    @Transactional
+    public BulkEnrollmentResult enrollStudentInCourses(int studentId, Collection<Integer> courseIds) {
+        return bulkEnroll(EnrollmentSide.STUDENT, studentId, courseIds);
+    }
+
+    @Override
+    @Transactional
+    public BulkEnrollmentResult unenrollStudentsFromCourse(int courseId, Collection<Integer> studentIds) {
+        return bulkUnenroll(EnrollmentSide.COURSE, courseId, studentIds);
+    }
+
+    @Override
+    @Transactional
+    public BulkEnrollmentResult unenrollStudentFromCourses(int studentId, Collection<Integer> courseIds) {
+        return bulkUnenroll(EnrollmentSide.STUDENT, studentId, courseIds);
+    }
+
+    /*
+    Which end of course_student is fixed in a bulk call. The other end is the
+    list of ids; these names are the only SQL fragments that vary, and they
+    never come from user input.
+     */
+    private enum EnrollmentSide {
+        COURSE("course", "courseId", "student", "studentId"),
+        STUDENT("student", "studentId", "course", "courseId");
+
+        final String table;
+        final String column;
+        final String otherTable;
+        final String otherColumn;
+
+        EnrollmentSide(String table, String column, String otherTable, String otherColumn) {
+            this.table = table;
+            this.column = column;
+            this.otherTable = otherTable;
+            this.otherColumn = otherColumn;
+        }
+    }
+
+    private BulkEnrollmentResult bulkEnroll(EnrollmentSide side, int fixedId, Collection<Integer> ids) {
+        List<Integer> distinctIds = requireTarget(side, fixedId, ids);
+        Set<Integer> known = findIds("SELECT id FROM " + side.otherTable + " WHERE id IN (%s)", distinctIds);
+        final String FIND_ENROLLED = 
+            "SELECT " + side.otherColumn + " FROM course_student WHERE " + side.column + " = ? " +
+            "AND " + side.otherColumn + " IN (%s)";
+        Set<Integer> enrolled = findIds(FIND_ENROLLED, distinctIds, fixedId);
+        
+        List<Integer> unknownIds = new ArrayList<>();
+        List<Integer> toInsert = new ArrayList<>();
+        for (Integer id : distinctIds) {
+            if (!known.contains(id)) {
+                unknownIds.add(id);
+            } else if (!enrolled.contains(id)) {
+                toInsert.add(id);
+            }
+        }
+        
+        // IGNORE keeps a pair enrolled concurrently since the check above from failing the whole batch;
+        // the primary key on (courseId, studentId) makes it a no-op for that row
+        final String ENROLL_BATCH = 
+            "INSERT IGNORE INTO course_student(" + side.column + ", " + side.otherColumn + ") VALUES(?,?)";
+        int[][] counts = jdbc.batchUpdate(ENROLL_BATCH, toInsert, BATCH_SIZE, (ps, id) -> {
+            ps.setInt(1, fixedId);
+            ps.setInt(2, id);
+        });
+        
+        List<Integer> insertedIds = new ArrayList<>();
+        boolean exact = true;
+        for (int b = 0; b < counts.length; b++) {
+            for (int i = 0; i < counts[b].length; i++) {
+                if (counts[b][i] > 0) {
+                    insertedIds.add(toInsert.get(b * BATCH_SIZE + i));
                 }
+                exact &= counts[b][i] != Statement.SUCCESS_NO_INFO;
             }
         }
+        if (!exact) {
+            // Rewritten batches report SUCCESS_NO_INFO for inserted and ignored rows alike, so ask
+            // again: this transaction's snapshot shows the rows it inserted, but not ones another
+            // transaction enrolled after the check above
+            Set<Integer> nowEnrolled = findIds(FIND_ENROLLED, toInsert, fixedId);
+            insertedIds = toInsert.stream().filter(nowEnrolled::contains).toList();
+        }
+        int inserted = insertedIds.size();
         
-        return courses;
+        if (side == EnrollmentSide.COURSE) {
+            statistics.enrollmentChanged(fixedId, inserted);
+        } else {
+            insertedIds.forEach(courseId -> statistics.enrollmentChanged(courseId, 1));
+        }
+        rosterVersion.changed(Aggregate.STUDENTS);
+        
+        return BulkEnrollmentResult.enrolled(distinctIds.size(), inserted,
+            distinctIds.size() - unknownIds.size() - inserted, unknownIds);
+    }
+
+    private BulkEnrollmentResult bulkUnenroll(EnrollmentSide side, int fixedId, Collection<Integer> ids) {
+        List<Integer> distinctIds = requireTarget(side, fixedId, ids);
+        Set<Integer> known = findIds("SELECT id FROM " + side.otherTable + " WHERE id IN (%s)", distinctIds);
+        List<Integer> knownIds = distinctIds.stream().filter(known::contains).toList();
+        List<Integer> unknownIds = distinctIds.stream().filter(id -> !known.contains(id)).toList();
+        
+        int removed = 0;
+        for (int from = 0; from < knownIds.size(); from += SqlHelper.IN_LIST_CHUNK_SIZE) {
+            List<Integer> chunk = knownIds.subList(from, Math.min(from + SqlHelper.IN_LIST_CHUNK_SIZE, knownIds.size()));
+            final String UNENROLL_CHUNK = 
+                "DELETE FROM course_student WHERE " + side.column + " = ? " +
+                "AND " + side.otherColumn + " IN (" + SqlHelper.placeholders(chunk.size()) + ")";
+            List<Object> args = new ArrayList<>(chunk.size() + 1);
+            args.add(fixedId);
+            args.addAll(chunk);
+            removed += jdbc.update(UNENROLL_CHUNK, args.toArray());
+        }
+        
+        if (side == EnrollmentSide.COURSE) {
+            statistics.enrollmentChanged(fixedId, -removed);
+        } else if (removed == knownIds.size()) {
+            knownIds.forEach(courseId -> statistics.enrollmentChanged(courseId, -1));
+        } else if (removed > 0) {
+            // Some of the courses were not enrolled, and the DELETE doesn't say which
+            statistics.invalidate();
+        }
+        rosterVersion.changed(Aggregate.STUDENTS);
+        
+        return BulkEnrollmentResult.unenrolled(distinctIds.size(), removed, knownIds.size() - removed, unknownIds);
+    }
+
+    // De-duplicates the ids and fails fast when the fixed student/course doesn't exist
+    private List<Integer> requireTarget(EnrollmentSide side, int fixedId, Collection<Integer> ids) {
+        final String CHECK_TARGET = "SELECT COUNT(*) FROM " + side.table + " WHERE id = ?";
+        if (jdbc.queryForObject(CHECK_TARGET, Integer.class, fixedId) == 0) {
+            throw new RuntimeException(side == EnrollmentSide.COURSE ? "Course not found!" : "Student not found!");
+        }
+        return new ArrayList<>(new LinkedHashSet<>(ids));
+    }
+
+    // Runs the query (%s stands for the IN list) one chunk at a time and collects the first column;
+    // leadingArgs bind any placeholders that come before the IN list
+    private Set<Integer> findIds(String sqlTemplate, List<Integer> ids, Object... leadingArgs) {
+        Set<Integer> found = new HashSet<>();
+        for (int from = 0; from < ids.size(); from += SqlHelper.IN_LIST_CHUNK_SIZE) {
+            List<Integer> chunk = ids.subList(from, Math.min(from + SqlHelper.IN_LIST_CHUNK_SIZE, ids.size()));
+            String sql = String.format(sqlTemplate, SqlHelper.placeholders(chunk.size()));
+            List<Object> args = new ArrayList<>(List.of(leadingArgs));
+            args.addAll(chunk);
+            jdbc.query(sql, rs -> { found.add(rs.getInt(1)); }, args.toArray());
+        }
+        return found;
+    }
+
+    // Builds the studentId -> courses (with teacher) map for every enrollment in one query
+    private Map<Integer, List<Course>> getCoursesForAllStudents() {
+        return loadCoursesByStudent("", new Object[0]);
+    }
+
+    // Attaches courses to a page of students with one IN (...) query
+    private void attachCourses(List<Student> students) {
+        if (students.isEmpty()) {
+            return;
+        }
+        
+        Object[] ids = students.stream().map(Student::getId).toArray();
+        Map<Integer, List<Course>> coursesByStudent = loadCoursesByStudent(
+            "WHERE cs.studentId IN (" + SqlHelper.placeholders(ids.length) + ") ", ids);
+        
+        for (Student student : students) {
+            List<Course> courses = coursesByStudent.get(student.getId());
+            student.setCourses(courses != null ? courses : new ArrayList<>());
+        }
+    }
+
+    private Map<Integer, List<Course>> loadCoursesByStudent(String whereClause, Object[] args) {
+        final String GET_ENROLLMENTS = 
+            "SELECT cs.studentId, c.id, c.name, c.description, " +
+            "t.id AS teacherId, t.firstName, t.lastName, " + TeacherDaoDB.SPECIALTY + " AS specialty " +
+            "FROM course_student cs " +
+            "JOIN course c ON c.id = cs.courseId " +
+            "LEFT JOIN teacher t ON t.id = c.teacherId " +
+            TeacherDaoDB.SPECIALTY_JOIN +
+            whereClause +
+            "ORDER BY cs.studentId, c.name";
+        
+        Map<Integer, List<Course>> coursesByStudent = new HashMap<>();
+        CourseDaoDB.CourseWithTeacherMapper mapper = new CourseDaoDB.CourseWithTeacherMapper();
+        jdbc.query(GET_ENROLLMENTS, rs -> {
+            Course course = mapper.mapRow(rs, rs.getRow());
+            coursesByStudent.computeIfAbsent(rs.getInt("studentId"), k -> new ArrayList<>()).add(course);
+        }, args);
+        
+        return coursesByStudent;
+    }
+
+    // Escapes LIKE wildcards so a prefix is matched literally
+    private static String escapeLike(String value) {
+        return value.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_");
     }
 
     @Override
+    @Transactional(readOnly = true)
     public List<Student> getStudentsForCourse(int courseId) {
         final String GET_STUDENTS_FOR_COURSE = 
             "SELECT s.* FROM student s " +
@@ -200,12 +511,6 @@ public class StudentDaoDB implements StudentDao {
         int count = jdbc.queryForObject(CHECK_ENROLLMENTS, Integer.class, studentId);
         return count > 0;
     }
-    
-    public boolean studentIdExists(String studentId) {
-        final String CHECK_STUDENT_ID = "SELECT COUNT(*) FROM student WHERE studentId = ?";
-        int count = jdbc.queryForObject(CHECK_STUDENT_ID, Integer.class, studentId);
-        return count > 0;
-    }
 
     public static final class StudentMapper implements RowMapper<Student> {
         @Override
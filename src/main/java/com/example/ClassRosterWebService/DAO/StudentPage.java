@@ -0,0 +1,31 @@
+package com.example.ClassRosterWebService.DAO;
+
+import com.example.ClassRosterWebService.Entity.Student;
+
+import java.util.List;
+
+/*
+One page of the keyset-paginated student listing. nextCursor is the opaque
+token for the following page, or null when this is the last page.
+ */
+public class StudentPage {
+    private final List<Student> students;
+    private final String nextCursor;
+
+    public StudentPage(List<Student> students, String nextCursor) {
+        this.students = students;
+        this.nextCursor = nextCursor;
+    }
+
+    public List<Student> getStudents() {
+        return students;
+    }
+
+    public String getNextCursor() {
+        return nextCursor;
+    }
+
+    public boolean hasNext() {
+        return nextCursor != null;
+    }
+}
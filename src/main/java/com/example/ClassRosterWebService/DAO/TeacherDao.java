@@ -4,8 +4,11 @@ import com.example.ClassRosterWebService.Entity.Teacher;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
+import java.util.Optional;
 
 public interface TeacherDao {
+    Optional<Teacher> findTeacherById(int id);
+    // findTeacherById(id).orElse(null)
     Teacher getTeacherById(int id);
 
     List<Teacher> getAllTeachers();
@@ -1,8 +1,9 @@
 package com.example.ClassRosterWebService.DAO;
 
+import com.example.ClassRosterWebService.Cache.RosterVersion;
+import com.example.ClassRosterWebService.Cache.RosterVersion.Aggregate;
 import com.example.ClassRosterWebService.Entity.Teacher;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.dao.DataAccessException;
 import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.jdbc.core.RowMapper;
 import org.springframework.stereotype.Repository;
@@ -11,6 +12,7 @@ import org.springframework.transaction.annotation.Transactional;
 import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.util.List;
+import java.util.Optional;
 
 @Repository
 public class TeacherDaoDB implements TeacherDao {
@@ -18,23 +20,43 @@ public class TeacherDaoDB implements TeacherDao {
     @Autowired
     JdbcTemplate jdbc;
 
+    @Autowired
+    RosterStatistics statistics;
+    
+    @Autowired
+    RosterVersion rosterVersion;
+
+    /*
+    A teacher's specialty is the course referenced by specialty_course_id when set,
+    otherwise the free-text specialty column (e.g. 'Unassigned'). Queries reading
+    teachers select SPECIALTY AS specialty and add SPECIALTY_JOIN after teacher t.
+     */
+    static final String SPECIALTY = "COALESCE(sc.name, t.specialty)";
+    static final String SPECIALTY_JOIN = "LEFT JOIN course sc ON sc.id = t.specialty_course_id ";
+    private static final String SELECT_TEACHER =
+        "SELECT t.id, t.firstName, t.lastName, " + SPECIALTY + " AS specialty " +
+        "FROM teacher t " + SPECIALTY_JOIN;
+
+
+    @Override
+    public Optional<Teacher> findTeacherById(int id) {
+        final String GET_TEACHER_BY_ID = SELECT_TEACHER + "WHERE t.id = ?";
+        return jdbc.query(GET_TEACHER_BY_ID, new OptionalRowExtractor<>(new TeacherMapper()), id);
+    }
 
     @Override
     public Teacher getTeacherById(int id) {
-        try {
-            final String GET_TEACHER_BY_ID = "SELECT * FROM teacher WHERE id = ?";
-            return jdbc.queryForObject(GET_TEACHER_BY_ID, new TeacherMapper(), id);
-        } catch(DataAccessException ex) {
-            return null;
-        }    }
+        return findTeacherById(id).orElse(null);
+    }
 
 
     @Override
+    @Transactional(readOnly = true)
     public List<Teacher> getAllTeachers() {
         Integer x = 2, y = 9;
         String val1 = x.toString();
         String val2 = y.toString();
-        final String GET_ALL_TEACHERS = "SELECT * FROM teacher";
+        final String GET_ALL_TEACHERS = SELECT_TEACHER;
         return jdbc.query(GET_ALL_TEACHERS, new TeacherMapper());
     }
 
@@ -46,14 +68,19 @@ public class TeacherDaoDB implements TeacherDao {
     }
 
     @Override
+    @Transactional(readOnly = true)
     public List<String> getTeacherByCourse() {
-        // Updated to use both relationships
+        // Both relationships, one indexed join each; UNION also drops the duplicate
+        // when a course's assigned teacher has it as specialty too
         final String GET_TEACHER_BY_COURSE = 
-            "SELECT DISTINCT t.firstName, t.lastName, c.name " +
+            "SELECT t.firstName, t.lastName, c.name " +
+            "FROM course c " +
+            "JOIN teacher t ON t.id = c.teacherId " +
+            "UNION " +
+            "SELECT t.firstName, t.lastName, c.name " +
             "FROM teacher t " +
-            "LEFT JOIN course c ON (t.id = c.teacherId OR t.specialty = c.name) " +
-            "WHERE c.name IS NOT NULL " +
-            "ORDER BY c.name, t.lastName";
+            "JOIN course c ON c.id = t.specialty_course_id " +
+            "ORDER BY 3, 2";
         
         return jdbc.query(GET_TEACHER_BY_COURSE, new TeacherByCourseMapper());
     }
@@ -61,29 +88,42 @@ public class TeacherDaoDB implements TeacherDao {
 @Override
 @Transactional
     public Teacher addTeacher(Teacher teacher) {
-        final String INSERT_TEACHER = "INSERT INTO teacher(firstName, lastName, specialty) " +
-                "VALUES(?,?,?)";
+        // The specialty is linked to the course of that name when there is one
+        final String INSERT_TEACHER = "INSERT INTO teacher(firstName, lastName, specialty, specialty_course_id) " +
+                "VALUES(?,?,?,(SELECT id FROM course WHERE name = ?))";
         jdbc.update(INSERT_TEACHER,
                 teacher.getFirstName(),
                 teacher.getLastName(),
+                teacher.getSpecialty(),
                 teacher.getSpecialty());
 
         int newId = jdbc.queryForObject("SELECT LAST_INSERT_ID()", Integer.class);
         teacher.setId(newId);
+        statistics.teacherAdded(teacher.getSpecialty());
+        rosterVersion.changed(Aggregate.TEACHERS);
         return teacher;
     }
 
 
     @Override
+    @Transactional
     public void updateTeacher(Teacher teacher) {
+        // The old specialty is needed to keep the specialty counts current
+        List<String> oldSpecialty = getSpecialty(teacher.getId());
+        
         final String UPDATE_TEACHER = "UPDATE teacher SET firstName = ?, lastName = ?, " +
-            "specialty = ? WHERE id = ?";
+            "specialty = ?, specialty_course_id = (SELECT id FROM course WHERE name = ?) WHERE id = ?";
         
         jdbc.update(UPDATE_TEACHER,
             teacher.getFirstName(),
             teacher.getLastName(),
             teacher.getSpecialty(),
+            teacher.getSpecialty(),
             teacher.getId());
+        if (!oldSpecialty.isEmpty()) {
+            statistics.teacherSpecialtyChanged(oldSpecialty.get(0), teacher.getSpecialty());
+        }
+        rosterVersion.changed(Aggregate.TEACHERS);
     }
 
 
@@ -104,9 +144,20 @@ public class TeacherDaoDB implements TeacherDao {
         final String REMOVE_FROM_COURSES = "UPDATE course SET teacherId = NULL WHERE teacherId = ?";
         jdbc.update(REMOVE_FROM_COURSES, id);
         
+        List<String> specialty = getSpecialty(id);
+        
         // Delete the teacher
         final String DELETE_TEACHER = "DELETE FROM teacher WHERE id = ?";
-        jdbc.update(DELETE_TEACHER, id);
+        if (jdbc.update(DELETE_TEACHER, id) > 0 && !specialty.isEmpty()) {
+            statistics.teacherRemoved(id, specialty.get(0));
+        }
+        rosterVersion.changed(Aggregate.TEACHERS, Aggregate.COURSES);
+    }
+
+    // Empty when there is no such teacher; otherwise the (possibly null) specialty
+    private List<String> getSpecialty(int teacherId) {
+        final String GET_SPECIALTY = "SELECT " + SPECIALTY + " FROM teacher t " + SPECIALTY_JOIN + "WHERE t.id = ?";
+        return jdbc.queryForList(GET_SPECIALTY, String.class, teacherId);
     }
 
     /*
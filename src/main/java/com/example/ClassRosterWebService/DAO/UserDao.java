@@ -1,16 +1,27 @@
 package com.example.ClassRosterWebService.DAO;
 
 import com.example.ClassRosterWebService.Entity.User;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 
 public interface UserDao {
+    // Lookups by key: empty when there is no such user
+    Optional<User> findUserById(int id);
+    Optional<User> findUserByUsername(String username);
+    Optional<User> findUserByStudentId(int studentId);
+    // The same lookups returning null when not found
     User getUserById(int id);
     User getUserByUsername(String username);
     User getUserByStudentId(int studentId);  // ADD THIS METHOD
     List<User> getAllUsers();
+    List<User> getUsersByIds(Collection<Integer> ids);
     User createUser(User user);
     void updateUser(User user);
+    void updatePassword(int userId, String encodedPassword);
     void deleteUser(int id);
+    // Unlinks whichever account belongs to the student, before the student row is deleted
+    void clearStudentLink(int studentId);
     void addRoleToUser(int userId, int roleId);
     void removeRoleFromUser(int userId, int roleId);
     List<String> getRolesForUser(String username);
@@ -3,14 +3,22 @@ package com.example.ClassRosterWebService.DAO;
 import com.example.ClassRosterWebService.Entity.User;
 import com.example.ClassRosterWebService.Entity.Role;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.dao.DataAccessException;
 import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.ResultSetExtractor;
 import org.springframework.jdbc.core.RowMapper;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.sql.ResultSet;
 import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
 
 @Repository
 public class UserDaoDB implements UserDao {
@@ -18,67 +26,73 @@ public class UserDaoDB implements UserDao {
     @Autowired
     JdbcTemplate jdbc;
 
+    // Users joined with their roles; one row per (user, role), folded by UserWithRolesExtractor
+    private static final String SELECT_USERS_WITH_ROLES =
+        "SELECT u.id, u.username, u.password, u.enabled, u.student_id, " +
+        "r.id AS role_id, r.name AS role_name " +
+        "FROM `user` u " +
+        "LEFT JOIN user_role ur ON ur.user_id = u.id " +
+        "LEFT JOIN `role` r ON r.id = ur.role_id ";
+
+    @Override
+    public Optional<User> findUserById(int id) {
+        final String GET_USER_BY_ID = SELECT_USERS_WITH_ROLES + "WHERE u.id = ?";
+        return first(jdbc.query(GET_USER_BY_ID, new UserWithRolesExtractor(), id));
+    }
+
+    @Override
+    public Optional<User> findUserByUsername(String username) {
+        final String GET_USER_BY_USERNAME = SELECT_USERS_WITH_ROLES + "WHERE u.username = ?";
+        return first(jdbc.query(GET_USER_BY_USERNAME, new UserWithRolesExtractor(), username));
+    }
+
+    @Override
+    public Optional<User> findUserByStudentId(int studentId) {
+        final String GET_USER_BY_STUDENT_ID = SELECT_USERS_WITH_ROLES + "WHERE u.student_id = ?";
+        return first(jdbc.query(GET_USER_BY_STUDENT_ID, new UserWithRolesExtractor(), studentId));
+    }
+
     @Override
     public User getUserById(int id) {
-        try {
-            final String GET_USER_BY_ID = "SELECT * FROM `user` WHERE id = ?";
-            User user = jdbc.queryForObject(GET_USER_BY_ID, new UserMapper(), id);
-            
-            if (user != null) {
-                user.setRoles(getRolesForUserId(id));
-            }
-            
-            return user;
-        } catch (DataAccessException ex) {
-            return null;
-        }
+        return findUserById(id).orElse(null);
     }
 
     @Override
     public User getUserByUsername(String username) {
-        try {
-            final String GET_USER_BY_USERNAME = "SELECT * FROM `user` WHERE username = ?";
-            User user = jdbc.queryForObject(GET_USER_BY_USERNAME, new UserMapper(), username);
-            
-            if (user != null) {
-                user.setRoles(getRolesForUserId(user.getId()));
-            }
-            
-            return user;
-        } catch (DataAccessException ex) {
-            return null;
-        }
+        return findUserByUsername(username).orElse(null);
     }
 
     @Override
     public User getUserByStudentId(int studentId) {
-        try {
-            final String GET_USER_BY_STUDENT_ID = "SELECT * FROM `user` WHERE student_id = ?";
-            User user = jdbc.queryForObject(GET_USER_BY_STUDENT_ID, new UserMapper(), studentId);
-            
-            if (user != null) {
-                user.setRoles(getRolesForUserId(user.getId()));
-            }
-            
-            return user;
-        } catch (DataAccessException ex) {
-            return null;
-        }
+        return findUserByStudentId(studentId).orElse(null);
     }
 
     @Override
     public List<User> getAllUsers() {
-        final String GET_ALL_USERS = "SELECT * FROM `user` ORDER BY username";
-        List<User> users = jdbc.query(GET_ALL_USERS, new UserMapper());
+        final String GET_ALL_USERS = SELECT_USERS_WITH_ROLES + "ORDER BY u.username, r.id";
+        return jdbc.query(GET_ALL_USERS, new UserWithRolesExtractor());
+    }
+
+    @Override
+    public List<User> getUsersByIds(Collection<Integer> ids) {
+        List<Integer> distinctIds = new ArrayList<>(new LinkedHashSet<>(ids));
+        List<User> users = new ArrayList<>();
         
-        for (User user : users) {
-            user.setRoles(getRolesForUserId(user.getId()));
+        // One statement per chunk of ids rather than two per user
+        for (int from = 0; from < distinctIds.size(); from += SqlHelper.IN_LIST_CHUNK_SIZE) {
+            List<Integer> chunk = distinctIds.subList(from, Math.min(from + SqlHelper.IN_LIST_CHUNK_SIZE, distinctIds.size()));
+            final String GET_USERS_BY_IDS = SELECT_USERS_WITH_ROLES +
+                "WHERE u.id IN (" + SqlHelper.placeholders(chunk.size()) + ") " +
+                "ORDER BY u.username, r.id";
+            users.addAll(jdbc.query(GET_USERS_BY_IDS, new UserWithRolesExtractor(), chunk.toArray()));
         }
         
+        users.sort(Comparator.comparing(User::getUsername));
         return users;
     }
 
     @Override
+    @Transactional
     public User createUser(User user) {
         final String INSERT_USER = "INSERT INTO `user` (username, password, enabled, student_id) VALUES (?, ?, ?, ?)";
         jdbc.update(INSERT_USER, 
@@ -93,6 +107,7 @@ public class UserDaoDB implements UserDao {
     }
 
     @Override
+    @Transactional
     public void updateUser(User user) {
         final String UPDATE_USER = "UPDATE `user` SET username = ?, password = ?, enabled = ?, student_id = ? WHERE id = ?";
         jdbc.update(UPDATE_USER, 
@@ -104,18 +119,35 @@ public class UserDaoDB implements UserDao {
     }
 
     @Override
+    @Transactional
+    public void updatePassword(int userId, String encodedPassword) {
+        final String UPDATE_PASSWORD = "UPDATE `user` SET password = ? WHERE id = ?";
+        jdbc.update(UPDATE_PASSWORD, encodedPassword, userId);
+    }
+
+    @Override
+    @Transactional
     public void deleteUser(int id) {
         final String DELETE_USER = "DELETE FROM `user` WHERE id = ?";
         jdbc.update(DELETE_USER, id);
     }
 
     @Override
+    @Transactional
+    public void clearStudentLink(int studentId) {
+        final String CLEAR_STUDENT_LINK = "UPDATE `user` SET student_id = NULL WHERE student_id = ?";
+        jdbc.update(CLEAR_STUDENT_LINK, studentId);
+    }
+
+    @Override
+    @Transactional
     public void addRoleToUser(int userId, int roleId) {
         final String ADD_ROLE = "INSERT IGNORE INTO user_role (user_id, role_id) VALUES (?, ?)";
         jdbc.update(ADD_ROLE, userId, roleId);
     }
 
     @Override
+    @Transactional
     public void removeRoleFromUser(int userId, int roleId) {
         final String REMOVE_ROLE = "DELETE FROM user_role WHERE user_id = ? AND role_id = ?";
         jdbc.update(REMOVE_ROLE, userId, roleId);
@@ -141,15 +173,6 @@ public class UserDaoDB implements UserDao {
         return count > 0;
     }
 
-    private List<Role> getRolesForUserId(int userId) {
-        final String GET_ROLES_FOR_USER = 
-            "SELECT r.* FROM `role` r " +
-            "JOIN user_role ur ON r.id = ur.role_id " +
-            "WHERE ur.user_id = ?";
-        
-        return jdbc.query(GET_ROLES_FOR_USER, new RoleMapper(), userId);
-    }
-
     public static final class UserMapper implements RowMapper<User> {
         @Override
         public User mapRow(ResultSet rs, int index) throws SQLException {
@@ -175,4 +198,36 @@ public class UserDaoDB implements UserDao {
             return role;
         }
     }
+
+    /*
+    Folds the rows of SELECT_USERS_WITH_ROLES into one User per id, each with its
+    Role list. Users keep the order in which they first appear in the result.
+     */
+    public static final class UserWithRolesExtractor implements ResultSetExtractor<List<User>> {
+        @Override
+        public List<User> extractData(ResultSet rs) throws SQLException {
+            Map<Integer, User> usersById = new LinkedHashMap<>();
+            UserMapper userMapper = new UserMapper();
+            
+            while (rs.next()) {
+                int userId = rs.getInt("id");
+                User user = usersById.get(userId);
+                if (user == null) {
+                    user = userMapper.mapRow(rs, rs.getRow());
+                    usersById.put(userId, user);
+                }
+                
+                int roleId = rs.getInt("role_id");
+                if (!rs.wasNull()) {
+                    user.getRoles().add(new Role(roleId, rs.getString("role_name")));
+                }
+            }
+            
+            return new ArrayList<>(usersById.values());
+        }
+    }
+
+    private static Optional<User> first(List<User> users) {
+        return users.isEmpty() ? Optional.empty() : Optional.of(users.get(0));
+    }
 }
\ No newline at end of file
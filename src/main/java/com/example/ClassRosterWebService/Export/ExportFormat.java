@@ -0,0 +1,45 @@
+package com.example.ClassRosterWebService.Export;
+
+import com.fasterxml.jackson.core.JsonFactory;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.List;
+
+public enum ExportFormat {
+    CSV("text/csv", "csv"),
+    NDJSON("application/x-ndjson", "ndjson");
+
+    private final String contentType;
+    private final String extension;
+
+    ExportFormat(String contentType, String extension) {
+        this.contentType = contentType;
+        this.extension = extension;
+    }
+
+    public String getContentType() {
+        return contentType;
+    }
+
+    public String getExtension() {
+        return extension;
+    }
+
+    public ExportWriter open(OutputStream out, List<String> columns, JsonFactory jsonFactory) throws IOException {
+        return this == CSV ? new CsvExportWriter(out, columns) : new NdjsonExportWriter(out, columns, jsonFactory);
+    }
+
+    // Returns null for anything other than csv / ndjson
+    public static ExportFormat fromParameter(String format) {
+        if (format == null || format.isEmpty()) {
+            return CSV;
+        }
+        for (ExportFormat value : values()) {
+            if (value.extension.equalsIgnoreCase(format)) {
+                return value;
+            }
+        }
+        return null;
+    }
+}
@@ -0,0 +1,42 @@
+package com.example.ClassRosterWebService.Export;
+
+import org.springframework.jdbc.core.RowCallbackHandler;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.List;
+
+/*
+Writes each row of a streamed result set straight to the output as it is read.
+Columns are taken by position, in the order given by the export's column list.
+ */
+public abstract class ExportWriter implements RowCallbackHandler, Closeable {
+    protected final List<String> columns;
+    private long rowCount;
+
+    protected ExportWriter(List<String> columns) {
+        this.columns = columns;
+    }
+
+    public abstract void writeHeader() throws IOException;
+
+    protected abstract void writeRow(ResultSet rs) throws IOException, SQLException;
+
+    @Override
+    public void processRow(ResultSet rs) throws SQLException {
+        try {
+            writeRow(rs);
+            rowCount++;
+        } catch (IOException e) {
+            // Usually the client went away; abort the query instead of reading the rest of the table
+            throw new UncheckedIOException("Export aborted after " + rowCount + " rows", e);
+        }
+    }
+
+    public long getRowCount() {
+        return rowCount;
+    }
+}
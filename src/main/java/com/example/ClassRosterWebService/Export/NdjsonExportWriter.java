@@ -0,0 +1,50 @@
+package com.example.ClassRosterWebService.Export;
+
+import com.fasterxml.jackson.core.JsonEncoding;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.List;
+
+// Newline-delimited JSON: one object per row, keyed by the export's column names
+public class NdjsonExportWriter extends ExportWriter {
+    private final JsonGenerator generator;
+
+    public NdjsonExportWriter(OutputStream out, List<String> columns, JsonFactory jsonFactory) throws IOException {
+        super(columns);
+        this.generator = jsonFactory.createGenerator(out, JsonEncoding.UTF8);
+        this.generator.setRootValueSeparator(null);
+    }
+
+    @Override
+    public void writeHeader() {
+        // Every line is self-describing
+    }
+
+    @Override
+    protected void writeRow(ResultSet rs) throws IOException, SQLException {
+        generator.writeStartObject();
+        for (int i = 0; i < columns.size(); i++) {
+            Object value = rs.getObject(i + 1);
+            generator.writeFieldName(columns.get(i));
+            if (value == null) {
+                generator.writeNull();
+            } else if (value instanceof Number) {
+                generator.writeNumber(value.toString());
+            } else {
+                generator.writeString(value.toString());
+            }
+        }
+        generator.writeEndObject();
+        generator.writeRaw('\n');
+    }
+
+    @Override
+    public void close() throws IOException {
+        generator.close();
+    }
+}
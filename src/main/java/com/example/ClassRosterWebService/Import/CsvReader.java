@@ -0,0 +1,120 @@
+package com.example.ClassRosterWebService.Import;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.List;
+
+/*
+Minimal RFC 4180 reader: comma separated, double-quoted fields may contain
+commas, doubled quotes and line breaks. Blank lines are skipped. Each record
+remembers the line it started on so errors can point back into the file.
+ */
+public class CsvReader {
+    private final Reader in;
+    private int line = 1;
+    private int pushedBack = -2;
+
+    public CsvReader(Reader in) {
+        this.in = in;
+    }
+
+    public static class Record {
+        private final int line;
+        private final List<String> fields;
+
+        Record(int line, List<String> fields) {
+            this.line = line;
+            this.fields = fields;
+        }
+
+        public int getLine() {
+            return line;
+        }
+
+        public List<String> getFields() {
+            return fields;
+        }
+
+        public String get(int index) {
+            return index < fields.size() ? fields.get(index) : null;
+        }
+    }
+
+    // Returns null at end of input
+    public Record next() throws IOException {
+        int c = read();
+        // Skip blank lines and a leading byte order mark
+        while (c == '\r' || c == '\n' || c == '\uFEFF') {
+            if (c != '\uFEFF') {
+                consumeLineBreak(c);
+            }
+            c = read();
+        }
+        if (c == -1) {
+            return null;
+        }
+
+        int startLine = line;
+        List<String> fields = new ArrayList<>();
+        StringBuilder field = new StringBuilder();
+        boolean quoted = false;
+
+        while (true) {
+            if (quoted) {
+                if (c == -1) {
+                    throw new IOException("Unterminated quoted field starting on line " + startLine);
+                }
+                if (c == '"') {
+                    int peek = read();
+                    if (peek == '"') {
+                        field.append('"');
+                    } else {
+                        quoted = false;
+                        c = peek;
+                        continue;
+                    }
+                } else {
+                    if (c == '\n') {
+                        line++;
+                    }
+                    field.append((char) c);
+                }
+            } else if (c == '"' && field.length() == 0) {
+                quoted = true;
+            } else if (c == ',') {
+                fields.add(field.toString());
+                field.setLength(0);
+            } else if (c == '\r' || c == '\n' || c == -1) {
+                fields.add(field.toString());
+                if (c != -1) {
+                    consumeLineBreak(c);
+                }
+                return new Record(startLine, fields);
+            } else {
+                field.append((char) c);
+            }
+            c = read();
+        }
+    }
+
+    // Called after reading \n or \r; swallows the \n of a \r\n pair
+    private void consumeLineBreak(int c) throws IOException {
+        line++;
+        if (c == '\r') {
+            int next = read();
+            if (next != '\n') {
+                pushedBack = next;
+            }
+        }
+    }
+
+    private int read() throws IOException {
+        if (pushedBack != -2) {
+            int c = pushedBack;
+            pushedBack = -2;
+            return c;
+        }
+        return in.read();
+    }
+}
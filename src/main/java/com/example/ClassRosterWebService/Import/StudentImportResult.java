@@ -0,0 +1,55 @@
+package com.example.ClassRosterWebService.Import;
+
+import java.util.List;
+
+/*
+Outcome of a bulk student import, returned to the client as JSON.
+Rows listed in errors were not imported; every other row was.
+ */
+public class StudentImportResult {
+    private final int totalRows;
+    private final int importedCount;
+    private final List<RowError> errors;
+
+    public StudentImportResult(int totalRows, int importedCount, List<RowError> errors) {
+        this.totalRows = totalRows;
+        this.importedCount = importedCount;
+        this.errors = errors;
+    }
+
+    public int getTotalRows() {
+        return totalRows;
+    }
+
+    public int getImportedCount() {
+        return importedCount;
+    }
+
+    public List<RowError> getErrors() {
+        return errors;
+    }
+
+    public static class RowError {
+        private final int line;
+        private final String studentId;
+        private final List<String> messages;
+
+        public RowError(int line, String studentId, List<String> messages) {
+            this.line = line;
+            this.studentId = studentId;
+            this.messages = messages;
+        }
+
+        public int getLine() {
+            return line;
+        }
+
+        public String getStudentId() {
+            return studentId;
+        }
+
+        public List<String> getMessages() {
+            return messages;
+        }
+    }
+}
@@ -0,0 +1,159 @@
+package com.example.ClassRosterWebService.Import;
+
+import com.example.ClassRosterWebService.DAO.StudentDao;
+import com.example.ClassRosterWebService.Entity.Student;
+import com.example.ClassRosterWebService.Validation.InputValidator;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/*
+Bulk student import from CSV with columns studentId, firstName, lastName (any
+order, header required). The pipeline is:
+ 1. parse every row
+ 2. validate rows in parallel with InputValidator
+ 3. reject studentIds repeated within the file
+ 4. reject studentIds already in the database (one IN query per chunk)
+ 5. batch-insert the remaining rows
+Rows that fail any step are reported with their line number; the rest are imported.
+
+Steps 4 and 5 share one transaction, so a studentId taken by a concurrent add or
+import between them fails the whole file with DuplicateKeyException instead of
+leaving it half imported; the caller can simply retry it.
+ */
+@Component
+public class StudentImporter {
+    
+    @Autowired
+    StudentDao studentDao;
+    
+    @Value("${roster.import.max-rows:200000}")
+    int maxRows;
+
+    private static class ImportRow {
+        final int line;
+        final String studentId;
+        final String firstName;
+        final String lastName;
+        final List<String> messages = new ArrayList<>();
+
+        ImportRow(int line, String studentId, String firstName, String lastName) {
+            this.line = line;
+            this.studentId = studentId;
+            this.firstName = firstName;
+            this.lastName = lastName;
+        }
+    }
+
+    // Throws IllegalArgumentException when the file itself is unusable (bad header, too many rows)
+    @Transactional
+    public StudentImportResult importCsv(Reader reader) throws IOException {
+        List<ImportRow> rows = parse(new CsvReader(new BufferedReader(reader, 64 * 1024)));
+        
+        // InputValidator is stateless, so rows can be checked independently
+        rows.parallelStream().forEach(StudentImporter::validate);
+        
+        // First occurrence of a studentId in the file wins; later ones are reported
+        Map<String, Integer> firstLineById = new HashMap<>();
+        for (ImportRow row : rows) {
+            if (!row.messages.isEmpty()) {
+                continue;
+            }
+            Integer firstLine = firstLineById.putIfAbsent(key(row.studentId), row.line);
+            if (firstLine != null) {
+                row.messages.add("Duplicate student ID '" + row.studentId + "' (first seen on line " + firstLine + ").");
+            }
+        }
+        
+        List<ImportRow> candidates = rows.stream().filter(row -> row.messages.isEmpty()).collect(Collectors.toList());
+        Set<String> existing = studentDao.findExistingStudentIds(
+            candidates.stream().map(row -> row.studentId).collect(Collectors.toList()));
+        
+        List<Student> students = new ArrayList<>();
+        for (ImportRow row : candidates) {
+            if (existing.contains(key(row.studentId))) {
+                row.messages.add("Student ID '" + row.studentId + "' already exists!");
+            } else {
+                students.add(new Student(0, row.studentId, row.firstName, row.lastName));
+            }
+        }
+        
+        studentDao.addStudents(students);
+        
+        List<StudentImportResult.RowError> errors = rows.stream()
+            .filter(row -> !row.messages.isEmpty())
+            .sorted(Comparator.comparingInt(row -> row.line))
+            .map(row -> new StudentImportResult.RowError(row.line, row.studentId, row.messages))
+            .collect(Collectors.toList());
+        
+        return new StudentImportResult(rows.size(), students.size(), errors);
+    }
+
+    private List<ImportRow> parse(CsvReader csv) throws IOException {
+        CsvReader.Record header = csv.next();
+        if (header == null) {
+            throw new IllegalArgumentException("The file is empty.");
+        }
+        
+        int studentIdColumn = -1;
+        int firstNameColumn = -1;
+        int lastNameColumn = -1;
+        for (int i = 0; i < header.getFields().size(); i++) {
+            switch (header.get(i).trim().toLowerCase(Locale.ROOT)) {
+                case "studentid" -> studentIdColumn = i;
+                case "firstname" -> firstNameColumn = i;
+                case "lastname" -> lastNameColumn = i;
+                default -> { }
+            }
+        }
+        if (studentIdColumn < 0 || firstNameColumn < 0 || lastNameColumn < 0) {
+            throw new IllegalArgumentException("Header must contain studentId, firstName and lastName columns.");
+        }
+        
+        List<ImportRow> rows = new ArrayList<>();
+        for (CsvReader.Record record = csv.next(); record != null; record = csv.next()) {
+            if (rows.size() == maxRows) {
+                throw new IllegalArgumentException("Imports are limited to " + maxRows + " rows per file.");
+            }
+            rows.add(new ImportRow(record.getLine(),
+                trim(record.get(studentIdColumn)),
+                trim(record.get(firstNameColumn)),
+                trim(record.get(lastNameColumn))));
+        }
+        return rows;
+    }
+
+    private static void validate(ImportRow row) {
+        addIfPresent(row.messages, InputValidator.validateStudentId(row.studentId));
+        addIfPresent(row.messages, InputValidator.validateFirstName(row.firstName));
+        addIfPresent(row.messages, InputValidator.validateLastName(row.lastName));
+    }
+
+    private static void addIfPresent(List<String> messages, String error) {
+        if (error != null) {
+            messages.add(error);
+        }
+    }
+
+    private static String trim(String value) {
+        return value != null ? value.trim() : null;
+    }
+
+    // MySQL's default collation compares studentIds case-insensitively
+    private static String key(String studentId) {
+        return studentId.toLowerCase(Locale.ROOT);
+    }
+}
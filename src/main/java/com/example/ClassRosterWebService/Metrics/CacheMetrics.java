@@ -0,0 +1,36 @@
+package com.example.ClassRosterWebService.Metrics;
+
+import com.example.ClassRosterWebService.Cache.BoundedCache;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+
+import java.util.List;
+
+// Publishes hit/miss/eviction counts and size for every BoundedCache bean, tagged cache=<name>
+public class CacheMetrics implements MeterBinder {
+    private final List<BoundedCache<?, ?>> caches;
+
+    public CacheMetrics(List<BoundedCache<?, ?>> caches) {
+        this.caches = caches;
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        for (BoundedCache<?, ?> cache : caches) {
+            FunctionCounter.builder("roster.cache.hits", cache, BoundedCache::getHitCount)
+                .tag("cache", cache.getName())
+                .register(registry);
+            FunctionCounter.builder("roster.cache.misses", cache, BoundedCache::getMissCount)
+                .tag("cache", cache.getName())
+                .register(registry);
+            FunctionCounter.builder("roster.cache.evictions", cache, BoundedCache::getEvictionCount)
+                .tag("cache", cache.getName())
+                .register(registry);
+            Gauge.builder("roster.cache.size", cache, BoundedCache::size)
+                .tag("cache", cache.getName())
+                .register(registry);
+        }
+    }
+}
@@ -0,0 +1,98 @@
+package com.example.ClassRosterWebService.Metrics;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.IOException;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/*
+Tracks how many statements each HTTP request issues and how long they spend in
+the database. Recorded per route (the matched URL pattern, so /editStudent?id=1
+and ?id=2 share a series) as:
+ - roster.http.db.statements distribution summary
+ - roster.http.db.time timer
+Requests that repeat one SQL shape past the RepeatedStatementGuard threshold are
+logged as a warning and counted in roster.http.db.repeated_statements.
+ */
+public class DbRequestMetricsFilter extends OncePerRequestFilter {
+    public static final String STATEMENTS_SUMMARY = "roster.http.db.statements";
+    public static final String DB_TIME_TIMER = "roster.http.db.time";
+    public static final String REPEATED_COUNTER = "roster.http.db.repeated_statements";
+
+    private static final Logger log = LoggerFactory.getLogger(DbRequestMetricsFilter.class);
+
+    private final MeterRegistry registry;
+    private final RepeatedStatementGuard guard;
+
+    public DbRequestMetricsFilter(MeterRegistry registry, RepeatedStatementGuard guard) {
+        this.registry = registry;
+        this.guard = guard;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        DbRequestStats stats = new DbRequestStats(guard);
+        request.setAttribute(DbRequestStats.REQUEST_ATTRIBUTE, stats);
+        DbRequestStats previous = DbRequestStats.bind(stats);
+        boolean completed = false;
+        try {
+            chain.doFilter(request, response);
+            completed = true;
+        } finally {
+            DbRequestStats.restore(previous);
+            record(request, stats);
+        }
+        
+        // A controller may have caught the guard's exception and rendered an error page instead
+        if (completed && guard.getMode() == RepeatedStatementGuard.Mode.FAIL && !stats.getRepeatedShapes().isEmpty()) {
+            Map.Entry<String, String> repeated = stats.getRepeatedShapes().entrySet().iterator().next();
+            throw new RepeatedStatementException(repeated.getKey(), repeated.getValue(), guard.getThreshold());
+        }
+    }
+
+    private void record(HttpServletRequest request, DbRequestStats stats) {
+        String uri = route(request);
+        DistributionSummary.builder(STATEMENTS_SUMMARY)
+            .description("JDBC statements executed per HTTP request")
+            .tag("method", request.getMethod())
+            .tag("uri", uri)
+            .register(registry)
+            .record(stats.getStatementCount());
+        Timer.builder(DB_TIME_TIMER)
+            .description("Time spent executing JDBC statements per HTTP request")
+            .tag("method", request.getMethod())
+            .tag("uri", uri)
+            .register(registry)
+            .record(stats.getDbTimeNanos(), TimeUnit.NANOSECONDS);
+        
+        stats.getRepeatedShapes().forEach((shape, queryName) -> {
+            registry.counter(REPEATED_COUNTER, "method", request.getMethod(), "uri", uri, "query", queryName).increment();
+            log.warn("repeated_statement method={} uri={} query={} count={} threshold={} statements={} shape=\"{}\"",
+                request.getMethod(), uri, queryName, stats.getCount(shape), guard.getThreshold(),
+                stats.getStatementCount(), shape);
+        });
+        
+        if (log.isDebugEnabled() && stats.getStatementCount() > 0) {
+            log.debug("{} {} issued {} statement(s) in {} ms", request.getMethod(), uri,
+                stats.getStatementCount(), TimeUnit.NANOSECONDS.toMillis(stats.getDbTimeNanos()));
+        }
+    }
+
+    // Requests that never reach a controller (e.g. the login form post) have no pattern
+    static String route(HttpServletRequest request) {
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        return pattern != null ? pattern.toString() : "UNMAPPED";
+    }
+}
@@ -0,0 +1,92 @@
+package com.example.ClassRosterWebService.Metrics;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+
+/*
+Statement count and database time for the unit of work (normally one HTTP request)
+bound to the current thread, plus how often each SQL shape ran. The counters are
+concurrent so work handed to other threads can bind the same instance and add to it.
+ */
+public final class DbRequestStats {
+    // Request attribute under which DbRequestMetricsFilter exposes the stats (used by tests)
+    public static final String REQUEST_ATTRIBUTE = DbRequestStats.class.getName();
+
+    private static final ThreadLocal<DbRequestStats> CURRENT = new ThreadLocal<>();
+
+    private final RepeatedStatementGuard guard;
+    private final AtomicInteger statementCount = new AtomicInteger();
+    private final AtomicLong dbTimeNanos = new AtomicLong();
+    private final Map<String, AtomicInteger> countsByShape = new ConcurrentHashMap<>();
+    // shape -> name of the method that repeated it, for shapes that went over the guard's threshold
+    private final Map<String, String> repeatedShapes = new ConcurrentHashMap<>();
+
+    public DbRequestStats() {
+        this(null);
+    }
+
+    public DbRequestStats(RepeatedStatementGuard guard) {
+        this.guard = guard;
+    }
+
+    // Null when nothing is being tracked on this thread
+    public static DbRequestStats current() {
+        return CURRENT.get();
+    }
+
+    // Binds stats to the current thread and returns whatever was bound before, for restore()
+    public static DbRequestStats bind(DbRequestStats stats) {
+        DbRequestStats previous = CURRENT.get();
+        CURRENT.set(stats);
+        return previous;
+    }
+
+    public static void restore(DbRequestStats previous) {
+        if (previous == null) {
+            CURRENT.remove();
+        } else {
+            CURRENT.set(previous);
+        }
+    }
+
+    void recordStatement(String sql, String queryName, long nanos) {
+        statementCount.incrementAndGet();
+        dbTimeNanos.addAndGet(nanos);
+        if (sql == null) {
+            return;
+        }
+        
+        String shape = SqlShapes.normalize(sql);
+        int count = countsByShape.computeIfAbsent(shape, k -> new AtomicInteger()).incrementAndGet();
+        if (guard != null && guard.isRepeated(count)) {
+            repeatedShapes.putIfAbsent(shape, queryName);
+            guard.onRepeated(shape, queryName, count);
+        }
+    }
+
+    public int getStatementCount() {
+        return statementCount.get();
+    }
+
+    public long getDbTimeNanos() {
+        return dbTimeNanos.get();
+    }
+
+    public Map<String, Integer> getCountsByShape() {
+        return countsByShape.entrySet().stream()
+            .collect(Collectors.toMap(Map.Entry::getKey, e -> e.getValue().get()));
+    }
+
+    public int getCount(String shape) {
+        AtomicInteger count = countsByShape.get(shape);
+        return count != null ? count.get() : 0;
+    }
+
+    public Map<String, String> getRepeatedShapes() {
+        return Collections.unmodifiableMap(repeatedShapes);
+    }
+}
@@ -0,0 +1,147 @@
+package com.example.ClassRosterWebService.Metrics;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.io.Closeable;
+import java.io.IOException;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/*
+DataSource wrapper that times every statement execution. Each statement is
+named after the application method that created it (e.g.
+"CourseDaoDB.associateTeachers"), found by walking the stack once when the
+statement is prepared, and recorded as:
+ - roster.db.query timer, tagged query=<Class.method>
+ - the current thread's DbRequestStats, if any, which also counts repeats per SQL shape
+ */
+public class InstrumentedDataSource extends DelegatingDataSource implements Closeable {
+    public static final String QUERY_TIMER = "roster.db.query";
+    static final String UNATTRIBUTED = "unattributed";
+
+    private static final String APP_PACKAGE = "com.example.ClassRosterWebService.";
+    private static final String METRICS_PACKAGE = APP_PACKAGE + "Metrics.";
+    private static final Set<String> CREATE_METHODS = Set.of("createStatement", "prepareStatement", "prepareCall");
+    private static final Set<String> EXECUTE_METHODS = Set.of(
+        "execute", "executeQuery", "executeUpdate", "executeLargeUpdate", "executeBatch", "executeLargeBatch");
+    private static final StackWalker STACK_WALKER = StackWalker.getInstance(StackWalker.Option.RETAIN_CLASS_REFERENCE);
+
+    private final Supplier<MeterRegistry> registrySupplier;
+    private final Map<String, Timer> timers = new ConcurrentHashMap<>();
+    private volatile MeterRegistry registry;
+
+    // The registry is looked up lazily so the DataSource can be created before it
+    public InstrumentedDataSource(DataSource target, Supplier<MeterRegistry> registrySupplier) {
+        super(target);
+        this.registrySupplier = registrySupplier;
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        return instrument(super.getConnection());
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return instrument(super.getConnection(username, password));
+    }
+
+    // Lets Spring close a wrapped pool on shutdown, as it would the unwrapped bean
+    @Override
+    public void close() throws IOException {
+        if (getTargetDataSource() instanceof Closeable closeable) {
+            closeable.close();
+        }
+    }
+
+    private Connection instrument(Connection target) {
+        return (Connection) Proxy.newProxyInstance(
+            Connection.class.getClassLoader(),
+            new Class<?>[]{Connection.class},
+            (proxy, method, args) -> {
+                Object result = invoke(target, method, args);
+                if (result instanceof Statement && CREATE_METHODS.contains(method.getName())) {
+                    // Prepared statements carry their SQL; plain ones get it at execute time
+                    String sql = args != null && args.length > 0 && args[0] instanceof String ? (String) args[0] : null;
+                    return instrument((Statement) result, method.getReturnType(), resolveQueryName(), sql);
+                }
+                return result;
+            });
+    }
+
+    private Object instrument(Statement target, Class<?> statementType, String queryName, String preparedSql) {
+        return Proxy.newProxyInstance(
+            Statement.class.getClassLoader(),
+            new Class<?>[]{statementType},
+            (proxy, method, args) -> {
+                if (!EXECUTE_METHODS.contains(method.getName())) {
+                    return invoke(target, method, args);
+                }
+                String sql = args != null && args.length > 0 && args[0] instanceof String ? (String) args[0] : preparedSql;
+                long start = System.nanoTime();
+                try {
+                    return invoke(target, method, args);
+                } finally {
+                    record(queryName, sql, System.nanoTime() - start);
+                }
+            });
+    }
+
+    private void record(String queryName, String sql, long nanos) {
+        MeterRegistry meterRegistry = registry();
+        if (meterRegistry != null) {
+            timers.computeIfAbsent(queryName, name -> Timer.builder(QUERY_TIMER)
+                    .description("JDBC statement executions, by the application method that issued them")
+                    .tag("query", name)
+                    .register(meterRegistry))
+                .record(nanos, TimeUnit.NANOSECONDS);
+        }
+        // Last, because the repeated-statement guard may throw from here
+        DbRequestStats stats = DbRequestStats.current();
+        if (stats != null) {
+            stats.recordStatement(sql, queryName, nanos);
+        }
+    }
+
+    private MeterRegistry registry() {
+        MeterRegistry current = registry;
+        if (current == null) {
+            current = registrySupplier.get();
+            registry = current;
+        }
+        return current;
+    }
+
+    // Innermost application frame outside this package, skipping Spring's generated proxy classes
+    static String resolveQueryName() {
+        return STACK_WALKER.walk(frames -> frames
+            .filter(frame -> {
+                String className = frame.getClassName();
+                return className.startsWith(APP_PACKAGE) && !className.startsWith(METRICS_PACKAGE)
+                    && !className.contains("$$") && !frame.getMethodName().startsWith("lambda$");
+            })
+            .findFirst()
+            .map(frame -> frame.getDeclaringClass().getSimpleName() + "." + frame.getMethodName())
+            .orElse(UNATTRIBUTED));
+    }
+
+    private static Object invoke(Object target, Method method, Object[] args) throws Throwable {
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException ex) {
+            throw ex.getTargetException();
+        }
+    }
+}
@@ -0,0 +1,49 @@
+package com.example.ClassRosterWebService.Metrics;
+
+import com.example.ClassRosterWebService.Cache.BoundedCache;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+
+import javax.sql.DataSource;
+import java.util.List;
+
+@Configuration
+public class MetricsConfig {
+
+    // Static so it is registered before the DataSource beans it wraps are created
+    @Bean
+    public static BeanPostProcessor instrumentedDataSourcePostProcessor(ObjectProvider<MeterRegistry> registry) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (bean instanceof DataSource dataSource && !(bean instanceof InstrumentedDataSource)) {
+                    return new InstrumentedDataSource(dataSource, registry::getIfAvailable);
+                }
+                return bean;
+            }
+        };
+    }
+
+    // Ahead of Spring Security so statements issued during authentication are counted too
+    @Bean
+    public FilterRegistrationBean<DbRequestMetricsFilter> dbRequestMetricsFilter(
+            MeterRegistry registry,
+            @Value("${roster.jdbc.repeated-statement.mode:warn}") String mode,
+            @Value("${roster.jdbc.repeated-statement.threshold:10}") int threshold) {
+        FilterRegistrationBean<DbRequestMetricsFilter> registration = new FilterRegistrationBean<>(
+            new DbRequestMetricsFilter(registry, RepeatedStatementGuard.of(mode, threshold)));
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE);
+        return registration;
+    }
+
+    @Bean
+    public CacheMetrics cacheMetrics(List<BoundedCache<?, ?>> caches) {
+        return new CacheMetrics(caches);
+    }
+}
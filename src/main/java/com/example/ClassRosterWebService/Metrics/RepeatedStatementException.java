@@ -0,0 +1,9 @@
+package com.example.ClassRosterWebService.Metrics;
+
+// Thrown in FAIL mode when one request runs the same SQL shape more than the allowed number of times
+public class RepeatedStatementException extends RuntimeException {
+    public RepeatedStatementException(String shape, String queryName, int threshold) {
+        super("Statement issued by " + queryName + " ran more than " + threshold
+            + " times in one request (likely N+1): " + shape);
+    }
+}
@@ -0,0 +1,49 @@
+package com.example.ClassRosterWebService.Metrics;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.Locale;
+
+/*
+N+1 detector: flags a request once the same SQL shape has run more than
+threshold times in it. WARN logs it (see DbRequestMetricsFilter), FAIL also
+throws RepeatedStatementException so tests catch the regression, OFF disables it.
+ */
+public class RepeatedStatementGuard {
+    public enum Mode { OFF, WARN, FAIL }
+
+    private static final Logger log = LoggerFactory.getLogger(RepeatedStatementGuard.class);
+
+    private final Mode mode;
+    private final int threshold;
+
+    public RepeatedStatementGuard(Mode mode, int threshold) {
+        this.mode = mode;
+        this.threshold = threshold;
+    }
+
+    public static RepeatedStatementGuard of(String mode, int threshold) {
+        return new RepeatedStatementGuard(Mode.valueOf(mode.trim().toUpperCase(Locale.ROOT)), threshold);
+    }
+
+    public Mode getMode() {
+        return mode;
+    }
+
+    public int getThreshold() {
+        return threshold;
+    }
+
+    // True exactly once per shape: on the first execution past the threshold
+    boolean isRepeated(int count) {
+        return mode != Mode.OFF && count == threshold + 1;
+    }
+
+    void onRepeated(String shape, String queryName, int count) {
+        if (mode == Mode.FAIL) {
+            throw new RepeatedStatementException(shape, queryName, threshold);
+        }
+        log.debug("repeated_statement query={} threshold={} shape=\"{}\"", queryName, threshold, shape);
+    }
+}
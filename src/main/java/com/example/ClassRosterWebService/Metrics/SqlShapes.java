@@ -0,0 +1,24 @@
+package com.example.ClassRosterWebService.Metrics;
+
+import java.util.regex.Pattern;
+
+/*
+Reduces SQL text to its shape, so statements that differ only in bound values,
+literals or IN-list length count as the same statement.
+ */
+final class SqlShapes {
+    private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+    private static final Pattern STRING_LITERAL = Pattern.compile("'(?:[^']|'')*'");
+    private static final Pattern NUMBER_LITERAL = Pattern.compile("\\b\\d+(?:\\.\\d+)?\\b");
+    private static final Pattern PLACEHOLDER_LIST = Pattern.compile("\\(\\s*\\?(?:\\s*,\\s*\\?)*\\s*\\)");
+
+    private SqlShapes() {
+    }
+
+    static String normalize(String sql) {
+        String shape = WHITESPACE.matcher(sql.trim()).replaceAll(" ");
+        shape = STRING_LITERAL.matcher(shape).replaceAll("?");
+        shape = NUMBER_LITERAL.matcher(shape).replaceAll("?");
+        return PLACEHOLDER_LIST.matcher(shape).replaceAll("(?...)");
+    }
+}
@@ -0,0 +1,115 @@
+package com.example.ClassRosterWebService.Security;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.security.authentication.AuthenticationServiceException;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.time.Duration;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/*
+Runs the (deliberately slow) hashing of another PasswordEncoder on a small fixed
+pool, so a burst of logins can only occupy that many cores and the remaining ones
+keep serving pages. The request thread waits for its result; when the queue is
+full or the wait exceeds the timeout the login fails with an
+AuthenticationServiceException ("try again") rather than piling up more work.
+
+Meters: roster.auth.hash.queued / roster.auth.hash.active (gauges),
+roster.auth.hash.rejected (counter), roster.auth.hash.wait (time spent queued).
+ */
+public class BoundedPasswordEncoder implements PasswordEncoder, DisposableBean {
+
+    private final PasswordEncoder delegate;
+    private final ThreadPoolExecutor executor;
+    private final Duration timeout;
+    private final Counter rejected;
+    private final Timer wait;
+
+    public BoundedPasswordEncoder(PasswordEncoder delegate, int threads, int queueCapacity, Duration timeout,
+                                  MeterRegistry registry) {
+        this.delegate = delegate;
+        this.timeout = timeout;
+        AtomicInteger threadNumber = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(threads, threads, 0, TimeUnit.MILLISECONDS,
+            new ArrayBlockingQueue<>(queueCapacity),
+            task -> {
+                Thread thread = new Thread(task, "roster-password-hash-" + threadNumber.incrementAndGet());
+                thread.setDaemon(true);
+                return thread;
+            });
+
+        Gauge.builder("roster.auth.hash.queued", executor, e -> e.getQueue().size())
+            .description("Password hash checks waiting for a thread").register(registry);
+        Gauge.builder("roster.auth.hash.active", executor, ThreadPoolExecutor::getActiveCount)
+            .description("Password hash checks running").register(registry);
+        this.rejected = Counter.builder("roster.auth.hash.rejected")
+            .description("Logins refused because the hash queue was full or the wait timed out").register(registry);
+        this.wait = Timer.builder("roster.auth.hash.wait")
+            .description("Time a password hash check spent queued").register(registry);
+    }
+
+    @Override
+    public boolean matches(CharSequence rawPassword, String encodedPassword) {
+        return run(() -> delegate.matches(rawPassword, encodedPassword));
+    }
+
+    // Called when creating a password and when re-hashing one to a higher cost after login
+    @Override
+    public String encode(CharSequence rawPassword) {
+        return run(() -> delegate.encode(rawPassword));
+    }
+
+    // Only parses the hash, no need to queue it
+    @Override
+    public boolean upgradeEncoding(String encodedPassword) {
+        return delegate.upgradeEncoding(encodedPassword);
+    }
+
+    private <T> T run(Callable<T> hashing) {
+        long queuedAt = System.nanoTime();
+        Future<T> result;
+        try {
+            result = executor.submit(() -> {
+                wait.record(System.nanoTime() - queuedAt, TimeUnit.NANOSECONDS);
+                return hashing.call();
+            });
+        } catch (RejectedExecutionException ex) {
+            rejected.increment();
+            throw new AuthenticationServiceException("Too many logins in progress, please try again", ex);
+        }
+
+        try {
+            return result.get(timeout.toMillis(), TimeUnit.MILLISECONDS);
+        } catch (TimeoutException ex) {
+            result.cancel(true);
+            rejected.increment();
+            throw new AuthenticationServiceException("Login timed out, please try again", ex);
+        } catch (InterruptedException ex) {
+            result.cancel(true);
+            Thread.currentThread().interrupt();
+            throw new AuthenticationServiceException("Login interrupted", ex);
+        } catch (ExecutionException ex) {
+            if (ex.getCause() instanceof RuntimeException runtime) {
+                throw runtime;
+            }
+            throw new IllegalStateException(ex.getCause());
+        }
+    }
+
+    @Override
+    public void destroy() {
+        executor.shutdownNow();
+    }
+}
@@ -0,0 +1,53 @@
+package com.example.ClassRosterWebService.Security;
+
+import com.example.ClassRosterWebService.DAO.UserDao;
+import com.example.ClassRosterWebService.Entity.Role;
+import com.example.ClassRosterWebService.Entity.User;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.annotation.RequestScope;
+
+/*
+The logged-in user for the current request, resolved at most once per request.
+
+Normally built from the RosterUserDetails principal that was loaded at login,
+so it costs no queries. Authentications that don't carry that principal (e.g.
+test users) fall back to the cached UserDao lookup.
+ */
+@Component
+@RequestScope
+public class CurrentUser {
+
+    @Autowired
+    private UserDao userDao;
+
+    private boolean resolved;
+    private User user;
+
+    public User get() {
+        if (!resolved) {
+            user = resolve(SecurityContextHolder.getContext().getAuthentication());
+            resolved = true;
+        }
+        return user;
+    }
+
+    private User resolve(Authentication authentication) {
+        if (authentication == null) {
+            return null;
+        }
+        if (authentication.getPrincipal() instanceof RosterUserDetails details) {
+            User principalUser = new User(details.getUserId(), details.getUsername(), null, details.isEnabled());
+            principalUser.setStudentId(details.getStudentId());
+            for (GrantedAuthority authority : details.getAuthorities()) {
+                String roleName = authority.getAuthority().replaceFirst("^ROLE_", "");
+                principalUser.getRoles().add(new Role(0, roleName));
+            }
+            return principalUser;
+        }
+        return userDao.getUserByUsername(authentication.getName());
+    }
+}
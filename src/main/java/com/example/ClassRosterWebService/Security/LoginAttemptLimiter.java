@@ -0,0 +1,144 @@
+package com.example.ClassRosterWebService.Security;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.LongSupplier;
+
+/*
+In-memory sliding-window attempt counter per key (e.g. a username or a client
+IP). Each key keeps the counts of the current and the previous fixed window;
+the previous one is weighted by how much of it still overlaps the sliding
+window, which approximates a true sliding log in two ints per key.
+
+Keys are spread over lock stripes, so attempts for different keys rarely
+contend. Each stripe holds at most maxKeys / stripes keys and evicts the least
+recently used one beyond that, bounding memory however many keys are seen.
+ */
+public class LoginAttemptLimiter {
+
+    private final Stripe[] stripes;
+    private final long windowNanos;
+    private final LongSupplier clock;
+
+    public LoginAttemptLimiter(Duration window, int maxKeys, int stripeCount) {
+        this(window, maxKeys, stripeCount, System::nanoTime);
+    }
+
+    // clock returns nanoseconds, like System.nanoTime()
+    public LoginAttemptLimiter(Duration window, int maxKeys, int stripeCount, LongSupplier clock) {
+        this.windowNanos = window.toNanos();
+        this.clock = clock;
+        // Power of two so the stripe index is a mask of the key's hash
+        int count = Integer.highestOneBit(Math.max(1, stripeCount - 1)) << 1;
+        int keysPerStripe = Math.max(1, maxKeys / count);
+        this.stripes = new Stripe[count];
+        for (int i = 0; i < count; i++) {
+            stripes[i] = new Stripe(keysPerStripe);
+        }
+    }
+
+    // Counts an attempt for the key unless it already reached limit within the window
+    public boolean tryAcquire(String key, int limit) {
+        long now = clock.getAsLong();
+        Stripe stripe = stripeFor(key);
+        stripe.lock.lock();
+        try {
+            Window window = stripe.windows.get(key);
+            if (window == null) {
+                window = new Window();
+                stripe.windows.put(key, window);
+            }
+            window.advance(now / windowNanos);
+            double previousWeight = 1.0 - (double) (now % windowNanos) / windowNanos;
+            if (window.previous * previousWeight + window.current >= limit) {
+                return false;
+            }
+            window.current++;
+            return true;
+        } finally {
+            stripe.lock.unlock();
+        }
+    }
+
+    // Takes back one attempt counted by tryAcquire, e.g. once it turned out to be legitimate
+    public void release(String key) {
+        long now = clock.getAsLong();
+        Stripe stripe = stripeFor(key);
+        stripe.lock.lock();
+        try {
+            Window window = stripe.windows.get(key);
+            if (window == null) {
+                return;
+            }
+            window.advance(now / windowNanos);
+            // The attempt may have been counted in the window that has just ended
+            if (window.current > 0) {
+                window.current--;
+            } else if (window.previous > 0) {
+                window.previous--;
+            }
+        } finally {
+            stripe.lock.unlock();
+        }
+    }
+
+    public void reset(String key) {
+        Stripe stripe = stripeFor(key);
+        stripe.lock.lock();
+        try {
+            stripe.windows.remove(key);
+        } finally {
+            stripe.lock.unlock();
+        }
+    }
+
+    public int size() {
+        int size = 0;
+        for (Stripe stripe : stripes) {
+            stripe.lock.lock();
+            try {
+                size += stripe.windows.size();
+            } finally {
+                stripe.lock.unlock();
+            }
+        }
+        return size;
+    }
+
+    private Stripe stripeFor(String key) {
+        int hash = key.hashCode();
+        return stripes[(hash ^ (hash >>> 16)) & (stripes.length - 1)];
+    }
+
+    private static final class Stripe {
+        private final ReentrantLock lock = new ReentrantLock();
+        private final Map<String, Window> windows;
+
+        private Stripe(int maxKeys) {
+            // Access order, so the eldest entry is the least recently used key
+            this.windows = new LinkedHashMap<>(16, 0.75f, true) {
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<String, Window> eldest) {
+                    return size() > maxKeys;
+                }
+            };
+        }
+    }
+
+    private static final class Window {
+        private long slot = Long.MIN_VALUE;
+        private int previous;
+        private int current;
+
+        private void advance(long nowSlot) {
+            if (nowSlot == slot) {
+                return;
+            }
+            previous = nowSlot == slot + 1 ? current : 0;
+            current = 0;
+            slot = nowSlot;
+        }
+    }
+}
@@ -0,0 +1,90 @@
+package com.example.ClassRosterWebService.Security;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.security.authentication.AccountStatusException;
+import org.springframework.security.authentication.AuthenticationProvider;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.AuthenticationException;
+import org.springframework.security.web.authentication.WebAuthenticationDetails;
+
+import java.util.Locale;
+
+/*
+Checks a login against the attempt limits before handing it to the wrapped
+provider, so throttled attempts cost neither a user lookup nor a password hash.
+Attempts are counted per client IP and per username. A successful login clears
+the username's count, so earlier typos don't lock its owner out, and takes its
+own attempt back from the IP's count, so only failures add up there: many
+users behind one NAT or proxy address can all log in at once.
+
+The IP is the request's remote address. Behind a reverse proxy that is the
+proxy's address unless server.forward-headers-strategy is set (see
+application.properties).
+ */
+public class RateLimitedAuthenticationProvider implements AuthenticationProvider {
+
+    private final AuthenticationProvider delegate;
+    private final LoginAttemptLimiter limiter;
+    private final int perUsername;
+    private final int perIp;
+    private final Counter throttled;
+
+    public RateLimitedAuthenticationProvider(AuthenticationProvider delegate, LoginAttemptLimiter limiter,
+                                             int perUsername, int perIp, MeterRegistry registry) {
+        this.delegate = delegate;
+        this.limiter = limiter;
+        this.perUsername = perUsername;
+        this.perIp = perIp;
+        this.throttled = Counter.builder("roster.auth.login.throttled")
+            .description("Login attempts refused by the attempt limiter").register(registry);
+    }
+
+    @Override
+    public Authentication authenticate(Authentication authentication) throws AuthenticationException {
+        String ip = clientIp(authentication);
+        String ipKey = ip != null ? "ip:" + ip : null;
+        if (ipKey != null && !limiter.tryAcquire(ipKey, perIp)) {
+            throttled.increment();
+            throw new LoginThrottledException("Too many login attempts from this address, please wait and try again");
+        }
+        String usernameKey = "user:" + authentication.getName().toLowerCase(Locale.ROOT);
+        if (!limiter.tryAcquire(usernameKey, perUsername)) {
+            throttled.increment();
+            throw new LoginThrottledException("Too many login attempts for this user, please wait and try again");
+        }
+
+        Authentication result = delegate.authenticate(authentication);
+        if (result != null && result.isAuthenticated()) {
+            limiter.reset(usernameKey);
+            if (ipKey != null) {
+                limiter.release(ipKey);
+            }
+        }
+        return result;
+    }
+
+    @Override
+    public boolean supports(Class<?> authentication) {
+        return delegate.supports(authentication);
+    }
+
+    private static String clientIp(Authentication authentication) {
+        return authentication.getDetails() instanceof WebAuthenticationDetails details
+            ? details.getRemoteAddress()
+            : null;
+    }
+
+    /*
+    An AccountStatusException, because ProviderManager stops at those instead of
+    retrying the login on its parent manager (which would count it again).
+     */
+    public static class LoginThrottledException extends AccountStatusException {
+
+        private static final long serialVersionUID = 1L;
+
+        public LoginThrottledException(String message) {
+            super(message);
+        }
+    }
+}
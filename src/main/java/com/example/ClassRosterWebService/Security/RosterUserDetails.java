@@ -0,0 +1,33 @@
+package com.example.ClassRosterWebService.Security;
+
+import org.springframework.security.core.GrantedAuthority;
+
+import java.util.Collection;
+
+/*
+Principal stored in the session's security context after login. Carries the
+user id and linked student id alongside the roles, so request handlers don't
+have to look the user up again.
+ */
+public class RosterUserDetails extends org.springframework.security.core.userdetails.User {
+
+    private static final long serialVersionUID = 1L;
+
+    private final int userId;
+    private final Integer studentId;
+
+    public RosterUserDetails(int userId, String username, String password, Integer studentId,
+                             Collection<? extends GrantedAuthority> authorities) {
+        super(username, password, authorities);
+        this.userId = userId;
+        this.studentId = studentId;
+    }
+
+    public int getUserId() {
+        return userId;
+    }
+
+    public Integer getStudentId() {
+        return studentId;
+    }
+}
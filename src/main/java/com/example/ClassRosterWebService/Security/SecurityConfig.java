@@ -1,18 +1,25 @@
 package com.example.ClassRosterWebService.Security;
 
 import com.example.ClassRosterWebService.DAO.UserDao;
+import io.micrometer.core.instrument.MeterRegistry;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.security.authentication.AuthenticationProvider;
 import org.springframework.security.authentication.dao.DaoAuthenticationProvider;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.annotation.web.configuration.EnableWebSecurity;
 import org.springframework.security.config.annotation.web.configuration.WebSecurityCustomizer;
-import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.DelegatingPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.security.web.SecurityFilterChain;
 import org.springframework.security.web.util.matcher.AntPathRequestMatcher;
 
+import java.time.Duration;
+import java.util.Map;
+
 @Configuration
 @EnableWebSecurity
 public class SecurityConfig {
@@ -21,21 +28,53 @@ public class SecurityConfig {
     private UserDao userDao;
     
     @Bean
-    public UserDetailsService userDetailsService() {
+    public UserDetailsServiceImpl userDetailsService() {
         return new UserDetailsServiceImpl();
     }
     
+    /*
+    New hashes are "{bcrypt}" prefixed at roster.security.bcrypt-cost. Hashes stored
+    before the prefix existed are plain BCrypt and still verify; after a successful
+    login DaoAuthenticationProvider re-hashes any password that is unprefixed or has
+    a lower cost than configured (see UserDetailsServiceImpl.updatePassword), so
+    raising the cost takes effect as users log in.
+     */
     @Bean
-    public BCryptPasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder();
+    public PasswordEncoder passwordEncoder(
+            @Value("${roster.security.bcrypt-cost:10}") int bcryptCost,
+            @Value("${roster.security.hash.threads:0}") int threads,
+            @Value("${roster.security.hash.queue-capacity:200}") int queueCapacity,
+            @Value("${roster.security.hash.timeout:5s}") Duration timeout,
+            MeterRegistry registry) {
+        DelegatingPasswordEncoder encoder = new DelegatingPasswordEncoder("bcrypt",
+            Map.of("bcrypt", new BCryptPasswordEncoder(bcryptCost)));
+        encoder.setDefaultPasswordEncoderForMatches(new BCryptPasswordEncoder());
+        
+        // 0 means half the cores, leaving the rest for everything else during a login storm
+        int hashThreads = threads > 0 ? threads : Math.max(1, Runtime.getRuntime().availableProcessors() / 2);
+        return new BoundedPasswordEncoder(encoder, hashThreads, queueCapacity, timeout, registry);
     }
     
     @Bean
-    public DaoAuthenticationProvider authenticationProvider() {
+    public LoginAttemptLimiter loginAttemptLimiter(
+            @Value("${roster.security.login-limit.window:5m}") Duration window,
+            @Value("${roster.security.login-limit.max-keys:100000}") int maxKeys,
+            @Value("${roster.security.login-limit.stripes:64}") int stripes) {
+        return new LoginAttemptLimiter(window, maxKeys, stripes);
+    }
+    
+    // Attempts over the limits are refused before the user lookup and password hash
+    @Bean
+    public AuthenticationProvider authenticationProvider(PasswordEncoder passwordEncoder,
+            LoginAttemptLimiter loginAttemptLimiter,
+            @Value("${roster.security.login-limit.per-username:10}") int perUsername,
+            @Value("${roster.security.login-limit.per-ip:100}") int perIp,
+            MeterRegistry registry) {
         DaoAuthenticationProvider authProvider = new DaoAuthenticationProvider();
         authProvider.setUserDetailsService(userDetailsService());
-        authProvider.setPasswordEncoder(passwordEncoder());
-        return authProvider;
+        authProvider.setUserDetailsPasswordService(userDetailsService());
+        authProvider.setPasswordEncoder(passwordEncoder);
+        return new RateLimitedAuthenticationProvider(authProvider, loginAttemptLimiter, perUsername, perIp, registry);
     }
     
     @Bean
@@ -46,6 +85,10 @@ public class SecurityConfig {
                 // Public access
                 .requestMatchers("/", "/login", "/register", "/css/**", "/js/**", "/images/**", "/testHash", "/debugUser").permitAll()
                 
+                // Health checks and Prometheus scraping; other actuator endpoints are admin-only
+                .requestMatchers("/actuator/health", "/actuator/prometheus").permitAll()
+                .requestMatchers("/actuator/**").hasRole("ADMIN")
+                
                 // Role-based access with specific URL patterns
                 .requestMatchers("/admin/**").hasRole("ADMIN")
                 
@@ -61,9 +104,11 @@ public class SecurityConfig {
                 .requestMatchers("/editStudent").hasAnyRole("ADMIN", "TEACHER", "STUDENT")
                 .requestMatchers("/updateStudent").hasAnyRole("ADMIN", "TEACHER", "STUDENT")
                 .requestMatchers("/addStudent").hasAnyRole("ADMIN", "TEACHER")  // Students cannot add other students
+                .requestMatchers("/importStudents").hasAnyRole("ADMIN", "TEACHER")  // Bulk CSV import
                 .requestMatchers("/deleteStudent").hasAnyRole("ADMIN", "TEACHER")  // Students cannot delete
                 .requestMatchers("/enrollStudent").hasAnyRole("ADMIN", "TEACHER")  // Only admin/teacher can enroll
                 .requestMatchers("/unenrollStudent").hasAnyRole("ADMIN", "TEACHER")  // Only admin/teacher can unenroll
+                .requestMatchers("/bulkEnroll", "/bulkUnenroll").hasAnyRole("ADMIN", "TEACHER")
                 
                 // Courses - only ADMIN and TEACHER can access
                 .requestMatchers("/courses/**").hasAnyRole("ADMIN", "TEACHER")
@@ -72,6 +117,9 @@ public class SecurityConfig {
                 .requestMatchers("/editCourse").hasAnyRole("ADMIN", "TEACHER")
                 .requestMatchers("/deleteCourse").hasRole("ADMIN")  // Only admin can delete courses
                 
+                // Bulk exports - only ADMIN and TEACHER
+                .requestMatchers("/export/**").hasAnyRole("ADMIN", "TEACHER")
+                
                 // All other requests require authentication
                 .anyRequest().authenticated()
             )
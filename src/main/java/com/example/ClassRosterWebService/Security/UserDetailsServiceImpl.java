@@ -1,6 +1,9 @@
 package com.example.ClassRosterWebService.Security;
 
+import com.example.ClassRosterWebService.Config.Workload;
+import com.example.ClassRosterWebService.Config.WorkloadContext;
 import com.example.ClassRosterWebService.DAO.UserDao;
+import com.example.ClassRosterWebService.Entity.Role;
 import com.example.ClassRosterWebService.Entity.User;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -8,6 +11,7 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.security.core.GrantedAuthority;
 import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UserDetailsPasswordService;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.stereotype.Service;
@@ -17,7 +21,7 @@ import java.util.List;
 import java.util.stream.Collectors;
 
 @Service
-public class UserDetailsServiceImpl implements UserDetailsService {
+public class UserDetailsServiceImpl implements UserDetailsService, UserDetailsPasswordService {
     
     private static final Logger logger = LoggerFactory.getLogger(UserDetailsServiceImpl.class);
     
@@ -32,7 +36,8 @@ public class UserDetailsServiceImpl implements UserDetailsService {
     public UserDetails loadUserByUsername(String username) throws UsernameNotFoundException {
         logger.info("Attempting to load user: {}", username);
         
-        User user = userDao.getUserByUsername(username);
+        // Served from the AUTH pool so logins don't queue behind roster reads
+        User user = WorkloadContext.call(Workload.AUTH, () -> userDao.getUserByUsername(username));
         
         if (user == null) {
             logger.error("User not found in database: {}", username);
@@ -47,16 +52,37 @@ public class UserDetailsServiceImpl implements UserDetailsService {
             throw new UsernameNotFoundException("User account is disabled: " + username);
         }
         
-        List<String> roles = userDao.getRolesForUser(username);
+        // Roles were loaded with the user; no second query needed
+        List<String> roles = user.getRoles().stream()
+            .map(Role::getName)
+            .collect(Collectors.toList());
         logger.info("User roles: {}", roles);
         
-        return new org.springframework.security.core.userdetails.User(
+        // The principal keeps the user id and linked student id for the whole session
+        return new RosterUserDetails(
+            user.getId(),
             user.getUsername(),
             user.getPassword(),
+            user.getStudentId(),
             getAuthorities(roles)
         );
     }
     
+    // Called after a successful login whose stored hash is outdated (see SecurityConfig.passwordEncoder)
+    @Override
+    public UserDetails updatePassword(UserDetails user, String newPassword) {
+        RosterUserDetails details = (RosterUserDetails) user;
+        userDao.updatePassword(details.getUserId(), newPassword);
+        logger.info("Re-hashed password for user: {}", details.getUsername());
+        return new RosterUserDetails(
+            details.getUserId(),
+            details.getUsername(),
+            newPassword,
+            details.getStudentId(),
+            details.getAuthorities()
+        );
+    }
+    
     private Collection<? extends GrantedAuthority> getAuthorities(List<String> roles) {
         return roles.stream()
             .map(roleName -> "ROLE_" + roleName)
@@ -0,0 +1,59 @@
+-- Class roster schema as deployed before versioned migrations. Existing databases are
+-- baselined at this version (spring.flyway.baseline-on-migrate) and skip this script.
+-- Written to run on MySQL 8 and on H2 in MySQL mode (used by the tests).
+
+CREATE TABLE teacher (
+  id INT NOT NULL AUTO_INCREMENT,
+  firstName VARCHAR(30) NOT NULL,
+  lastName VARCHAR(50) NOT NULL,
+  specialty VARCHAR(50) DEFAULT NULL,
+  PRIMARY KEY (id)
+);
+
+CREATE TABLE course (
+  id INT NOT NULL AUTO_INCREMENT,
+  name VARCHAR(50) NOT NULL,
+  description VARCHAR(255) DEFAULT NULL,
+  teacherId INT DEFAULT NULL,
+  PRIMARY KEY (id),
+  CONSTRAINT course_ibfk_1 FOREIGN KEY (teacherId) REFERENCES teacher (id)
+);
+
+CREATE TABLE student (
+  id INT NOT NULL AUTO_INCREMENT,
+  studentId VARCHAR(20) NOT NULL,
+  firstName VARCHAR(50) NOT NULL,
+  lastName VARCHAR(50) NOT NULL,
+  PRIMARY KEY (id)
+);
+
+CREATE TABLE course_student (
+  courseId INT NOT NULL,
+  studentId INT NOT NULL,
+  PRIMARY KEY (courseId, studentId),
+  CONSTRAINT course_student_ibfk_1 FOREIGN KEY (courseId) REFERENCES course (id),
+  CONSTRAINT course_student_ibfk_2 FOREIGN KEY (studentId) REFERENCES student (id)
+);
+
+CREATE TABLE `user` (
+  id INT NOT NULL AUTO_INCREMENT,
+  username VARCHAR(50) NOT NULL,
+  password VARCHAR(255) NOT NULL,
+  enabled BOOLEAN NOT NULL DEFAULT TRUE,
+  student_id INT DEFAULT NULL,
+  PRIMARY KEY (id)
+);
+
+CREATE TABLE `role` (
+  id INT NOT NULL AUTO_INCREMENT,
+  name VARCHAR(50) NOT NULL,
+  PRIMARY KEY (id)
+);
+
+CREATE TABLE user_role (
+  user_id INT NOT NULL,
+  role_id INT NOT NULL,
+  PRIMARY KEY (user_id, role_id),
+  CONSTRAINT user_role_ibfk_1 FOREIGN KEY (user_id) REFERENCES `user` (id),
+  CONSTRAINT user_role_ibfk_2 FOREIGN KEY (role_id) REFERENCES `role` (id)
+);
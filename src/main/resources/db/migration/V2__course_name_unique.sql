@@ -0,0 +1,5 @@
+-- Unique index on course.name, used by CourseDao.getCourseByName. Fails if two courses
+-- already share a name, in which case rename or merge them first:
+--   SELECT name, COUNT(*) FROM course GROUP BY name HAVING COUNT(*) > 1;
+
+ALTER TABLE course ADD CONSTRAINT uk_course_name UNIQUE (name);
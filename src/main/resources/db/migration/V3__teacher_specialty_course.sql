@@ -0,0 +1,17 @@
+-- Links each teacher's specialty to the course it names through an indexed foreign key,
+-- replacing the join on teacher.specialty = course.name.
+--
+-- teacher.specialty stays as free text for specialties that are not a course (and for
+-- 'Unassigned'); when specialty_course_id is set the course name takes precedence, so
+-- renaming a course no longer rewrites any teacher rows.
+
+ALTER TABLE teacher ADD COLUMN specialty_course_id INT DEFAULT NULL;
+CREATE INDEX idx_teacher_specialty_course ON teacher (specialty_course_id);
+ALTER TABLE teacher ADD CONSTRAINT teacher_specialty_course_fk
+  FOREIGN KEY (specialty_course_id) REFERENCES course (id);
+
+-- Backfill from the text column; course.name is unique and both sides use the
+-- table's case-insensitive collation, so each teacher matches at most one course
+UPDATE teacher t
+SET specialty_course_id = (SELECT c.id FROM course c WHERE c.name = t.specialty)
+WHERE t.specialty IS NOT NULL;
@@ -0,0 +1,22 @@
+-- Indexes and unique constraints for the columns the DAOs look rows up by. The unique
+-- ones fail on existing duplicates; find them first with e.g.
+--   SELECT studentId, COUNT(*) FROM student GROUP BY studentId HAVING COUNT(*) > 1;
+
+-- getStudentByStudentId, findExistingStudentIds; addStudent/updateStudent rely on it
+-- to reject a taken student ID
+ALTER TABLE student ADD CONSTRAINT uk_student_student_id UNIQUE (studentId);
+
+-- Keyset paging of the student list (getStudentsPage)
+CREATE INDEX idx_student_name ON student (lastName, firstName, id);
+
+-- Login lookups (getUserByUsername, userExists) and getUserByStudentId
+ALTER TABLE `user` ADD CONSTRAINT uk_user_username UNIQUE (username);
+CREATE INDEX idx_user_student_id ON `user` (student_id);
+
+-- Enrollments by student (getCoursesForStudent, student list course columns). Lookups
+-- by course, and the duplicate check in enrollStudentInCourse, use the primary key
+-- (courseId, studentId).
+CREATE INDEX idx_course_student_student ON course_student (studentId, courseId);
+
+-- Linking teachers to a new course by their free-text specialty (CourseDaoDB.addCourse)
+CREATE INDEX idx_teacher_specialty ON teacher (specialty);
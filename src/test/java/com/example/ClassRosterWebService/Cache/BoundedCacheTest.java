@@ -0,0 +1,74 @@
+package com.example.ClassRosterWebService.Cache;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class BoundedCacheTest {
+
+    @Test
+    void get_loadsOnceThenServesFromMemory() {
+        BoundedCache<String, String> cache = new BoundedCache<>("test", 10);
+        AtomicInteger loads = new AtomicInteger();
+
+        cache.get("a", () -> "value" + loads.incrementAndGet());
+        String second = cache.get("a", () -> "value" + loads.incrementAndGet());
+
+        assertThat(second).isEqualTo("value1");
+        assertThat(loads.get()).isEqualTo(1);
+        assertThat(cache.getHitCount()).isEqualTo(1);
+        assertThat(cache.getMissCount()).isEqualTo(1);
+    }
+
+    @Test
+    void get_evictsLeastRecentlyUsedEntryWhenFull() {
+        BoundedCache<String, String> cache = new BoundedCache<>("test", 2);
+        cache.get("a", () -> "A");
+        cache.get("b", () -> "B");
+        cache.get("a", () -> "A");
+        cache.get("c", () -> "C");
+
+        assertThat(cache.size()).isEqualTo(2);
+        assertThat(cache.getEvictionCount()).isEqualTo(1);
+        assertThat(cache.get("b", () -> "reloaded")).isEqualTo("reloaded");
+    }
+
+    @Test
+    void invalidateAll_dropsEntriesAndIgnoresLoadsThatStartedBefore() {
+        BoundedCache<String, String> cache = new BoundedCache<>("test", 10);
+
+        String loaded = cache.get("a", () -> {
+            cache.invalidateAll();
+            return "stale";
+        });
+
+        assertThat(loaded).isEqualTo("stale");
+        assertThat(cache.size()).isZero();
+        assertThat(cache.get("a", () -> "fresh")).isEqualTo("fresh");
+    }
+
+    @Test
+    void get_reloadsEntriesOlderThanTtl() {
+        AtomicLong now = new AtomicLong();
+        BoundedCache<String, String> cache = new BoundedCache<>("test", 10, Duration.ofSeconds(30), now::get);
+        cache.get("a", () -> "first");
+
+        now.addAndGet(Duration.ofSeconds(29).toNanos());
+        assertThat(cache.get("a", () -> "second")).isEqualTo("first");
+
+        now.addAndGet(Duration.ofSeconds(2).toNanos());
+        assertThat(cache.get("a", () -> "second")).isEqualTo("second");
+    }
+
+    @Test
+    void get_doesNotCacheNull() {
+        BoundedCache<String, String> cache = new BoundedCache<>("test", 10);
+        cache.get("missing", () -> null);
+
+        assertThat(cache.size()).isZero();
+    }
+}
@@ -0,0 +1,160 @@
+package com.example.ClassRosterWebService.Config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.mock.web.MockHttpSession;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ReplicaRoutingDataSourceTest {
+
+    private final List<HikariDataSource> pools = new ArrayList<>();
+
+    @AfterEach
+    void closePools() {
+        pools.forEach(HikariDataSource::close);
+        ReadYourWrites.clear();
+    }
+
+    @Test
+    void roundRobinTakesReplicasInTurn() {
+        HikariDataSource first = pool("r1");
+        HikariDataSource second = pool("r2");
+        ReplicaRoutingDataSource replicas = new ReplicaRoutingDataSource(
+            List.of(first, second), ReplicaRoutingDataSource.Selection.ROUND_ROBIN);
+
+        assertThat(List.of(replicas.select(), replicas.select(), replicas.select()))
+            .containsExactly(first, second, first);
+    }
+
+    @Test
+    void leastLoadedAvoidsTheBusyReplica() throws Exception {
+        HikariDataSource busy = pool("busy");
+        HikariDataSource idle = pool("idle");
+        ReplicaRoutingDataSource replicas = new ReplicaRoutingDataSource(
+            List.of(busy, idle), ReplicaRoutingDataSource.Selection.of("least-loaded"));
+
+        try (Connection held = busy.getConnection()) {
+            idle.getConnection().close();
+            for (int i = 0; i < 4; i++) {
+                assertThat(replicas.select()).isSameAs(idle);
+            }
+        }
+    }
+
+    @Test
+    void readsGoToReplicasUntilTheRequestWrites() {
+        DataSource dataSource = routing(pool("primary"), pool("replica-a"), pool("replica-b"));
+        JdbcTemplate jdbc = new JdbcTemplate(dataSource);
+        TransactionTemplate readWrite = new TransactionTemplate(new DataSourceTransactionManager(dataSource));
+        TransactionTemplate readOnly = new TransactionTemplate(new DataSourceTransactionManager(dataSource));
+        readOnly.setReadOnly(true);
+
+        List<String> reads = new ArrayList<>();
+        for (int i = 0; i < 4; i++) {
+            reads.add(readOnly.<String>execute(status -> marker(jdbc)));
+        }
+        assertThat(reads).containsExactly("replica-a", "replica-b", "replica-a", "replica-b");
+        // Statements outside a transaction are not known to be reads
+        assertThat(marker(jdbc)).isEqualTo("primary");
+        assertThat(ReadYourWrites.isPinned()).isFalse();
+
+        assertThat(readWrite.<String>execute(status -> marker(jdbc))).isEqualTo("primary");
+        assertThat(ReadYourWrites.hasWritten()).isTrue();
+        assertThat(readOnly.<String>execute(status -> marker(jdbc))).isEqualTo("primary");
+    }
+
+    @Test
+    void writeKeepsTheSessionOnThePrimaryForTheWindow() throws Exception {
+        ReadYourWritesFilter filter = new ReadYourWritesFilter(Duration.ofMinutes(1));
+        MockHttpSession session = new MockHttpSession();
+
+        AtomicReference<Boolean> pinnedDuringRequest = new AtomicReference<>();
+        filter.doFilter(request(session), new MockHttpServletResponse(), new MockFilterChain() {
+            @Override
+            public void doFilter(jakarta.servlet.ServletRequest request, jakarta.servlet.ServletResponse response) {
+                pinnedDuringRequest.set(ReadYourWrites.isPinned());
+            }
+        });
+        assertThat(pinnedDuringRequest.get()).isFalse();
+        assertThat(session.getAttribute(ReadYourWritesFilter.PINNED_UNTIL_ATTRIBUTE)).isNull();
+
+        filter.doFilter(request(session), new MockHttpServletResponse(), new MockFilterChain() {
+            @Override
+            public void doFilter(jakarta.servlet.ServletRequest request, jakarta.servlet.ServletResponse response) {
+                ReadYourWrites.markWrite();
+            }
+        });
+        assertThat(ReadYourWrites.isPinned()).isFalse();
+        long pinnedUntil = (Long) session.getAttribute(ReadYourWritesFilter.PINNED_UNTIL_ATTRIBUTE);
+
+        filter.doFilter(request(session), new MockHttpServletResponse(), new MockFilterChain() {
+            @Override
+            public void doFilter(jakarta.servlet.ServletRequest request, jakarta.servlet.ServletResponse response) {
+                pinnedDuringRequest.set(ReadYourWrites.isPinned());
+            }
+        });
+        assertThat(pinnedDuringRequest.get()).isTrue();
+        // A read-only request does not extend the window
+        assertThat(session.getAttribute(ReadYourWritesFilter.PINNED_UNTIL_ATTRIBUTE)).isEqualTo(pinnedUntil);
+
+        session.setAttribute(ReadYourWritesFilter.PINNED_UNTIL_ATTRIBUTE, System.currentTimeMillis() - 1);
+        filter.doFilter(request(session), new MockHttpServletResponse(), new MockFilterChain() {
+            @Override
+            public void doFilter(jakarta.servlet.ServletRequest request, jakarta.servlet.ServletResponse response) {
+                pinnedDuringRequest.set(ReadYourWrites.isPinned());
+            }
+        });
+        assertThat(pinnedDuringRequest.get()).isFalse();
+    }
+
+    private static MockHttpServletRequest request(MockHttpSession session) {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/students");
+        request.setSession(session);
+        return request;
+    }
+
+    private DataSource routing(DataSource primary, HikariDataSource... replicas) {
+        Map<Workload, DataSource> targets = new EnumMap<>(Workload.class);
+        targets.put(Workload.AUTH, primary);
+        targets.put(Workload.WRITE, primary);
+        targets.put(Workload.READ,
+            new ReplicaRoutingDataSource(List.of(replicas), ReplicaRoutingDataSource.Selection.ROUND_ROBIN));
+        return new LazyConnectionDataSourceProxy(new WorkloadRoutingDataSource(targets));
+    }
+
+    private HikariDataSource pool(String name) {
+        HikariDataSource pool = new HikariDataSource();
+        pool.setJdbcUrl("jdbc:h2:mem:" + name + "-" + UUID.randomUUID() + ";DB_CLOSE_DELAY=-1");
+        pool.setUsername("sa");
+        pool.setPoolName(name);
+        pool.setMaximumPoolSize(2);
+        pools.add(pool);
+        JdbcTemplate setup = new JdbcTemplate(pool);
+        setup.execute("CREATE TABLE marker (name VARCHAR(20))");
+        setup.update("INSERT INTO marker VALUES (?)", name);
+        return pool;
+    }
+
+    private static String marker(JdbcTemplate jdbc) {
+        return jdbc.queryForObject("SELECT name FROM marker", String.class);
+    }
+}
@@ -0,0 +1,80 @@
+package com.example.ClassRosterWebService.Config;
+
+import com.example.ClassRosterWebService.DAO.RosterTestDatabase;
+import com.example.ClassRosterWebService.DAO.StudentDaoDB;
+import com.example.ClassRosterWebService.Metrics.InstrumentedDataSource;
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordedFrame;
+import jdk.jfr.consumer.RecordingStream;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Future;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/*
+Runs the DAO read path on virtual threads with more tasks than pooled
+connections, so threads park waiting on Hikari, and fails if JFR reports a
+virtual thread pinned while parked in our code or the pool.
+ */
+class VirtualThreadPinningTest {
+
+    @Test
+    void daoReadsOnVirtualThreadsDoNotPinCarriers() throws Exception {
+        List<String> pinnedStacks = new CopyOnWriteArrayList<>();
+        try (RecordingStream recording = new RecordingStream();
+             HikariDataSource pool = new HikariDataSource()) {
+            recording.enable("jdk.VirtualThreadPinned").withThreshold(Duration.ZERO).withStackTrace();
+            recording.onEvent("jdk.VirtualThreadPinned", event -> {
+                if (inApplicationOrPool(event)) {
+                    pinnedStacks.add(stack(event));
+                }
+            });
+            recording.startAsync();
+
+            RosterTestDatabase database = new RosterTestDatabase();
+            pool.setDataSource(database.getTargetDataSource());
+            pool.setMaximumPoolSize(2);
+            StudentDaoDB studentDao = new StudentDaoDB();
+            JdbcTemplate jdbc = new JdbcTemplate(new InstrumentedDataSource(pool, SimpleMeterRegistry::new));
+            ReflectionTestUtils.setField(studentDao, "jdbc", jdbc);
+            jdbc.update("INSERT INTO student(studentId, firstName, lastName) VALUES ('S1', 'Ada', 'Lovelace')");
+
+            AsyncTaskExecutor executor = new ExecutorConfig().daoExecutor(true, 32);
+            List<Future<Integer>> results = new ArrayList<>();
+            for (int i = 0; i < 200; i++) {
+                results.add(executor.submit(() -> studentDao.getAllStudents().size()));
+            }
+            for (Future<Integer> result : results) {
+                assertThat(result.get()).isEqualTo(1);
+            }
+            ((AutoCloseable) executor).close();
+            recording.stop();
+        }
+        
+        assertThat(pinnedStacks).isEmpty();
+    }
+
+    private static boolean inApplicationOrPool(RecordedEvent event) {
+        return event.getStackTrace() != null && event.getStackTrace().getFrames().stream()
+            .map(frame -> frame.getMethod().getType().getName())
+            .anyMatch(type -> type.startsWith("com.example.") || type.startsWith("com.zaxxer.hikari."));
+    }
+
+    private static String stack(RecordedEvent event) {
+        return event.getStackTrace().getFrames().stream()
+            .map(RecordedFrame::getMethod)
+            .map(method -> method.getType().getName() + "." + method.getName())
+            .collect(Collectors.joining("\n  at "));
+    }
+}
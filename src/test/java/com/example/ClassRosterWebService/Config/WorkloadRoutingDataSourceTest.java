@@ -0,0 +1,105 @@
+package com.example.ClassRosterWebService.Config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.support.StaticListableBeanFactory;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.jdbc.datasource.SimpleDriverDataSource;
+import org.springframework.mock.env.MockEnvironment;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class WorkloadRoutingDataSourceTest {
+
+    @Test
+    void routesByExplicitWorkloadThenTransactionReadOnlyFlag() {
+        Map<Workload, DataSource> pools = new EnumMap<>(Workload.class);
+        for (Workload workload : Workload.values()) {
+            SimpleDriverDataSource pool = new SimpleDriverDataSource(new org.h2.Driver(),
+                    "jdbc:h2:mem:" + workload + "-" + UUID.randomUUID() + ";DB_CLOSE_DELAY=-1", "sa", "");
+            JdbcTemplate setup = new JdbcTemplate(pool);
+            setup.execute("CREATE TABLE marker (name VARCHAR(10))");
+            setup.update("INSERT INTO marker VALUES (?)", workload.name());
+            pools.put(workload, pool);
+        }
+        DataSource dataSource = new LazyConnectionDataSourceProxy(new WorkloadRoutingDataSource(pools));
+        JdbcTemplate jdbc = new JdbcTemplate(dataSource);
+        TransactionTemplate readWrite = new TransactionTemplate(new DataSourceTransactionManager(dataSource));
+        TransactionTemplate readOnly = new TransactionTemplate(new DataSourceTransactionManager(dataSource));
+        readOnly.setReadOnly(true);
+
+        assertThat(marker(jdbc)).isEqualTo("WRITE");
+        assertThat(readWrite.<String>execute(status -> marker(jdbc))).isEqualTo("WRITE");
+        // The write pins the rest of the request to the primary; start a new one
+        ReadYourWrites.clear();
+        assertThat(readOnly.<String>execute(status -> marker(jdbc))).isEqualTo("READ");
+        assertThat(WorkloadContext.call(Workload.AUTH, () -> marker(jdbc))).isEqualTo("AUTH");
+        assertThat(WorkloadContext.<String>call(Workload.AUTH, () -> readOnly.<String>execute(status -> marker(jdbc))))
+                .isEqualTo("AUTH");
+        assertThat(WorkloadContext.current()).isNull();
+    }
+
+    @Test
+    void buildsOneTunedPoolPerWorkload() {
+        DataSourceProperties properties = new DataSourceProperties();
+        properties.setUrl("jdbc:h2:mem:pools-" + UUID.randomUUID());
+        properties.setUsername("sa");
+        MockEnvironment environment = new MockEnvironment()
+                .withProperty("roster.datasource.pools.auth.maximum-pool-size", "3")
+                .withProperty("roster.datasource.pools.auth.connection-timeout", "1500")
+                .withProperty("roster.datasource.pools.read.maximum-pool-size", "12")
+                .withProperty("roster.datasource.mysql-properties.cachePrepStmts", "true");
+        StaticListableBeanFactory beans = new StaticListableBeanFactory();
+        beans.addBean("registry", new SimpleMeterRegistry());
+
+        try (WorkloadPools pools = new DataSourceConfig().workloadPools(
+                properties, environment, beans.getBeanProvider(MeterRegistry.class))) {
+            HikariDataSource auth = pools.get(Workload.AUTH);
+            assertThat(auth.getPoolName()).isEqualTo("roster-auth");
+            assertThat(auth.getMaximumPoolSize()).isEqualTo(3);
+            assertThat(auth.getConnectionTimeout()).isEqualTo(1500);
+            assertThat(pools.get(Workload.READ).getMaximumPoolSize()).isEqualTo(12);
+            // Connector/J properties are only applied to MySQL URLs
+            assertThat(auth.getDataSourceProperties()).isEmpty();
+            assertThat(new JdbcTemplate(pools.get(Workload.WRITE)).queryForObject("SELECT 1", Integer.class))
+                    .isEqualTo(1);
+            assertThat(pools.replicas()).isEmpty();
+        }
+    }
+
+    @Test
+    void replicasInheritReadPoolTuningWithTheirOwnOverrides() {
+        DataSourceProperties properties = new DataSourceProperties();
+        properties.setUrl("jdbc:h2:mem:primary-" + UUID.randomUUID());
+        properties.setUsername("sa");
+        MockEnvironment environment = new MockEnvironment()
+                .withProperty("roster.datasource.pools.read.maximum-pool-size", "12")
+                .withProperty("roster.datasource.replicas.east.jdbc-url", "jdbc:h2:mem:east-" + UUID.randomUUID())
+                .withProperty("roster.datasource.replicas.west.jdbc-url", "jdbc:h2:mem:west-" + UUID.randomUUID())
+                .withProperty("roster.datasource.replicas.west.maximum-pool-size", "4");
+
+        try (WorkloadPools pools = new DataSourceConfig().workloadPools(
+                properties, environment, new StaticListableBeanFactory().getBeanProvider(MeterRegistry.class))) {
+            assertThat(pools.replicas()).extracting(HikariDataSource::getPoolName)
+                    .containsExactly("roster-replica-east", "roster-replica-west");
+            assertThat(pools.replicas()).extracting(HikariDataSource::getMaximumPoolSize).containsExactly(12, 4);
+            assertThat(pools.replicas().get(0).getJdbcUrl()).startsWith("jdbc:h2:mem:east-");
+            assertThat(pools.replicas().get(0).getUsername()).isEqualTo("sa");
+        }
+    }
+
+    private static String marker(JdbcTemplate jdbc) {
+        return jdbc.queryForObject("SELECT name FROM marker", String.class);
+    }
+}
@@ -0,0 +1,204 @@
+package com.example.ClassRosterWebService.Controller;
+
+import com.example.ClassRosterWebService.Cache.BoundedCache;
+import com.example.ClassRosterWebService.Cache.RosterVersion;
+import com.example.ClassRosterWebService.Cache.RosterVersion.Aggregate;
+import com.example.ClassRosterWebService.Config.ReplicaLag;
+import com.example.ClassRosterWebService.Config.Workload;
+import com.example.ClassRosterWebService.Config.WorkloadPools;
+import com.example.ClassRosterWebService.DAO.CourseDao;
+import com.example.ClassRosterWebService.DAO.StudentDao;
+import com.example.ClassRosterWebService.Entity.Course;
+import com.example.ClassRosterWebService.Entity.Student;
+import com.zaxxer.hikari.HikariDataSource;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.RequestPostProcessor;
+import org.springframework.web.context.request.ServletWebRequest;
+import org.thymeleaf.ITemplateEngine;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.user;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/*
+ETags on the list pages: a revalidation is answered without a single statement
+while nothing the page shows has changed, and an ETag never validates for
+another user.
+ */
+@SpringBootTest(properties = {
+    "spring.datasource.url=jdbc:h2:mem:conditional-pages;MODE=MySQL;DATABASE_TO_LOWER=TRUE;IGNORECASE=TRUE;NON_KEYWORDS=USER,ROLE;DB_CLOSE_DELAY=-1",
+    "spring.datasource.driver-class-name=org.h2.Driver",
+    "spring.datasource.username=sa",
+    "spring.datasource.password=",
+    "spring.flyway.enabled=true"
+})
+@AutoConfigureMockMvc
+@WithMockUser(username = "admin", roles = "ADMIN")
+class ConditionalPagesTest {
+
+    @Autowired
+    MockMvc mockMvc;
+
+    @Autowired
+    JdbcTemplate jdbc;
+
+    @Autowired
+    StudentDao studentDao;
+
+    @Autowired
+    CourseDao courseDao;
+
+    @Autowired
+    ITemplateEngine templateEngine;
+
+    @Autowired
+    @Qualifier("catalogCache")
+    BoundedCache<String, Object> catalogCache;
+
+    @BeforeEach
+    void seed() {
+        for (String table : new String[]{"course_student", "student", "course", "teacher"}) {
+            jdbc.update("DELETE FROM " + table);
+        }
+        jdbc.update("INSERT INTO teacher(id, firstName, lastName, specialty) VALUES (1, 'Ada', 'Lovelace', 'Algebra')");
+        jdbc.update("INSERT INTO course(id, name, description, teacherId) VALUES (1, 'Algebra', 'Numbers', 1), (2, 'Biology', 'Cells', NULL)");
+        jdbc.update("INSERT INTO student(id, studentId, firstName, lastName) VALUES (1, 'S1', 'Ann', 'Archer')");
+        catalogCache.invalidateAll();
+    }
+
+    @Test
+    void unchangedPageIsAnsweredWithoutQueries() throws Exception {
+        String etag = etag("/courses");
+
+        mockMvc.perform(get("/courses").header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isNotModified())
+                .andExpect(StatementBudget.atMost(0));
+    }
+
+    @Test
+    void pagesAreRevalidatedRatherThanNotStored() throws Exception {
+        mockMvc.perform(get("/teachers"))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.CACHE_CONTROL, "private, no-cache"));
+    }
+
+    @Test
+    void writeToAShownAggregateChangesTheEtag() throws Exception {
+        String etag = etag("/courses");
+
+        Course course = courseDao.getCourseById(2);
+        course.setName("Botany");
+        courseDao.updateCourse(course);
+
+        mockMvc.perform(get("/courses").header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    void writeToAnotherAggregateKeepsTheEtag() throws Exception {
+        String etag = etag("/teachers");
+
+        studentDao.enrollStudentInCourse(1, 2);
+
+        mockMvc.perform(get("/teachers").header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isNotModified());
+        String studentsEtag = etag("/students");
+        studentDao.unenrollStudentFromCourse(1, 2);
+        mockMvc.perform(get("/students").header(HttpHeaders.IF_NONE_MATCH, studentsEtag))
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    void etagsVaryPerUser() throws Exception {
+        String admin = etag("/students");
+        String teacher = etag("/students", user("tina").roles("TEACHER"));
+        String student = etag("/students", user("sam").roles("STUDENT"));
+
+        assertThat(teacher).isNotEqualTo(admin);
+        assertThat(student).isNotEqualTo(admin).isNotEqualTo(teacher);
+
+        // Another user's ETag gets a full page, not the other user's 304
+        mockMvc.perform(get("/students").with(user("sam").roles("STUDENT")).header(HttpHeaders.IF_NONE_MATCH, admin))
+                .andExpect(status().isOk());
+    }
+
+    // A page rendered from a replica right after a write may predate the version it would be tagged with
+    @Test
+    void noEtagWhileReplicasMayLagARecentWrite() {
+        RosterVersion rosterVersion = new RosterVersion();
+        ConditionalPages pages = new ConditionalPages();
+        pages.rosterVersion = rosterVersion;
+        pages.replicaLag = replicaLag(rosterVersion, Duration.ofMinutes(1));
+
+        rosterVersion.changed(Aggregate.COURSES);
+
+        assertThat(etag(pages, Aggregate.TEACHERS, Aggregate.COURSES)).isNull();
+        // An unrelated aggregate, or one whose write the replicas have caught up with, is tagged as usual
+        assertThat(etag(pages, Aggregate.STUDENTS)).isNotNull();
+        pages.replicaLag = replicaLag(rosterVersion, Duration.ZERO);
+        assertThat(etag(pages, Aggregate.TEACHERS, Aggregate.COURSES)).isNotNull();
+    }
+
+    // Likewise a row rendered from a lagging replica must not be cached under the post-write version
+    @Test
+    void noRowFragmentsCachedWhileReplicasMayLagARecentWrite() {
+        RosterVersion rosterVersion = new RosterVersion();
+        RosterFragments fragments = new RosterFragments();
+        fragments.templateEngine = templateEngine;
+        fragments.fragmentCache = new BoundedCache<>("fragment", 100);
+        fragments.enabled = true;
+        fragments.replicaLag = replicaLag(rosterVersion, Duration.ofMinutes(1));
+        Student student = new Student(1, "S1", "Ann", "Archer");
+        student.setCourses(new ArrayList<>());
+
+        rosterVersion.changed(Aggregate.STUDENTS);
+        assertThat(fragments.studentCourses(student, rosterVersion.current())).contains("Not enrolled");
+        assertThat(fragments.fragmentCache.size()).isZero();
+
+        fragments.replicaLag = replicaLag(rosterVersion, Duration.ZERO);
+        fragments.studentCourses(student, rosterVersion.current());
+        assertThat(fragments.fragmentCache.size()).isEqualTo(1);
+    }
+
+    private static ReplicaLag replicaLag(RosterVersion rosterVersion, Duration window) {
+        WorkloadPools pools = new WorkloadPools(Map.of(Workload.WRITE, new HikariDataSource()),
+                List.of(new HikariDataSource()));
+        return new ReplicaLag(pools, rosterVersion, window);
+    }
+
+    private static String etag(ConditionalPages pages, Aggregate... aggregates) {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        pages.notModified(new ServletWebRequest(new MockHttpServletRequest("GET", "/page"), response), "page", aggregates);
+        return response.getHeader(HttpHeaders.ETAG);
+    }
+
+    private String etag(String page) throws Exception {
+        return etag(page, request -> request);
+    }
+
+    private String etag(String page, RequestPostProcessor user) throws Exception {
+        String etag = mockMvc.perform(get(page).with(user))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+        assertThat(etag).startsWith("W/\"");
+        return etag;
+    }
+}
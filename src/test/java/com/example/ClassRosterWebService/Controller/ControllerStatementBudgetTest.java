@@ -0,0 +1,140 @@
+package com.example.ClassRosterWebService.Controller;
+
+import com.example.ClassRosterWebService.Cache.BoundedCache;
+import com.example.ClassRosterWebService.DAO.RosterStatistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.hamcrest.Matchers.containsString;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.csrf;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.redirectedUrlPattern;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/*
+Statement budgets for the main pages, against H2 with a roster big enough that
+any per-row query would blow the budget. The repeated-statement guard runs in
+FAIL mode, so an N+1 regression fails the request outright.
+ */
+@SpringBootTest(properties = {
+    "spring.datasource.url=jdbc:h2:mem:controller-budget;MODE=MySQL;DATABASE_TO_LOWER=TRUE;IGNORECASE=TRUE;NON_KEYWORDS=USER,ROLE;DB_CLOSE_DELAY=-1",
+    "spring.datasource.driver-class-name=org.h2.Driver",
+    "spring.datasource.username=sa",
+    "spring.datasource.password=",
+    "spring.flyway.enabled=true",
+    "roster.jdbc.repeated-statement.mode=fail",
+    "roster.jdbc.repeated-statement.threshold=3",
+    "roster.export.fetch-size=100"
+})
+@AutoConfigureMockMvc
+@WithMockUser(username = "admin", roles = "ADMIN")
+class ControllerStatementBudgetTest {
+
+    private static final int STUDENTS = 40;
+    private static final int COURSES = 12;
+
+    @Autowired
+    MockMvc mockMvc;
+
+    @Autowired
+    JdbcTemplate jdbc;
+
+    @Autowired
+    @Qualifier("catalogCache")
+    BoundedCache<String, Object> catalogCache;
+
+    @Autowired
+    @Qualifier("userCache")
+    BoundedCache<String, Object> userCache;
+
+    @Autowired
+    RosterStatistics statistics;
+
+    @BeforeEach
+    void seed() {
+        for (String table : new String[]{"course_student", "user_role", "`user`", "`role`", "student", "course", "teacher"}) {
+            jdbc.update("DELETE FROM " + table);
+        }
+        for (int c = 1; c <= COURSES; c++) {
+            jdbc.update("INSERT INTO teacher(id, firstName, lastName, specialty) VALUES (?, ?, ?, ?)",
+                    c, "First" + c, "Last" + c, c % 2 == 0 ? "Course" + c : null);
+            jdbc.update("INSERT INTO course(id, name, description, teacherId) VALUES (?, ?, ?, ?)",
+                    c, "Course" + c, "Description", c);
+        }
+        for (int s = 1; s <= STUDENTS; s++) {
+            jdbc.update("INSERT INTO student(id, studentId, firstName, lastName) VALUES (?, ?, ?, ?)",
+                    s, "S" + s, "First", "Last" + s);
+            for (int e = 0; e < 3; e++) {
+                jdbc.update("INSERT INTO course_student(courseId, studentId) VALUES (?, ?)", ((s + e) % COURSES) + 1, s);
+            }
+        }
+        catalogCache.invalidateAll();
+        userCache.invalidateAll();
+        statistics.invalidate();
+    }
+
+    @Test
+    void studentsPage() throws Exception {
+        mockMvc.perform(get("/students"))
+                .andExpect(status().isOk())
+                .andExpect(StatementBudget.atMost(3));
+    }
+
+    @Test
+    void editStudentPage() throws Exception {
+        mockMvc.perform(get("/editStudent").param("id", "1"))
+                .andExpect(status().isOk())
+                .andExpect(StatementBudget.atMost(7));
+    }
+
+    @Test
+    void coursesPage() throws Exception {
+        mockMvc.perform(get("/courses"))
+                .andExpect(status().isOk())
+                .andExpect(StatementBudget.atMost(5));
+    }
+
+    @Test
+    void courseDetailPage() throws Exception {
+        mockMvc.perform(get("/courseDetail").param("id", "2"))
+                .andExpect(status().isOk())
+                .andExpect(StatementBudget.atMost(8));
+    }
+
+    @Test
+    void teachersPage() throws Exception {
+        mockMvc.perform(get("/teachers"))
+                .andExpect(status().isOk())
+                .andExpect(StatementBudget.atMost(5));
+    }
+
+    @Test
+    void editTeacherPage() throws Exception {
+        mockMvc.perform(get("/editTeacher").param("id", "1"))
+                .andExpect(status().isOk())
+                .andExpect(StatementBudget.atMost(7));
+    }
+
+    // No pre-query for a taken studentId: the unique constraint rejects it
+    @Test
+    void addStudent() throws Exception {
+        mockMvc.perform(post("/addStudent").with(csrf())
+                        .param("studentId", "S900").param("firstName", "Ann").param("lastName", "Archer"))
+                .andExpect(redirectedUrlPattern("/students?success=*"))
+                .andExpect(StatementBudget.atMost(2));
+
+        mockMvc.perform(post("/addStudent").with(csrf())
+                        .param("studentId", "S900").param("firstName", "Ann").param("lastName", "Archer"))
+                .andExpect(status().isOk())
+                .andExpect(content().string(containsString("already exists")));
+    }
+}
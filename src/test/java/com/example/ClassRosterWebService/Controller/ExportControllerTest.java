@@ -0,0 +1,90 @@
+package com.example.ClassRosterWebService.Controller;
+
+import com.example.ClassRosterWebService.DAO.ExportDaoDB;
+import com.example.ClassRosterWebService.DAO.RosterTestDatabase;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.zip.GZIPInputStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ExportControllerTest {
+
+    private JdbcTemplate jdbc;
+    private ExportController controller;
+
+    @BeforeEach
+    void setUp() {
+        RosterTestDatabase database = new RosterTestDatabase();
+        jdbc = new JdbcTemplate(database);
+        controller = new ExportController();
+        controller.exportDao = new ExportDaoDB(database, 100);
+        controller.objectMapper = new ObjectMapper();
+
+        jdbc.update("INSERT INTO course(id, name, description) VALUES (1, 'Art', 'Drawing, \"sketching\"')");
+        jdbc.update("INSERT INTO student(id, studentId, firstName, lastName) VALUES (1, 'S001', 'Ann', 'Brown')");
+        jdbc.update("INSERT INTO course_student(courseId, studentId) VALUES (1, 1)");
+    }
+
+    @Test
+    void exportCourses_writesCsvWithHeaderAndQuotedFields() throws Exception {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        controller.exportCourses(new MockHttpServletRequest("GET", "/export/courses"), response);
+
+        assertThat(response.getContentType()).startsWith("text/csv");
+        assertThat(response.getHeader("Content-Disposition")).contains("courses.csv");
+        assertThat(response.getContentAsString(StandardCharsets.UTF_8)).isEqualTo(
+                "id,name,description,teacherId,teacherFirstName,teacherLastName,teacherSpecialty\r\n"
+                        + "1,Art,\"Drawing, \"\"sketching\"\"\",,,,\r\n");
+    }
+
+    @Test
+    void exportStudents_gzipsNdjsonWhenAccepted() throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/export/students");
+        request.setParameter("format", "ndjson");
+        request.addHeader("Accept-Encoding", "deflate, gzip;q=0.8");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        controller.exportStudents(request, response);
+
+        assertThat(response.getHeader("Content-Encoding")).isEqualTo("gzip");
+        String body;
+        try (GZIPInputStream in = new GZIPInputStream(new ByteArrayInputStream(response.getContentAsByteArray()))) {
+            body = new String(in.readAllBytes(), StandardCharsets.UTF_8);
+        }
+        assertThat(body).endsWith("\n");
+        JsonNode row = new ObjectMapper().readTree(body.trim());
+        assertThat(row.get("studentId").asText()).isEqualTo("S001");
+        assertThat(row.get("courseId").asInt()).isEqualTo(1);
+        assertThat(row.get("courseName").asText()).isEqualTo("Art");
+    }
+
+    @Test
+    void export_rejectsUnknownFormat() throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/export/students");
+        request.setParameter("format", "xml");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        controller.exportStudents(request, response);
+
+        assertThat(response.getStatus()).isEqualTo(400);
+    }
+
+    @Test
+    void acceptsGzip_honoursExplicitRefusal() {
+        assertThat(ExportController.acceptsGzip("gzip, deflate")).isTrue();
+        assertThat(ExportController.acceptsGzip("GZIP;q=0.5")).isTrue();
+        assertThat(ExportController.acceptsGzip("gzip;q=0")).isFalse();
+        assertThat(ExportController.acceptsGzip("identity")).isFalse();
+        assertThat(ExportController.acceptsGzip(null)).isFalse();
+    }
+}
@@ -0,0 +1,101 @@
+package com.example.ClassRosterWebService.Controller;
+
+import com.example.ClassRosterWebService.Config.ExecutorConfig;
+import com.example.ClassRosterWebService.Metrics.DbRequestStats;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.authentication.TestingAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.ui.ExtendedModelMap;
+
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class PageAssemblerTest {
+
+    private final PageAssembler assembler = new PageAssembler();
+
+    @BeforeEach
+    void setUp() {
+        assembler.daoExecutor = new ExecutorConfig().daoExecutor(false, 4);
+        assembler.timeout = Duration.ofSeconds(5);
+    }
+
+    @AfterEach
+    void tearDown() {
+        ((ThreadPoolTaskExecutor) assembler.daoExecutor).shutdown();
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void queriesRunConcurrentlyAndLandInTheModel() {
+        // Each query waits until all three are running, so a serial assembler would time out
+        CountDownLatch allStarted = new CountDownLatch(3);
+        ExtendedModelMap model = new ExtendedModelMap();
+
+        PageAssembler.Page page = assembler.page(model);
+        page.add("a", () -> awaitOthers(allStarted, "A"));
+        page.add("b", () -> awaitOthers(allStarted, "B"));
+        PageAssembler.Part<String> c = page.fetch(() -> awaitOthers(allStarted, "C"));
+        page.join();
+
+        assertThat(model).containsEntry("a", "A").containsEntry("b", "B").doesNotContainKey("c");
+        assertThat(c.get()).isEqualTo("C");
+    }
+
+    @Test
+    void failureIsRethrownAndNothingIsAddedToTheModel() {
+        ExtendedModelMap model = new ExtendedModelMap();
+        PageAssembler.Page page = assembler.page(model);
+        page.add("ok", () -> "fine");
+        page.add("broken", () -> {
+            throw new IllegalStateException("boom");
+        });
+
+        assertThatThrownBy(page::join).isInstanceOf(IllegalStateException.class).hasMessage("boom");
+        assertThat(model).isEmpty();
+    }
+
+    @Test
+    void queriesSeeTheRequestsSecurityContextAndStatementCounters() {
+        Authentication user = new TestingAuthenticationToken("admin", "password", "ROLE_ADMIN");
+        SecurityContextHolder.getContext().setAuthentication(user);
+        DbRequestStats stats = new DbRequestStats();
+        DbRequestStats previous = DbRequestStats.bind(stats);
+        try {
+            PageAssembler.Page page = assembler.page(new ExtendedModelMap());
+            PageAssembler.Part<Authentication> first = page.fetch(
+                () -> SecurityContextHolder.getContext().getAuthentication());
+            PageAssembler.Part<Authentication> second = page.fetch(
+                () -> SecurityContextHolder.getContext().getAuthentication());
+            PageAssembler.Part<DbRequestStats> third = page.fetch(DbRequestStats::current);
+            page.join();
+
+            assertThat(first.get()).isSameAs(user);
+            assertThat(second.get()).isSameAs(user);
+            assertThat(third.get()).isSameAs(stats);
+        } finally {
+            DbRequestStats.restore(previous);
+        }
+    }
+
+    private static String awaitOthers(CountDownLatch allStarted, String value) {
+        allStarted.countDown();
+        try {
+            if (!allStarted.await(2, TimeUnit.SECONDS)) {
+                throw new IllegalStateException("queries did not run concurrently");
+            }
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(ex);
+        }
+        return value;
+    }
+}
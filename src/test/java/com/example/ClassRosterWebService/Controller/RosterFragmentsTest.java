@@ -0,0 +1,121 @@
+package com.example.ClassRosterWebService.Controller;
+
+import com.example.ClassRosterWebService.Cache.BoundedCache;
+import com.example.ClassRosterWebService.DAO.CourseDao;
+import com.example.ClassRosterWebService.DAO.StudentDao;
+import com.example.ClassRosterWebService.Entity.Course;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.web.servlet.MockMvc;
+import org.thymeleaf.cache.TemplateCacheKey;
+import org.thymeleaf.spring6.SpringTemplateEngine;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/*
+The students page with the production view settings: template cache (pre-warmed
+at startup) and cached row fragments, which must follow every write.
+ */
+@SpringBootTest(properties = {
+    "spring.datasource.url=jdbc:h2:mem:roster-fragments;MODE=MySQL;DATABASE_TO_LOWER=TRUE;IGNORECASE=TRUE;NON_KEYWORDS=USER,ROLE;DB_CLOSE_DELAY=-1",
+    "spring.datasource.driver-class-name=org.h2.Driver",
+    "spring.datasource.username=sa",
+    "spring.datasource.password=",
+    "spring.flyway.enabled=true",
+    "spring.thymeleaf.cache=true",
+    "roster.views.fragment-cache=true"
+})
+@AutoConfigureMockMvc
+@WithMockUser(username = "admin", roles = "ADMIN")
+class RosterFragmentsTest {
+
+    @Autowired
+    MockMvc mockMvc;
+
+    @Autowired
+    JdbcTemplate jdbc;
+
+    @Autowired
+    StudentDao studentDao;
+
+    @Autowired
+    CourseDao courseDao;
+
+    @Autowired
+    SpringTemplateEngine templateEngine;
+
+    @Autowired
+    @Qualifier("fragmentCache")
+    BoundedCache<String, String> fragmentCache;
+
+    @Autowired
+    @Qualifier("catalogCache")
+    BoundedCache<String, Object> catalogCache;
+
+    @BeforeEach
+    void seed() {
+        for (String table : new String[]{"course_student", "student", "course", "teacher"}) {
+            jdbc.update("DELETE FROM " + table);
+        }
+        jdbc.update("INSERT INTO course(id, name, description) VALUES (1, 'Algebra', 'Numbers'), (2, 'Biology', 'Cells')");
+        jdbc.update("INSERT INTO student(id, studentId, firstName, lastName) VALUES (1, 'S1', 'Ann', 'Archer'), (2, 'S2', 'Ben', 'Baker')");
+        jdbc.update("INSERT INTO course_student(courseId, studentId) VALUES (1, 1)");
+        catalogCache.invalidateAll();
+        fragmentCache.invalidateAll();
+    }
+
+    @Test
+    void templatesAreParsedAtStartup() throws Exception {
+        assertThat(cachedTemplates()).contains("students", "teachers", "courses", "login", "fragments/studentCourses");
+
+        // Rendering the page reuses the startup entry rather than parsing it again
+        students();
+        assertThat(cachedTemplates()).filteredOn("students"::equals).hasSize(1);
+    }
+
+    @Test
+    void rowFragmentsAreRenderedOnceUntilAWrite() throws Exception {
+        String first = students();
+        assertThat(first).contains("Algebra").contains("Not enrolled");
+        long misses = fragmentCache.getMissCount();
+
+        assertThat(students()).isEqualTo(first);
+        assertThat(fragmentCache.getMissCount()).isEqualTo(misses);
+
+        studentDao.enrollStudentInCourse(2, 2);
+        assertThat(students()).contains("Biology").doesNotContain("Not enrolled");
+    }
+
+    @Test
+    void courseRenameShowsInCachedRows() throws Exception {
+        assertThat(students()).contains("Algebra");
+
+        Course course = courseDao.getCourseById(1);
+        course.setName("Linear Algebra");
+        courseDao.updateCourse(course);
+
+        assertThat(students()).contains("Linear Algebra");
+    }
+
+    private List<String> cachedTemplates() {
+        return templateEngine.getCacheManager().getTemplateCache().keySet().stream()
+                .map(TemplateCacheKey::getTemplate)
+                .toList();
+    }
+
+    private String students() throws Exception {
+        return mockMvc.perform(get("/students"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+    }
+}
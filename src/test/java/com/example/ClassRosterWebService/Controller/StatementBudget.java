@@ -0,0 +1,27 @@
+package com.example.ClassRosterWebService.Controller;
+
+import com.example.ClassRosterWebService.Metrics.DbRequestStats;
+import org.springframework.test.web.servlet.ResultMatcher;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/*
+MockMvc matcher for the number of JDBC statements a request issued, read from the
+DbRequestStats that DbRequestMetricsFilter leaves on the request.
+ */
+final class StatementBudget {
+
+    private StatementBudget() {
+    }
+
+    static ResultMatcher atMost(int maxStatements) {
+        return result -> {
+            DbRequestStats stats = (DbRequestStats) result.getRequest().getAttribute(DbRequestStats.REQUEST_ATTRIBUTE);
+            assertThat(stats).as("DbRequestMetricsFilter did not run for this request").isNotNull();
+            assertThat(stats.getStatementCount())
+                    .as("statements issued by %s %s: %s", result.getRequest().getMethod(),
+                            result.getRequest().getRequestURI(), stats.getCountsByShape())
+                    .isLessThanOrEqualTo(maxStatements);
+        };
+    }
+}
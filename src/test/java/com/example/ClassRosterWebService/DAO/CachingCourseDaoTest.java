@@ -0,0 +1,83 @@
+package com.example.ClassRosterWebService.DAO;
+
+import com.example.ClassRosterWebService.Cache.BoundedCache;
+import com.example.ClassRosterWebService.Cache.RosterVersion;
+import com.example.ClassRosterWebService.Config.Workload;
+import com.example.ClassRosterWebService.Config.WorkloadContext;
+import com.example.ClassRosterWebService.Entity.Course;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class CachingCourseDaoTest {
+
+    private RosterTestDatabase database;
+    private CachingCourseDao courseDao;
+
+    @BeforeEach
+    void setUp() {
+        database = new RosterTestDatabase();
+        JdbcTemplate jdbc = new JdbcTemplate(database);
+        jdbc.update("INSERT INTO course(id, name, description) VALUES (1, 'Quadratics', 'Intro')");
+        jdbc.update("INSERT INTO course(id, name, description) VALUES (2, 'History', 'Intro')");
+
+        CourseDaoDB delegate = new CourseDaoDB();
+        delegate.jdbc = jdbc;
+        delegate.statistics = new RosterStatistics(jdbc, Duration.ofMinutes(10));
+        delegate.rosterVersion = new RosterVersion();
+        courseDao = new CachingCourseDao();
+        courseDao.delegate = delegate;
+        courseDao.catalogCache = new BoundedCache<>("catalog", 100);
+    }
+
+    @Test
+    void getCourseByName_isServedFromMemoryAfterFirstLookup() {
+        courseDao.getCourseByName("History");
+        database.resetStatementCount();
+
+        Course course = courseDao.getCourseByName("history");
+
+        assertThat(course.getId()).isEqualTo(2);
+        assertThat(database.getStatementCount()).isZero();
+    }
+
+    @Test
+    void getCourseByName_followsRenames() {
+        Course course = courseDao.getCourseByName("History");
+        course.setName("World History");
+        courseDao.updateCourse(course);
+
+        assertThat(courseDao.getCourseByName("History")).isNull();
+        assertThat(courseDao.getCourseByName("World History").getId()).isEqualTo(2);
+    }
+
+    @Test
+    void cacheFillsReadFromThePrimary() {
+        List<Workload> workloads = new ArrayList<>();
+        CourseDaoDB delegate = courseDao.delegate;
+        courseDao.delegate = new CourseDaoDB() {
+            @Override
+            public List<Course> getAllCourses() {
+                workloads.add(WorkloadContext.current());
+                return delegate.getAllCourses();
+            }
+        };
+
+        courseDao.getAllCourses();
+
+        assertThat(workloads).containsExactly(Workload.WRITE);
+    }
+
+    @Test
+    void returnedCoursesAreCopies() {
+        courseDao.getCourseByName("History").setName("Changed");
+
+        assertThat(courseDao.getCourseById(2).getName()).isEqualTo("History");
+    }
+}
@@ -0,0 +1,181 @@
+package com.example.ClassRosterWebService.DAO;
+
+import com.example.ClassRosterWebService.Cache.RosterVersion;
+import com.example.ClassRosterWebService.Entity.Course;
+import com.example.ClassRosterWebService.Entity.Teacher;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class CourseDaoDBTest {
+
+    private RosterTestDatabase database;
+    private JdbcTemplate jdbc;
+    private CourseDaoDB courseDao;
+
+    @BeforeEach
+    void setUp() {
+        database = new RosterTestDatabase();
+        jdbc = new JdbcTemplate(database);
+        courseDao = new CourseDaoDB();
+        courseDao.jdbc = jdbc;
+        courseDao.statistics = new RosterStatistics(jdbc, Duration.ofMinutes(10));
+        courseDao.rosterVersion = new RosterVersion();
+    }
+
+    @Test
+    void getAllCourses_statementCountDoesNotGrowWithCourses() {
+        seedCourses(3);
+        database.resetStatementCount();
+        courseDao.getAllCourses();
+        int fewCoursesStatements = database.getStatementCount();
+
+        seedCourses(100);
+        database.resetStatementCount();
+        List<Course> courses = courseDao.getAllCourses();
+
+        assertThat(courses).hasSize(103);
+        assertThat(database.getStatementCount()).isEqualTo(fewCoursesStatements).isEqualTo(1);
+    }
+
+    @Test
+    void getCoursesForTeacher_chunksTheTeacherLookups() {
+        jdbc.update("INSERT INTO teacher(id, firstName, lastName, specialty) VALUES (1, 'Shane', 'Keefe', 'Course0')");
+        List<Object[]> rows = new ArrayList<>();
+        for (int i = 0; i < 1500; i++) {
+            rows.add(new Object[]{"Course" + i});
+        }
+        jdbc.batchUpdate("INSERT INTO course(name, description, teacherId) VALUES (?, 'Description', 1)", rows);
+        linkSpecialties();
+        Teacher teacher = new Teacher(1, "Shane", "Keefe", "Course0");
+
+        database.resetStatementCount();
+        List<Course> courses = courseDao.getCoursesForTeacher(teacher);
+
+        // The courses, then teachers and specialty flags for each of two IN-list chunks
+        assertThat(database.getStatementCount()).isEqualTo(5);
+        assertThat(courses).hasSize(1500).allSatisfy(course -> assertThat(course.getTeacher().getId()).isEqualTo(1));
+        assertThat(courses).filteredOn(Course::isHasTeachersViaSpecialty).extracting(Course::getName)
+                .containsExactly("Course0");
+    }
+
+    @Test
+    void getAllCourses_associatesTeachersAndSpecialtyFlags() {
+        jdbc.update("INSERT INTO teacher(id, firstName, lastName, specialty) VALUES (1, 'Shane', 'Keefe', 'Quadratics')");
+        jdbc.update("INSERT INTO teacher(id, firstName, lastName, specialty) VALUES (2, 'Mary', 'Lyons', 'history')");
+        jdbc.update("INSERT INTO course(id, name, description, teacherId) VALUES (1, 'Quadratics', 'Intro', 1)");
+        jdbc.update("INSERT INTO course(id, name, description, teacherId) VALUES (2, 'History', 'Intro', NULL)");
+        jdbc.update("INSERT INTO course(id, name, description, teacherId) VALUES (3, 'Art', 'Intro', NULL)");
+        linkSpecialties();
+
+        List<Course> courses = courseDao.getAllCourses();
+
+        Course quadratics = courses.get(0);
+        assertThat(quadratics.getTeacher().getLastName()).isEqualTo("Keefe");
+        assertThat(quadratics.isHasTeachersViaSpecialty()).isTrue();
+
+        Course history = courses.get(1);
+        assertThat(history.getTeacher()).isNull();
+        assertThat(history.isHasTeachersViaSpecialty()).isTrue();
+
+        Course art = courses.get(2);
+        assertThat(art.getTeacher()).isNull();
+        assertThat(art.isHasTeachersViaSpecialty()).isFalse();
+    }
+
+    @Test
+    void getCourseByName_returnsCourseWithTeacherOrNull() {
+        jdbc.update("INSERT INTO teacher(id, firstName, lastName, specialty) VALUES (1, 'Shane', 'Keefe', 'Quadratics')");
+        jdbc.update("INSERT INTO course(id, name, description, teacherId) VALUES (1, 'Quadratics', 'Intro', 1)");
+
+        Course course = courseDao.getCourseByName("Quadratics");
+
+        assertThat(course.getId()).isEqualTo(1);
+        assertThat(course.getTeacher().getLastName()).isEqualTo("Keefe");
+        assertThat(courseDao.getCourseByName("Unknown")).isNull();
+    }
+
+    @Test
+    void findCourseById_unassignedOrMissingCourseInOneStatementEach() {
+        jdbc.update("INSERT INTO course(id, name, description, teacherId) VALUES (1, 'Art', 'Intro', NULL)");
+        courseDao.statistics.getTeacherCountForSpecialty("Art");
+
+        database.resetStatementCount();
+        Course art = courseDao.findCourseById(1).orElseThrow();
+        assertThat(art.getTeacher()).isNull();
+        assertThat(courseDao.findCourseById(99)).isEmpty();
+        assertThat(courseDao.getCourseById(99)).isNull();
+        assertThat(database.getStatementCount()).isEqualTo(3);
+    }
+
+    @Test
+    void updateCourse_renameWritesOnlyTheCourseRow() {
+        jdbc.update("INSERT INTO course(id, name, description, teacherId) VALUES (1, 'Quadratics', 'Intro', NULL)");
+        jdbc.update("INSERT INTO teacher(id, firstName, lastName, specialty, specialty_course_id) VALUES (1, 'Shane', 'Keefe', 'Quadratics', 1)");
+        jdbc.update("INSERT INTO teacher(id, firstName, lastName, specialty, specialty_course_id) VALUES (2, 'Mary', 'Lyons', 'Quadratics', 1)");
+        Course course = courseDao.getCourseById(1);
+        course.setName("Algebra");
+
+        database.resetStatementCount();
+        courseDao.updateCourse(course);
+
+        // The old-course lookup plus the single course UPDATE; no teacher rows rewritten
+        assertThat(database.getStatementCount()).isEqualTo(2);
+        assertThat(jdbc.queryForList("SELECT specialty FROM teacher", String.class)).containsOnly("Quadratics");
+        assertThat(courseDao.getCourseById(1).isHasTeachersViaSpecialty()).isTrue();
+        assertThat(courseDao.statistics.getTeacherCountForSpecialty("Algebra")).isEqualTo(2);
+    }
+
+    @Test
+    void deleteCourseById_unassignsTeachersWithThatSpecialty() {
+        jdbc.update("INSERT INTO course(id, name, description, teacherId) VALUES (1, 'Quadratics', 'Intro', NULL)");
+        jdbc.update("INSERT INTO teacher(id, firstName, lastName, specialty, specialty_course_id) VALUES (1, 'Shane', 'Keefe', 'Quadratics', 1)");
+        jdbc.update("INSERT INTO teacher(id, firstName, lastName, specialty) VALUES (2, 'Mary', 'Lyons', 'History')");
+
+        courseDao.deleteCourseById(1);
+
+        assertThat(jdbc.queryForList("SELECT specialty FROM teacher ORDER BY id", String.class))
+                .containsExactly("Unassigned", "History");
+        assertThat(jdbc.queryForObject("SELECT COUNT(*) FROM teacher WHERE specialty_course_id IS NOT NULL", Integer.class))
+                .isZero();
+    }
+
+    @Test
+    void addCourse_linksTeachersWhoseSpecialtyNamesIt() {
+        jdbc.update("INSERT INTO teacher(id, firstName, lastName, specialty) VALUES (1, 'Mary', 'Lyons', 'history')");
+        Course course = new Course();
+        course.setName("History");
+        course.setDescription("Intro");
+
+        // In a transaction so LAST_INSERT_ID() runs on the INSERT's connection
+        new TransactionTemplate(new DataSourceTransactionManager(database))
+                .executeWithoutResult(status -> courseDao.addCourse(course));
+
+        assertThat(jdbc.queryForObject("SELECT specialty_course_id FROM teacher WHERE id = 1", Integer.class))
+                .isEqualTo(course.getId());
+    }
+
+    // Same backfill as classroster_teacher_specialty_course.sql, in a form H2 accepts
+    private void linkSpecialties() {
+        jdbc.update("UPDATE teacher t SET specialty_course_id = (SELECT c.id FROM course c WHERE c.name = t.specialty)");
+    }
+
+    private void seedCourses(int count) {
+        int existing = jdbc.queryForObject("SELECT COUNT(*) FROM course", Integer.class);
+        for (int i = existing; i < existing + count; i++) {
+            jdbc.update("INSERT INTO teacher(firstName, lastName, specialty) VALUES (?, ?, ?)",
+                    "First" + i, "Last" + i, "Course" + i);
+            int teacherId = jdbc.queryForObject("SELECT MAX(id) FROM teacher", Integer.class);
+            jdbc.update("INSERT INTO course(name, description, teacherId) VALUES (?, ?, ?)",
+                    "Course" + i, "Description", i % 2 == 0 ? teacherId : null);
+        }
+    }
+}
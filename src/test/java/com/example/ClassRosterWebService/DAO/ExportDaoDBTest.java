@@ -0,0 +1,56 @@
+package com.example.ClassRosterWebService.DAO;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ExportDaoDBTest {
+
+    private RosterTestDatabase database;
+    private JdbcTemplate jdbc;
+    private ExportDaoDB exportDao;
+
+    @BeforeEach
+    void setUp() {
+        database = new RosterTestDatabase();
+        jdbc = new JdbcTemplate(database);
+        exportDao = new ExportDaoDB(database, 100);
+    }
+
+    @Test
+    void streamStudentEnrollments_emitsOneRowPerEnrollmentAndKeepsUnenrolledStudents() {
+        jdbc.update("INSERT INTO course(id, name, description) VALUES (1, 'Art', 'Intro')");
+        jdbc.update("INSERT INTO course(id, name, description) VALUES (2, 'History', 'Intro')");
+        jdbc.update("INSERT INTO student(id, studentId, firstName, lastName) VALUES (1, 'S001', 'Ann', 'Brown')");
+        jdbc.update("INSERT INTO student(id, studentId, firstName, lastName) VALUES (2, 'S002', 'Bob', 'Adams')");
+        jdbc.update("INSERT INTO course_student(courseId, studentId) VALUES (1, 1)");
+        jdbc.update("INSERT INTO course_student(courseId, studentId) VALUES (2, 1)");
+
+        List<String> rows = new ArrayList<>();
+        exportDao.streamStudentEnrollments(rs -> rows.add(rs.getString(2) + ":" + rs.getString(6)));
+
+        assertThat(rows).containsExactly("S001:Art", "S001:History", "S002:null");
+    }
+
+    @Test
+    void streamCourses_usesSingleStatementWithColumnsInDeclaredOrder() {
+        jdbc.update("INSERT INTO teacher(id, firstName, lastName, specialty) VALUES (1, 'Mary', 'Lyons', 'History')");
+        jdbc.update("INSERT INTO course(id, name, description, teacherId) VALUES (1, 'History', 'Intro', 1)");
+        jdbc.update("INSERT INTO course(id, name, description, teacherId) VALUES (2, 'Art', 'Intro', NULL)");
+        database.resetStatementCount();
+
+        List<String> rows = new ArrayList<>();
+        exportDao.streamCourses(rs -> {
+            assertThat(rs.getMetaData().getColumnCount()).isEqualTo(ExportDao.COURSE_COLUMNS.size());
+            rows.add(rs.getString(2) + ":" + rs.getString(6));
+        });
+
+        assertThat(rows).containsExactly("History:Lyons", "Art:null");
+        assertThat(database.getStatementCount()).isEqualTo(1);
+    }
+}
@@ -0,0 +1,142 @@
+package com.example.ClassRosterWebService.DAO;
+
+import com.example.ClassRosterWebService.Cache.RosterVersion;
+import com.example.ClassRosterWebService.Entity.Course;
+import com.example.ClassRosterWebService.Entity.Teacher;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class RosterStatisticsTest {
+
+    private RosterTestDatabase database;
+    private JdbcTemplate jdbc;
+    private RosterStatistics statistics;
+    private StudentDaoDB studentDao;
+    private CourseDaoDB courseDao;
+    private TeacherDaoDB teacherDao;
+
+    @BeforeEach
+    void setUp() {
+        database = new RosterTestDatabase();
+        jdbc = new JdbcTemplate(database);
+        statistics = new RosterStatistics(jdbc, Duration.ofMinutes(10));
+        RosterVersion rosterVersion = new RosterVersion();
+        studentDao = new StudentDaoDB();
+        studentDao.jdbc = jdbc;
+        studentDao.statistics = statistics;
+        studentDao.rosterVersion = rosterVersion;
+        courseDao = new CourseDaoDB();
+        courseDao.jdbc = jdbc;
+        courseDao.statistics = statistics;
+        courseDao.rosterVersion = rosterVersion;
+        teacherDao = new TeacherDaoDB();
+        teacherDao.jdbc = jdbc;
+        teacherDao.statistics = statistics;
+        teacherDao.rosterVersion = rosterVersion;
+
+        jdbc.update("INSERT INTO teacher(id, firstName, lastName, specialty) VALUES (1, 'Ada', 'Lovelace', 'Algebra')");
+        jdbc.update("INSERT INTO teacher(id, firstName, lastName, specialty) VALUES (2, 'Alan', 'Turing', 'algebra')");
+        jdbc.update("INSERT INTO teacher(id, firstName, lastName, specialty) VALUES (3, 'Grace', 'Hopper', NULL)");
+        jdbc.update("INSERT INTO course(id, name, description, teacherId) VALUES (1, 'Algebra', 'Intro', 1)");
+        jdbc.update("INSERT INTO course(id, name, description, teacherId) VALUES (2, 'History', 'Intro', 1)");
+        jdbc.update("INSERT INTO course(id, name, description) VALUES (3, 'Poetry', 'Intro')");
+        jdbc.update("UPDATE teacher SET specialty_course_id = 1 WHERE id IN (1, 2)");
+        for (int s = 1; s <= 5; s++) {
+            jdbc.update("INSERT INTO student(id, studentId, firstName, lastName) VALUES (?, ?, 'First', 'Last')", s, "S" + s);
+        }
+        jdbc.update("INSERT INTO course_student(courseId, studentId) VALUES (1, 1), (1, 2), (2, 1)");
+    }
+
+    @Test
+    void lookupsAreServedFromMemoryAfterTheFirstLoad() {
+        assertThat(statistics.getEnrollmentCount(1)).isEqualTo(2);
+        database.resetStatementCount();
+
+        assertThat(statistics.getEnrollmentCount(2)).isEqualTo(1);
+        assertThat(statistics.getEnrollmentCount(3)).isZero();
+        assertThat(statistics.getCourseCountForTeacher(1)).isEqualTo(2);
+        assertThat(statistics.getTeacherCountForSpecialty("ALGEBRA")).isEqualTo(2);
+        assertThat(statistics.getUnassignedTeacherCount()).isEqualTo(1);
+        assertThat(database.getStatementCount()).isZero();
+    }
+
+    @Test
+    void daoWritesKeepTheCountsEqualToAFreshLoad() {
+        statistics.getEnrollmentCount(1);
+
+        studentDao.enrollStudentInCourse(3, 3);
+        studentDao.unenrollStudentFromCourse(1, 2);
+        studentDao.unenrollStudentFromCourse(1, 2);
+        studentDao.enrollStudentsInCourse(3, List.of(1, 2, 4, 99));
+        studentDao.enrollStudentInCourses(5, List.of(1, 2));
+        studentDao.unenrollStudentsFromCourse(1, List.of(2, 5));
+        studentDao.unenrollStudentFromCourses(4, List.of(1, 3));
+
+        Teacher teacher = new Teacher();
+        teacher.setFirstName("Edsger");
+        teacher.setLastName("Dijkstra");
+        teacher.setSpecialty("History");
+        teacherDao.addTeacher(teacher);
+        teacher.setSpecialty("Poetry");
+        teacherDao.updateTeacher(teacher);
+        teacherDao.deleteTeacherById(3);
+
+        Course history = courseDao.getCourseById(2);
+        history.setName("World History");
+        history.setTeacher(null);
+        courseDao.updateCourse(history);
+        Course poetry = courseDao.getCourseById(3);
+        poetry.setTeacher(teacherDao.getTeacherById(2));
+        courseDao.updateCourse(poetry);
+        Course algebra = courseDao.getCourseById(1);
+        algebra.setName("Linear Algebra");
+        courseDao.updateCourse(algebra);
+
+        RosterStatistics fresh = new RosterStatistics(jdbc, Duration.ofMinutes(10));
+        assertThat(statistics.getEnrollmentCounts()).isEqualTo(fresh.getEnrollmentCounts());
+        assertThat(statistics.getCourseCountsByTeacher()).isEqualTo(fresh.getCourseCountsByTeacher());
+        assertThat(statistics.getTeacherCountsBySpecialty()).isEqualTo(fresh.getTeacherCountsBySpecialty());
+        assertThat(statistics.getTeacherCountForSpecialty("linear algebra")).isEqualTo(2);
+        assertThat(statistics.getUnassignedTeacherCount()).isZero();
+    }
+
+    @Test
+    void deletedCourseMovesItsSpecialtyTeachersToUnassigned() {
+        assertThat(courseDao.isCourseInUse(3)).isFalse();
+        jdbc.update("UPDATE teacher SET specialty = 'Poetry', specialty_course_id = 3 WHERE id = 3");
+        statistics.invalidate();
+        assertThat(courseDao.isCourseInUse(3)).isTrue();
+
+        courseDao.deleteCourseById(3);
+
+        assertThat(statistics.getTeacherCountForSpecialty("Poetry")).isZero();
+        assertThat(statistics.getUnassignedTeacherCount()).isEqualTo(1);
+        assertThat(jdbc.queryForObject("SELECT specialty FROM teacher WHERE id = 3", String.class))
+            .isEqualTo(RosterStatistics.UNASSIGNED_SPECIALTY);
+    }
+
+    @Test
+    void loadDuringAnUncommittedWriteIsNotKept() {
+        TransactionTemplate transaction = new TransactionTemplate(new DataSourceTransactionManager(database));
+        transaction.executeWithoutResult(status -> {
+            studentDao.enrollStudentInCourse(4, 3);
+            // Loads on the transaction's connection, so it already sees the new row
+            assertThat(statistics.getEnrollmentCount(3)).isEqualTo(1);
+        });
+        assertThat(statistics.getEnrollmentCount(3)).isEqualTo(1);
+
+        transaction.executeWithoutResult(status -> {
+            studentDao.enrollStudentInCourse(5, 3);
+            status.setRollbackOnly();
+        });
+        assertThat(statistics.getEnrollmentCount(3)).isEqualTo(1);
+    }
+}
@@ -0,0 +1,71 @@
+package com.example.ClassRosterWebService.DAO;
+
+import org.flywaydb.core.Flyway;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+import org.springframework.jdbc.datasource.SimpleDriverDataSource;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/*
+In-memory H2 database (MySQL mode) with the roster schema, built by the same
+migrations as production, wrapped so tests can count how many statements the
+DAOs issue.
+ */
+public class RosterTestDatabase extends DelegatingDataSource {
+
+    private final AtomicInteger statementCount = new AtomicInteger();
+
+    public RosterTestDatabase() {
+        super(createH2());
+        Flyway.configure().dataSource(getTargetDataSource()).load().migrate();
+    }
+
+    private static DataSource createH2() {
+        String url = "jdbc:h2:mem:roster-" + UUID.randomUUID()
+                + ";MODE=MySQL;DATABASE_TO_LOWER=TRUE;IGNORECASE=TRUE;NON_KEYWORDS=USER,ROLE;DB_CLOSE_DELAY=-1";
+        return new SimpleDriverDataSource(new org.h2.Driver(), url, "sa", "");
+    }
+
+    public int getStatementCount() {
+        return statementCount.get();
+    }
+
+    public void resetStatementCount() {
+        statementCount.set(0);
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        return countingProxy(super.getConnection());
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return countingProxy(super.getConnection(username, password));
+    }
+
+    // Every JdbcTemplate call creates exactly one (prepared) statement, so counting those is enough
+    private Connection countingProxy(Connection target) {
+        return (Connection) Proxy.newProxyInstance(
+                Connection.class.getClassLoader(),
+                new Class<?>[]{Connection.class},
+                (proxy, method, args) -> {
+                    String name = method.getName();
+                    if (name.equals("prepareStatement") || name.equals("createStatement")
+                            || name.equals("prepareCall")) {
+                        statementCount.incrementAndGet();
+                    }
+                    try {
+                        return method.invoke(target, args);
+                    } catch (InvocationTargetException ex) {
+                        throw ex.getTargetException();
+                    }
+                });
+    }
+}
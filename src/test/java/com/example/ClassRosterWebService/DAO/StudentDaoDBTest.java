@@ -0,0 +1,315 @@
+package com.example.ClassRosterWebService.DAO;
+
+import com.example.ClassRosterWebService.Cache.BoundedCache;
+import com.example.ClassRosterWebService.Cache.RosterVersion;
+import com.example.ClassRosterWebService.Entity.Course;
+import com.example.ClassRosterWebService.Entity.Student;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.ParameterizedPreparedStatementSetter;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class StudentDaoDBTest {
+
+    private RosterTestDatabase database;
+    private JdbcTemplate jdbc;
+    private StudentDaoDB studentDao;
+    private CachingUserDao userDao;
+
+    @BeforeEach
+    void setUp() {
+        database = new RosterTestDatabase();
+        jdbc = new JdbcTemplate(database);
+        studentDao = new StudentDaoDB();
+        studentDao.jdbc = jdbc;
+        studentDao.statistics = new RosterStatistics(jdbc, Duration.ofMinutes(10));
+        studentDao.rosterVersion = new RosterVersion();
+        userDao = new CachingUserDao();
+        userDao.delegate = new UserDaoDB();
+        userDao.delegate.jdbc = jdbc;
+        userDao.userCache = new BoundedCache<>("user", 100, Duration.ofMinutes(5));
+        studentDao.userDao = userDao;
+    }
+
+    @Test
+    void getAllStudents_statementCountDoesNotGrowWithRoster() {
+        seedRoster(5, 3);
+        database.resetStatementCount();
+        studentDao.getAllStudents();
+        int smallRosterStatements = database.getStatementCount();
+
+        seedRoster(200, 6);
+        database.resetStatementCount();
+        List<Student> students = studentDao.getAllStudents();
+
+        assertThat(students).hasSize(205);
+        assertThat(database.getStatementCount()).isEqualTo(smallRosterStatements);
+    }
+
+    @Test
+    void getAllStudents_attachesCoursesAndTeachers() {
+        jdbc.update("INSERT INTO teacher(id, firstName, lastName, specialty) VALUES (1, 'Mary', 'Lyons', 'History')");
+        jdbc.update("INSERT INTO course(id, name, description, teacherId) VALUES (1, 'History', 'Intro', 1)");
+        jdbc.update("INSERT INTO course(id, name, description, teacherId) VALUES (2, 'Art', 'Intro', NULL)");
+        jdbc.update("INSERT INTO student(id, studentId, firstName, lastName) VALUES (1, 'S001', 'Ann', 'Brown')");
+        jdbc.update("INSERT INTO student(id, studentId, firstName, lastName) VALUES (2, 'S002', 'Bob', 'Adams')");
+        jdbc.update("INSERT INTO course_student(courseId, studentId) VALUES (1, 1)");
+        jdbc.update("INSERT INTO course_student(courseId, studentId) VALUES (2, 1)");
+
+        List<Student> students = studentDao.getAllStudents();
+
+        assertThat(students).extracting(Student::getLastName).containsExactly("Adams", "Brown");
+        assertThat(students.get(0).getCourses()).isEmpty();
+
+        List<Course> courses = students.get(1).getCourses();
+        assertThat(courses).extracting(Course::getName).containsExactly("Art", "History");
+        assertThat(courses.get(0).getTeacher()).isNull();
+        assertThat(courses.get(1).getTeacher().getLastName()).isEqualTo("Lyons");
+    }
+
+    @Test
+    void getCoursesForStudent_usesSingleStatement() {
+        seedRoster(3, 5);
+        database.resetStatementCount();
+
+        List<Course> courses = studentDao.getCoursesForStudent(1);
+
+        assertThat(courses).hasSize(5);
+        assertThat(courses).allSatisfy(course -> assertThat(course.getTeacher()).isNotNull());
+        assertThat(database.getStatementCount()).isEqualTo(1);
+    }
+
+    @Test
+    void getStudentsPage_walksRosterWithCursorsAndTwoStatementsPerPage() {
+        seedRoster(25, 2);
+        List<String> expected = jdbc.queryForList(
+                "SELECT studentId FROM student ORDER BY lastName, firstName, id", String.class);
+
+        List<String> seen = new ArrayList<>();
+        String cursor = null;
+        do {
+            database.resetStatementCount();
+            StudentPage page = studentDao.getStudentsPage("", cursor, false, 10);
+            assertThat(database.getStatementCount()).isEqualTo(2);
+            assertThat(page.getStudents()).allSatisfy(s -> assertThat(s.getCourses()).hasSize(2));
+            page.getStudents().forEach(s -> seen.add(s.getStudentId()));
+            cursor = page.getNextCursor();
+        } while (cursor != null);
+
+        assertThat(seen).containsExactlyElementsOf(expected);
+    }
+
+    @Test
+    void getStudentsPage_breaksTiesOnIdAndSupportsDescending() {
+        jdbc.update("INSERT INTO student(id, studentId, firstName, lastName) VALUES (1, 'S001', 'Ann', 'Smith')");
+        jdbc.update("INSERT INTO student(id, studentId, firstName, lastName) VALUES (2, 'S002', 'Ann', 'Smith')");
+        jdbc.update("INSERT INTO student(id, studentId, firstName, lastName) VALUES (3, 'S003', 'Bob', 'Adams')");
+
+        StudentPage first = studentDao.getStudentsPage(null, null, true, 2);
+        StudentPage second = studentDao.getStudentsPage(null, first.getNextCursor(), true, 2);
+
+        assertThat(first.getStudents()).extracting(Student::getId).containsExactly(2, 1);
+        assertThat(second.getStudents()).extracting(Student::getId).containsExactly(3);
+        assertThat(second.hasNext()).isFalse();
+    }
+
+    @Test
+    void getStudentsPage_filtersByLiteralLastNamePrefix() {
+        jdbc.update("INSERT INTO student(studentId, firstName, lastName) VALUES ('S001', 'Ann', 'Mac_Lean')");
+        jdbc.update("INSERT INTO student(studentId, firstName, lastName) VALUES ('S002', 'Bob', 'MacXLean')");
+        jdbc.update("INSERT INTO student(studentId, firstName, lastName) VALUES ('S003', 'Cy', 'Brown')");
+
+        StudentPage page = studentDao.getStudentsPage("mac_", null, false, 10);
+
+        assertThat(page.getStudents()).extracting(Student::getLastName).containsExactly("Mac_Lean");
+    }
+
+    @Test
+    void getStudentsPage_rejectsMalformedCursor() {
+        assertThatThrownBy(() -> studentDao.getStudentsPage(null, "bm90LWEtY3Vyc29y", false, 10))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void addStudents_setsGeneratedIdsInInsertOrder() {
+        List<Student> students = new ArrayList<>();
+        for (int i = 0; i < 2500; i++) {
+            students.add(new Student(0, "B" + i, "First", "Last"));
+        }
+        database.resetStatementCount();
+
+        studentDao.addStudents(students);
+
+        assertThat(database.getStatementCount()).isEqualTo(3);
+        for (Student student : List.of(students.get(0), students.get(1234), students.get(2499))) {
+            assertThat(jdbc.queryForObject("SELECT studentId FROM student WHERE id = ?", String.class, student.getId()))
+                    .isEqualTo(student.getStudentId());
+        }
+    }
+
+    @Test
+    void findExistingStudentIds_matchesCaseInsensitively() {
+        jdbc.update("INSERT INTO student(studentId, firstName, lastName) VALUES ('S001', 'Ann', 'Brown')");
+
+        assertThat(studentDao.findExistingStudentIds(List.of("s001", "S002"))).containsExactly("s001");
+    }
+
+    @Test
+    void enrollStudentsInCourse_countsInsertedAlreadyEnrolledAndUnknown() {
+        seedRoster(3000, 1);
+        int courseId = jdbc.queryForObject("SELECT MIN(id) FROM course", Integer.class);
+        jdbc.update("INSERT INTO course(name, description) VALUES ('Empty', 'Intro')");
+        int emptyCourseId = jdbc.queryForObject("SELECT MAX(id) FROM course", Integer.class);
+        List<Integer> studentIds = jdbc.queryForList("SELECT id FROM student ORDER BY id", Integer.class);
+        jdbc.update("INSERT INTO course_student(courseId, studentId) VALUES (?, ?)", emptyCourseId, studentIds.get(0));
+
+        List<Integer> request = new ArrayList<>(studentIds);
+        request.add(studentIds.get(1));   // duplicate in the request
+        request.add(-1);                  // no such student
+        database.resetStatementCount();
+
+        BulkEnrollmentResult result = studentDao.enrollStudentsInCourse(emptyCourseId, request);
+
+        assertThat(result.getRequested()).isEqualTo(3001);
+        assertThat(result.getInserted()).isEqualTo(2999);
+        assertThat(result.getAlreadyEnrolled()).isEqualTo(1);
+        assertThat(result.getUnknownIds()).containsExactly(-1);
+        // target check + 4 chunks each for the id and enrollment lookups + one statement for all insert batches
+        assertThat(database.getStatementCount()).isEqualTo(10);
+        assertThat(jdbc.queryForObject("SELECT COUNT(*) FROM course_student WHERE courseId = ?", Integer.class, emptyCourseId))
+                .isEqualTo(3000);
+        assertThat(studentDao.enrollStudentsInCourse(courseId, studentIds).getAlreadyEnrolled()).isEqualTo(3000);
+    }
+
+    @Test
+    void enrollStudentInCourses_recountsWhenBatchReportsNoRowCounts() {
+        seedRoster(1, 3);
+        int studentId = jdbc.queryForObject("SELECT id FROM student", Integer.class);
+        jdbc.update("DELETE FROM course_student");
+        List<Integer> courseIds = jdbc.queryForList("SELECT id FROM course ORDER BY id", Integer.class);
+        JdbcTemplate otherSession = new JdbcTemplate(database.getTargetDataSource());
+        // Like a driver that rewrites batches; another session enrolls the student in the
+        // first course after the existence check, so INSERT IGNORE skips that row
+        studentDao.jdbc = new JdbcTemplate(database) {
+            @Override
+            public <T> int[][] batchUpdate(String sql, Collection<T> batchArgs, int batchSize,
+                                           ParameterizedPreparedStatementSetter<T> pss) {
+                otherSession.update("INSERT INTO course_student(courseId, studentId) VALUES (?, ?)",
+                        courseIds.get(0), studentId);
+                int[][] counts = super.batchUpdate(sql, batchArgs, batchSize, pss);
+                for (int[] batch : counts) {
+                    Arrays.fill(batch, Statement.SUCCESS_NO_INFO);
+                }
+                return counts;
+            }
+        };
+        TransactionTemplate transaction = new TransactionTemplate(new DataSourceTransactionManager(database));
+        transaction.setIsolationLevel(TransactionDefinition.ISOLATION_REPEATABLE_READ);
+
+        BulkEnrollmentResult result = transaction.execute(status ->
+                studentDao.enrollStudentInCourses(studentId, courseIds));
+
+        assertThat(result.getInserted()).isEqualTo(2);
+        assertThat(result.getAlreadyEnrolled()).isEqualTo(1);
+        assertThat(studentDao.statistics.getEnrollmentCount(courseIds.get(1))).isEqualTo(1);
+    }
+
+    @Test
+    void unenrollStudentFromCourses_countsRemovedAndNotEnrolled() {
+        seedRoster(1, 3);
+        int studentId = jdbc.queryForObject("SELECT id FROM student", Integer.class);
+        List<Integer> courseIds = jdbc.queryForList("SELECT id FROM course ORDER BY id", Integer.class);
+        jdbc.update("DELETE FROM course_student WHERE courseId = ?", courseIds.get(2));
+
+        BulkEnrollmentResult result = studentDao.unenrollStudentFromCourses(studentId, List.of(
+                courseIds.get(0), courseIds.get(1), courseIds.get(2), 999));
+
+        assertThat(result.getRemoved()).isEqualTo(2);
+        assertThat(result.getNotEnrolled()).isEqualTo(1);
+        assertThat(result.getUnknownIds()).containsExactly(999);
+        assertThat(studentDao.getCoursesForStudent(studentId)).isEmpty();
+    }
+
+    @Test
+    void addAndUpdateStudent_rejectTakenStudentIdWithoutPreQuery() {
+        jdbc.update("INSERT INTO student(id, studentId, firstName, lastName) VALUES (1, 'S001', 'Ann', 'Brown')");
+        jdbc.update("INSERT INTO student(id, studentId, firstName, lastName) VALUES (2, 'S002', 'Bob', 'Adams')");
+
+        database.resetStatementCount();
+        assertThatThrownBy(() -> studentDao.addStudent(new Student(0, "s001", "Cy", "Clark")))
+                .hasMessage("Student ID 's001' already exists!");
+        assertThat(database.getStatementCount()).isEqualTo(1);
+
+        Student bob = new Student(2, "S001", "Bob", "Adams");
+        assertThatThrownBy(() -> studentDao.updateStudent(bob))
+                .hasMessage("Student ID 'S001' already exists!");
+    }
+
+    @Test
+    void enrollStudentInCourse_rejectsExistingEnrollment() {
+        jdbc.update("INSERT INTO course(id, name, description) VALUES (1, 'History', 'Intro')");
+        jdbc.update("INSERT INTO student(id, studentId, firstName, lastName) VALUES (1, 'S001', 'Ann', 'Brown')");
+        studentDao.enrollStudentInCourse(1, 1);
+
+        database.resetStatementCount();
+        assertThatThrownBy(() -> studentDao.enrollStudentInCourse(1, 1))
+                .hasMessage("Student is already enrolled in this course.");
+        assertThat(database.getStatementCount()).isEqualTo(1);
+    }
+
+    @Test
+    void enrollStudentInCourses_rejectsUnknownStudent() {
+        assertThatThrownBy(() -> studentDao.enrollStudentInCourses(42, List.of(1)))
+                .hasMessage("Student not found!");
+    }
+
+    @Test
+    void deleteStudentById_unlinksAccountAndClearsCachedUser() {
+        jdbc.update("INSERT INTO student(id, studentId, firstName, lastName) VALUES (1, 'S001', 'Ann', 'Brown')");
+        jdbc.update("INSERT INTO `user`(id, username, password, enabled, student_id) VALUES (1, 'ann', 'hash', TRUE, 1)");
+        assertThat(userDao.getUserByUsername("ann").getStudentId()).isEqualTo(1);
+
+        studentDao.deleteStudentById(1);
+
+        assertThat(userDao.getUserByUsername("ann").getStudentId()).isNull();
+        assertThat(userDao.findUserByStudentId(1)).isEmpty();
+    }
+
+    // Adds the given number of students, each enrolled in coursesPerStudent courses with a teacher
+    private void seedRoster(int studentCount, int coursesPerStudent) {
+        int existingCourses = jdbc.queryForObject("SELECT COUNT(*) FROM course", Integer.class);
+        for (int i = existingCourses; i < coursesPerStudent; i++) {
+            jdbc.update("INSERT INTO teacher(firstName, lastName, specialty) VALUES (?, ?, ?)",
+                    "First" + i, "Last" + i, "Course" + i);
+            int teacherId = jdbc.queryForObject("SELECT MAX(id) FROM teacher", Integer.class);
+            jdbc.update("INSERT INTO course(name, description, teacherId) VALUES (?, ?, ?)",
+                    "Course" + i, "Description", teacherId);
+        }
+        List<Integer> courseIds = jdbc.queryForList("SELECT id FROM course ORDER BY id", Integer.class);
+
+        int existingStudents = jdbc.queryForObject("SELECT COUNT(*) FROM student", Integer.class);
+        for (int i = 0; i < studentCount; i++) {
+            int n = existingStudents + i;
+            jdbc.update("INSERT INTO student(studentId, firstName, lastName) VALUES (?, ?, ?)",
+                    "S" + n, "First" + n, "Last" + n);
+            int studentId = jdbc.queryForObject("SELECT MAX(id) FROM student", Integer.class);
+            for (int c = 0; c < coursesPerStudent; c++) {
+                jdbc.update("INSERT INTO course_student(courseId, studentId) VALUES (?, ?)",
+                        courseIds.get(c), studentId);
+            }
+        }
+    }
+}
@@ -0,0 +1,76 @@
+package com.example.ClassRosterWebService.DAO;
+
+import com.example.ClassRosterWebService.Cache.RosterVersion;
+import com.example.ClassRosterWebService.Entity.Teacher;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TeacherDaoDBTest {
+
+    private JdbcTemplate jdbc;
+    private TeacherDaoDB teacherDao;
+    private TransactionTemplate transaction;
+
+    @BeforeEach
+    void setUp() {
+        RosterTestDatabase database = new RosterTestDatabase();
+        jdbc = new JdbcTemplate(database);
+        transaction = new TransactionTemplate(new DataSourceTransactionManager(database));
+        teacherDao = new TeacherDaoDB();
+        teacherDao.jdbc = jdbc;
+        teacherDao.statistics = new RosterStatistics(jdbc, Duration.ofMinutes(10));
+        teacherDao.rosterVersion = new RosterVersion();
+        jdbc.update("INSERT INTO course(id, name, description, teacherId) VALUES (1, 'Quadratics', 'Intro', NULL)");
+    }
+
+    @Test
+    void addAndUpdateTeacher_linkSpecialtyToCourseOfThatName() {
+        // In a transaction so LAST_INSERT_ID() runs on the INSERT's connection
+        Teacher teacher = transaction.execute(status -> teacherDao.addTeacher(new Teacher(0, "Shane", "Keefe", "quadratics")));
+        assertThat(specialtyCourseId(teacher.getId())).isEqualTo(1);
+
+        teacher.setSpecialty("Wax on, Wax off");
+        teacherDao.updateTeacher(teacher);
+        assertThat(specialtyCourseId(teacher.getId())).isNull();
+        assertThat(teacherDao.getTeacherById(teacher.getId()).getSpecialty()).isEqualTo("Wax on, Wax off");
+    }
+
+    @Test
+    void getTeacherById_readsSpecialtyFromLinkedCourse() {
+        jdbc.update("INSERT INTO teacher(id, firstName, lastName, specialty, specialty_course_id) VALUES (1, 'Shane', 'Keefe', 'Old name', 1)");
+
+        assertThat(teacherDao.getTeacherById(1).getSpecialty()).isEqualTo("Quadratics");
+        assertThat(teacherDao.getAllTeachers()).extracting(Teacher::getSpecialty).containsExactly("Quadratics");
+    }
+
+    @Test
+    void findTeacherById_isEmptyForUnknownId() {
+        assertThat(teacherDao.findTeacherById(42)).isEmpty();
+        assertThat(teacherDao.getTeacherById(42)).isNull();
+    }
+
+    @Test
+    void getTeacherByCourse_listsAssignedAndSpecialtyTeachersOnce() {
+        jdbc.update("INSERT INTO teacher(id, firstName, lastName, specialty, specialty_course_id) VALUES (1, 'Shane', 'Keefe', 'Quadratics', 1)");
+        jdbc.update("INSERT INTO teacher(id, firstName, lastName, specialty, specialty_course_id) VALUES (2, 'Mary', 'Lyons', 'Quadratics', 1)");
+        jdbc.update("INSERT INTO teacher(id, firstName, lastName, specialty) VALUES (3, 'Brian', 'Eno', 'Music')");
+        jdbc.update("INSERT INTO course(id, name, description, teacherId) VALUES (2, 'Ambient', 'Intro', 3)");
+        jdbc.update("UPDATE course SET teacherId = 1 WHERE id = 1");
+
+        assertThat(teacherDao.getTeacherByCourse()).containsExactly(
+                "Brian  Eno teaches Ambient",
+                "Shane  Keefe teaches Quadratics",
+                "Mary  Lyons teaches Quadratics");
+    }
+
+    private Integer specialtyCourseId(int teacherId) {
+        return jdbc.queryForObject("SELECT specialty_course_id FROM teacher WHERE id = ?", Integer.class, teacherId);
+    }
+}
@@ -0,0 +1,87 @@
+package com.example.ClassRosterWebService.DAO;
+
+import com.example.ClassRosterWebService.Entity.Role;
+import com.example.ClassRosterWebService.Entity.User;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class UserDaoDBTest {
+
+    private RosterTestDatabase database;
+    private JdbcTemplate jdbc;
+    private UserDaoDB userDao;
+
+    @BeforeEach
+    void setUp() {
+        database = new RosterTestDatabase();
+        jdbc = new JdbcTemplate(database);
+        userDao = new UserDaoDB();
+        userDao.jdbc = jdbc;
+
+        jdbc.update("INSERT INTO `role`(id, name) VALUES (1, 'ADMIN'), (2, 'TEACHER'), (3, 'STUDENT')");
+    }
+
+    @Test
+    void getUserByUsername_loadsUserAndRolesInOneStatement() {
+        addUser(1, "admin", null, 1, 2);
+        database.resetStatementCount();
+
+        User user = userDao.getUserByUsername("admin");
+
+        assertThat(user.getId()).isEqualTo(1);
+        assertThat(user.getStudentId()).isNull();
+        assertThat(user.getRoles()).extracting(Role::getName).containsExactly("ADMIN", "TEACHER");
+        assertThat(database.getStatementCount()).isEqualTo(1);
+    }
+
+    @Test
+    void getUserByStudentId_returnsUserWithoutRolesOrNull() {
+        addUser(1, "student1", 7);
+
+        User user = userDao.getUserByStudentId(7);
+
+        assertThat(user.getUsername()).isEqualTo("student1");
+        assertThat(user.getRoles()).isEmpty();
+        assertThat(userDao.getUserByStudentId(8)).isNull();
+    }
+
+    @Test
+    void getAllUsers_usesOneStatementForAnyNumberOfUsers() {
+        for (int i = 1; i <= 50; i++) {
+            addUser(i, String.format("user%02d", i), null, 3);
+        }
+        database.resetStatementCount();
+
+        List<User> users = userDao.getAllUsers();
+
+        assertThat(users).hasSize(50);
+        assertThat(users.get(0).getUsername()).isEqualTo("user01");
+        assertThat(users).allSatisfy(user -> assertThat(user.getRoles()).hasSize(1));
+        assertThat(database.getStatementCount()).isEqualTo(1);
+    }
+
+    @Test
+    void getUsersByIds_returnsOnlyRequestedUsers() {
+        addUser(1, "carol", null, 1);
+        addUser(2, "alice", null, 2, 3);
+        addUser(3, "bob", null);
+
+        List<User> users = userDao.getUsersByIds(List.of(1, 2, 2));
+
+        assertThat(users).extracting(User::getUsername).containsExactly("alice", "carol");
+        assertThat(users.get(0).getRoles()).hasSize(2);
+    }
+
+    private void addUser(int id, String username, Integer studentId, int... roleIds) {
+        jdbc.update("INSERT INTO `user`(id, username, password, enabled, student_id) VALUES (?, ?, 'hash', TRUE, ?)",
+                id, username, studentId);
+        for (int roleId : roleIds) {
+            jdbc.update("INSERT INTO user_role(user_id, role_id) VALUES (?, ?)", id, roleId);
+        }
+    }
+}
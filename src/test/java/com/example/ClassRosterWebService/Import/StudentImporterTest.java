@@ -0,0 +1,132 @@
+package com.example.ClassRosterWebService.Import;
+
+import com.example.ClassRosterWebService.Cache.RosterVersion;
+import com.example.ClassRosterWebService.DAO.RosterTestDatabase;
+import com.example.ClassRosterWebService.DAO.StudentDaoDB;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.Collection;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class StudentImporterTest {
+
+    private RosterTestDatabase database;
+    private JdbcTemplate jdbc;
+    private StudentImporter importer;
+
+    @BeforeEach
+    void setUp() {
+        database = new RosterTestDatabase();
+        jdbc = new JdbcTemplate(database);
+        StudentDaoDB studentDao = new StudentDaoDB();
+        ReflectionTestUtils.setField(studentDao, "jdbc", jdbc);
+        ReflectionTestUtils.setField(studentDao, "rosterVersion", new RosterVersion());
+        importer = new StudentImporter();
+        importer.studentDao = studentDao;
+        importer.maxRows = 200000;
+    }
+
+    @Test
+    void importCsv_importsValidRowsAndReportsEachRejectedLine() throws Exception {
+        jdbc.update("INSERT INTO student(studentId, firstName, lastName) VALUES ('S001', 'Ann', 'Brown')");
+        String csv = "lastName,studentId,firstName\r\n"
+                + "Adams,S100,Bob\r\n"
+                + "Brown,s001,Ann\r\n"          // already in the database (case-insensitive)
+                + "\"O'Neil, Jr\",S101,Cy\r\n"  // comma inside quotes is not allowed in a name
+                + "Lee,S100,Dee\r\n"            // duplicate within the file
+                + "Kim,S102,X\r\n"              // first name too short
+                + "Park,S103,Eve\r\n";
+
+        StudentImportResult result = importer.importCsv(new StringReader(csv));
+
+        assertThat(result.getTotalRows()).isEqualTo(6);
+        assertThat(result.getImportedCount()).isEqualTo(2);
+        assertThat(result.getErrors()).extracting(StudentImportResult.RowError::getLine)
+                .containsExactly(3, 4, 5, 6);
+        assertThat(result.getErrors().get(0).getMessages()).containsExactly("Student ID 's001' already exists!");
+        assertThat(result.getErrors().get(2).getMessages().get(0)).contains("first seen on line 2");
+        assertThat(jdbc.queryForList("SELECT studentId FROM student ORDER BY studentId", String.class))
+                .containsExactly("S001", "S100", "S103");
+    }
+
+    @Test
+    void importCsv_statementCountDoesNotGrowPerRow() throws Exception {
+        StringBuilder csv = new StringBuilder("studentId,firstName,lastName\n");
+        for (int i = 0; i < 5000; i++) {
+            csv.append("ID").append(i).append(",First,Last\n");
+        }
+        database.resetStatementCount();
+
+        StudentImportResult result = importer.importCsv(new StringReader(csv.toString()));
+
+        assertThat(result.getImportedCount()).isEqualTo(5000);
+        assertThat(result.getErrors()).isEmpty();
+        // 5 IN-list chunks for the duplicate check + 5 insert batches
+        assertThat(database.getStatementCount()).isEqualTo(10);
+        assertThat(jdbc.queryForObject("SELECT COUNT(DISTINCT id) FROM student", Integer.class)).isEqualTo(5000);
+    }
+
+    @Test
+    void importCsv_idTakenAfterTheExistenceCheckRollsBackTheWholeFile() {
+        // Another connection commits S101 between the existence check and the insert
+        JdbcTemplate otherSession = new JdbcTemplate(database.getTargetDataSource());
+        StudentDaoDB studentDao = new StudentDaoDB() {
+            @Override
+            public Set<String> findExistingStudentIds(Collection<String> studentIds) {
+                Set<String> existing = super.findExistingStudentIds(studentIds);
+                otherSession.update("INSERT INTO student(studentId, firstName, lastName) VALUES ('S101', 'Cy', 'Park')");
+                return existing;
+            }
+        };
+        ReflectionTestUtils.setField(studentDao, "jdbc", jdbc);
+        ReflectionTestUtils.setField(studentDao, "rosterVersion", new RosterVersion());
+        importer.studentDao = studentDao;
+        // What the @Transactional proxy does around importCsv
+        TransactionTemplate transaction = new TransactionTemplate(new DataSourceTransactionManager(database));
+        String csv = "studentId,firstName,lastName\nS100,Bob,Adams\nS101,Dee,Lee\nS102,Eve,Kim\n";
+
+        assertThatThrownBy(() -> transaction.execute(status -> {
+            try {
+                return importer.importCsv(new StringReader(csv));
+            } catch (IOException e) {
+                throw new IllegalStateException(e);
+            }
+        })).isInstanceOf(DuplicateKeyException.class);
+
+        assertThat(jdbc.queryForList("SELECT firstName FROM student", String.class)).containsExactly("Cy");
+    }
+
+    @Test
+    void importCsv_rejectsFileWithoutRequiredColumns() {
+        assertThatThrownBy(() -> importer.importCsv(new StringReader("id,name\n1,Ann\n")))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("studentId");
+    }
+
+    @Test
+    void csvReader_handlesQuotesEmbeddedNewlinesAndBlankLines() throws Exception {
+        CsvReader reader = new CsvReader(new StringReader("﻿a,\"b \"\"x\"\"\"\n\n\"multi\nline\",c\r\nd"));
+
+        CsvReader.Record first = reader.next();
+        CsvReader.Record second = reader.next();
+        CsvReader.Record third = reader.next();
+
+        assertThat(first.getFields()).containsExactly("a", "b \"x\"");
+        assertThat(second.getLine()).isEqualTo(3);
+        assertThat(second.getFields()).containsExactly("multi\nline", "c");
+        assertThat(third.getLine()).isEqualTo(5);
+        assertThat(third.getFields()).containsExactly("d");
+        assertThat(reader.next()).isNull();
+    }
+}
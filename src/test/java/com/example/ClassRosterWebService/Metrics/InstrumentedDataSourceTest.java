@@ -0,0 +1,134 @@
+package com.example.ClassRosterWebService.Metrics;
+
+import com.example.ClassRosterWebService.DAO.RosterTestDatabase;
+import com.example.ClassRosterWebService.DAO.StudentDaoDB;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.servlet.HandlerMapping;
+
+import jakarta.servlet.http.HttpServlet;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class InstrumentedDataSourceTest {
+
+    private SimpleMeterRegistry registry;
+    private JdbcTemplate jdbc;
+    private StudentDaoDB studentDao;
+
+    @BeforeEach
+    void setUp() {
+        registry = new SimpleMeterRegistry();
+        jdbc = new JdbcTemplate(new InstrumentedDataSource(new RosterTestDatabase(), () -> registry));
+        studentDao = new StudentDaoDB();
+        ReflectionTestUtils.setField(studentDao, "jdbc", jdbc);
+        jdbc.update("INSERT INTO student(studentId, firstName, lastName) VALUES ('S001', 'Ann', 'Brown')");
+    }
+
+    @Test
+    void namesEachStatementAfterTheDaoMethodThatIssuedIt() {
+        studentDao.getAllStudents();
+
+        assertThat(queryTimer("StudentDaoDB.getAllStudents").count()).isEqualTo(1);
+        assertThat(queryTimer("StudentDaoDB.loadCoursesByStudent").count()).isEqualTo(1);
+        // The seeding INSERT above came from outside the application packages
+        assertThat(queryTimer(InstrumentedDataSource.UNATTRIBUTED).count()).isEqualTo(1);
+    }
+
+    @Test
+    void countsStatementsForTheBoundRequestOnly() {
+        DbRequestStats stats = new DbRequestStats();
+        DbRequestStats previous = DbRequestStats.bind(stats);
+        try {
+            studentDao.getAllStudents();
+            studentDao.findStudentById(1);
+        } finally {
+            DbRequestStats.restore(previous);
+        }
+        studentDao.getAllStudents();
+
+        assertThat(stats.getStatementCount()).isEqualTo(4);
+        assertThat(stats.getDbTimeNanos()).isPositive();
+        assertThat(DbRequestStats.current()).isNull();
+    }
+
+    @Test
+    void filterRecordsStatementsAndDbTimePerRoute() throws Exception {
+        DbRequestMetricsFilter filter = new DbRequestMetricsFilter(registry,
+                new RepeatedStatementGuard(RepeatedStatementGuard.Mode.WARN, 10));
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/students");
+        MockFilterChain chain = new MockFilterChain(new HttpServlet() {
+            @Override
+            protected void doGet(HttpServletRequest req, HttpServletResponse resp) {
+                req.setAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE, "/students");
+                studentDao.getAllStudents();
+            }
+        });
+
+        filter.doFilter(request, new MockHttpServletResponse(), chain);
+
+        DistributionSummary statements = registry.get(DbRequestMetricsFilter.STATEMENTS_SUMMARY)
+                .tag("uri", "/students").tag("method", "GET").summary();
+        assertThat(statements.count()).isEqualTo(1);
+        assertThat(statements.totalAmount()).isEqualTo(2);
+        assertThat(registry.get(DbRequestMetricsFilter.DB_TIME_TIMER).tag("uri", "/students").timer().count())
+                .isEqualTo(1);
+    }
+
+    @Test
+    void guardFlagsRepeatedShapeInWarnModeAndFailsInFailMode() throws Exception {
+        MockFilterChain warnChain = new MockFilterChain(new HttpServlet() {
+            @Override
+            protected void doGet(HttpServletRequest req, HttpServletResponse resp) {
+                req.setAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE, "/editStudent");
+                for (int i = 0; i < 5; i++) {
+                    studentDao.getCoursesForStudent(1);
+                }
+            }
+        });
+        new DbRequestMetricsFilter(registry, new RepeatedStatementGuard(RepeatedStatementGuard.Mode.WARN, 3))
+                .doFilter(new MockHttpServletRequest("GET", "/editStudent"), new MockHttpServletResponse(), warnChain);
+
+        assertThat(registry.get(DbRequestMetricsFilter.REPEATED_COUNTER)
+                .tag("query", "StudentDaoDB.getCoursesForStudent").counter().count()).isEqualTo(1);
+
+        MockFilterChain failChain = new MockFilterChain(new HttpServlet() {
+            @Override
+            protected void doGet(HttpServletRequest req, HttpServletResponse resp) {
+                for (int i = 0; i < 5; i++) {
+                    studentDao.findStudentById(1);
+                }
+            }
+        });
+        DbRequestMetricsFilter failing = new DbRequestMetricsFilter(registry,
+                new RepeatedStatementGuard(RepeatedStatementGuard.Mode.FAIL, 3));
+
+        assertThatThrownBy(() -> failing.doFilter(new MockHttpServletRequest("GET", "/x"),
+                new MockHttpServletResponse(), failChain))
+                .isInstanceOf(RepeatedStatementException.class)
+                .hasMessageContaining("StudentDaoDB.findStudentById");
+    }
+
+    @Test
+    void sqlShapesIgnoreLiteralsAndInListLength() {
+        assertThat(SqlShapes.normalize("SELECT * FROM t WHERE id IN (?, ?,?) AND name = 'x''y' LIMIT 51"))
+                .isEqualTo("SELECT * FROM t WHERE id IN (?...) AND name = ? LIMIT ?");
+        assertThat(SqlShapes.normalize("SELECT *  FROM t\n WHERE id IN ( ? ) AND name = 'z' LIMIT 2"))
+                .isEqualTo("SELECT * FROM t WHERE id IN (?...) AND name = ? LIMIT ?");
+    }
+
+    private Timer queryTimer(String query) {
+        return registry.get(InstrumentedDataSource.QUERY_TIMER).tag("query", query).timer();
+    }
+}
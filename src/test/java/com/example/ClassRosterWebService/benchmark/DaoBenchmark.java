@@ -0,0 +1,93 @@
+package com.example.ClassRosterWebService.benchmark;
+
+import com.example.ClassRosterWebService.DAO.CourseDaoDB;
+import com.example.ClassRosterWebService.DAO.RosterTestDatabase;
+import com.example.ClassRosterWebService.DAO.StudentDaoDB;
+import com.example.ClassRosterWebService.DAO.UserDaoDB;
+import com.example.ClassRosterWebService.Entity.Course;
+import com.example.ClassRosterWebService.Entity.Student;
+import com.example.ClassRosterWebService.Entity.User;
+import com.zaxxer.hikari.HikariDataSource;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/*
+DAO read paths against H2 in MySQL mode behind a Hikari pool, as in production.
+Roster size is set with -p students=..., -p courses=..., -p coursesPerStudent=...
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class DaoBenchmark {
+
+    @Param({"100", "1000"})
+    int students;
+
+    @Param({"50"})
+    int courses;
+
+    @Param({"3"})
+    int coursesPerStudent;
+
+    private HikariDataSource dataSource;
+    private StudentDaoDB studentDao;
+    private CourseDaoDB courseDao;
+    private UserDaoDB userDao;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        RosterTestDatabase database = new RosterTestDatabase();
+        dataSource = new HikariDataSource();
+        dataSource.setDataSource(database.getTargetDataSource());
+        JdbcTemplate jdbc = new JdbcTemplate(dataSource);
+        RosterSeeder.seed(jdbc, students, courses, coursesPerStudent);
+
+        studentDao = new StudentDaoDB();
+        courseDao = new CourseDaoDB();
+        userDao = new UserDaoDB();
+        ReflectionTestUtils.setField(studentDao, "jdbc", jdbc);
+        ReflectionTestUtils.setField(courseDao, "jdbc", jdbc);
+        ReflectionTestUtils.setField(userDao, "jdbc", jdbc);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        dataSource.close();
+    }
+
+    @Benchmark
+    public List<Student> getAllStudents() {
+        return studentDao.getAllStudents();
+    }
+
+    @Benchmark
+    public List<Course> getAllCourses() {
+        return courseDao.getAllCourses();
+    }
+
+    @Benchmark
+    public User getUserByUsername() {
+        int student = ThreadLocalRandom.current().nextInt(students) + 1;
+        return userDao.getUserByUsername(RosterSeeder.username(student));
+    }
+}
@@ -0,0 +1,72 @@
+package com.example.ClassRosterWebService.benchmark;
+
+import com.example.ClassRosterWebService.Security.LoginAttemptLimiter;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.Duration;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/*
+Attempts per second through LoginAttemptLimiter. With keys > 1 every attempt
+picks a random username out of that many (a credential-stuffing flood), with
+keys = 1 all threads hit the same one. Comparing oneThread with allCores shows
+how far the lock stripes let throughput grow with the cores; stripes=1 is the
+single-lock baseline.
+
+    mvn -Pjmh verify -Djmh.args="LoginLimiterBenchmark -p stripes=1,64"
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class LoginLimiterBenchmark {
+
+    @Param({"64"})
+    int stripes;
+
+    @Param({"1", "100000"})
+    int keys;
+
+    private LoginAttemptLimiter limiter;
+    private String[] usernames;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        limiter = new LoginAttemptLimiter(Duration.ofMinutes(5), 100_000, stripes);
+        usernames = new String[keys];
+        for (int i = 0; i < keys; i++) {
+            usernames[i] = "user:student" + i;
+        }
+    }
+
+    @Benchmark
+    @Threads(1)
+    public boolean oneThread() {
+        return attempt();
+    }
+
+    @Benchmark
+    @Threads(Threads.MAX)
+    public boolean allCores() {
+        return attempt();
+    }
+
+    private boolean attempt() {
+        return limiter.tryAcquire(usernames[ThreadLocalRandom.current().nextInt(usernames.length)], 10);
+    }
+}
@@ -0,0 +1,76 @@
+package com.example.ClassRosterWebService.benchmark;
+
+import com.example.ClassRosterWebService.Security.SecurityConfig;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+/*
+Password checks per second at each BCrypt cost, through the encoder the
+application uses (SecurityConfig.passwordEncoder).
+
+perCore runs on one thread, so its score is logins per second per core.
+allCores runs one caller per core against the bounded hashing pool (hashThreads,
+0 = half the cores as in production), showing the total the pool lets through
+while leaving the other cores free.
+
+    mvn -Pjmh verify -Djmh.args="LoginThroughputBenchmark -p cost=10,12,14"
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 2, time = 3)
+@Measurement(iterations = 5, time = 3)
+@Fork(1)
+public class LoginThroughputBenchmark {
+
+    @Param({"10", "11", "12"})
+    int cost;
+
+    @Param({"0"})
+    int hashThreads;
+
+    private PasswordEncoder encoder;
+    private String storedHash;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        encoder = new SecurityConfig().passwordEncoder(cost, hashThreads, 10_000, Duration.ofMinutes(1),
+            new SimpleMeterRegistry());
+        storedHash = encoder.encode("password");
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws Exception {
+        ((DisposableBean) encoder).destroy();
+    }
+
+    @Benchmark
+    @Threads(1)
+    public boolean perCore() {
+        return encoder.matches("password", storedHash);
+    }
+
+    @Benchmark
+    @Threads(Threads.MAX)
+    public boolean allCores() {
+        return encoder.matches("password", storedHash);
+    }
+}
@@ -0,0 +1,95 @@
+package com.example.ClassRosterWebService.benchmark;
+
+import com.example.ClassRosterWebService.DAO.OptionalRowExtractor;
+import com.example.ClassRosterWebService.DAO.RosterTestDatabase;
+import com.example.ClassRosterWebService.DAO.TeacherDaoDB;
+import com.example.ClassRosterWebService.Entity.Teacher;
+import com.zaxxer.hikari.HikariDataSource;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.springframework.dao.EmptyResultDataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+/*
+Per-course teacher lookups over every course, where unassignedPercent of the
+courses have no teacher: queryForObject catching EmptyResultDataAccessException
+(the old CourseDaoDB.getTeacherForCourse) against a query through
+OptionalRowExtractor. Run with -prof gc to compare allocation per operation:
+
+    mvn -Pjmh verify -Djmh.args="NotFoundLookupBenchmark -prof gc"
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class NotFoundLookupBenchmark {
+
+    private static final String SELECT_TEACHER_FOR_COURSE =
+        "SELECT t.* FROM teacher t " +
+        "JOIN course c ON t.id = c.teacherId " +
+        "WHERE c.id = ?";
+
+    @Param({"200"})
+    int courses;
+
+    @Param({"0", "50", "90"})
+    int unassignedPercent;
+
+    private HikariDataSource dataSource;
+    private JdbcTemplate jdbc;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        RosterTestDatabase database = new RosterTestDatabase();
+        dataSource = new HikariDataSource();
+        dataSource.setDataSource(database.getTargetDataSource());
+        jdbc = new JdbcTemplate(dataSource);
+        RosterSeeder.seed(jdbc, 0, courses, 0);
+        jdbc.update("UPDATE course SET teacherId = NULL WHERE MOD(id, 100) < ?", unassignedPercent);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        dataSource.close();
+    }
+
+    @Benchmark
+    public void queryForObjectCatchingNotFound(Blackhole blackhole) {
+        TeacherDaoDB.TeacherMapper mapper = new TeacherDaoDB.TeacherMapper();
+        for (int courseId = 1; courseId <= courses; courseId++) {
+            Teacher teacher;
+            try {
+                teacher = jdbc.queryForObject(SELECT_TEACHER_FOR_COURSE, mapper, courseId);
+            } catch (EmptyResultDataAccessException ex) {
+                teacher = null;
+            }
+            blackhole.consume(teacher);
+        }
+    }
+
+    @Benchmark
+    public void queryWithOptionalRowExtractor(Blackhole blackhole) {
+        OptionalRowExtractor<Teacher> extractor = new OptionalRowExtractor<>(new TeacherDaoDB.TeacherMapper());
+        for (int courseId = 1; courseId <= courses; courseId++) {
+            Optional<Teacher> teacher = jdbc.query(SELECT_TEACHER_FOR_COURSE, extractor, courseId);
+            blackhole.consume(teacher);
+        }
+    }
+}
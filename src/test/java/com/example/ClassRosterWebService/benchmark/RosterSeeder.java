@@ -0,0 +1,52 @@
+package com.example.ClassRosterWebService.benchmark;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/*
+Fills an empty roster schema with a synthetic roster for the benchmarks.
+Every course gets a teacher, half of the teachers also have a specialty that
+names a course, and each student is enrolled in coursesPerStudent courses.
+One login user (with the STUDENT role) is created per student.
+ */
+public final class RosterSeeder {
+
+    private RosterSeeder() {
+    }
+
+    public static void seed(JdbcTemplate jdbc, int students, int courses, int coursesPerStudent) {
+        List<Object[]> teachers = new ArrayList<>();
+        List<Object[]> courseRows = new ArrayList<>();
+        for (int c = 1; c <= courses; c++) {
+            teachers.add(new Object[]{c, "First" + c, "Last" + c, c % 2 == 0 ? "Course" + c : null});
+            courseRows.add(new Object[]{c, "Course" + c, "Description of course " + c, c});
+        }
+        jdbc.batchUpdate("INSERT INTO teacher(id, firstName, lastName, specialty) VALUES (?, ?, ?, ?)", teachers);
+        jdbc.batchUpdate("INSERT INTO course(id, name, description, teacherId) VALUES (?, ?, ?, ?)", courseRows);
+
+        List<Object[]> studentRows = new ArrayList<>();
+        List<Object[]> enrollments = new ArrayList<>();
+        List<Object[]> users = new ArrayList<>();
+        List<Object[]> userRoles = new ArrayList<>();
+        for (int s = 1; s <= students; s++) {
+            studentRows.add(new Object[]{s, "S" + s, "First" + s, "Last" + (s % 997)});
+            for (int e = 0; e < Math.min(coursesPerStudent, courses); e++) {
+                enrollments.add(new Object[]{((s + e) % courses) + 1, s});
+            }
+            users.add(new Object[]{s, username(s), "{noop}password", s});
+            userRoles.add(new Object[]{s, 1});
+        }
+        jdbc.batchUpdate("INSERT INTO student(id, studentId, firstName, lastName) VALUES (?, ?, ?, ?)", studentRows);
+        jdbc.batchUpdate("INSERT INTO course_student(courseId, studentId) VALUES (?, ?)", enrollments);
+
+        jdbc.update("INSERT INTO `role`(id, name) VALUES (1, 'ROLE_STUDENT')");
+        jdbc.batchUpdate("INSERT INTO `user`(id, username, password, student_id) VALUES (?, ?, ?, ?)", users);
+        jdbc.batchUpdate("INSERT INTO user_role(user_id, role_id) VALUES (?, ?)", userRoles);
+    }
+
+    public static String username(int student) {
+        return "student" + student;
+    }
+}
@@ -0,0 +1,104 @@
+package com.example.ClassRosterWebService.benchmark;
+
+import com.example.ClassRosterWebService.DAO.CourseDaoDB;
+import com.example.ClassRosterWebService.DAO.StudentDaoDB;
+import com.example.ClassRosterWebService.DAO.TeacherDaoDB;
+import org.h2.tools.SimpleResultSet;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.springframework.jdbc.core.RowMapper;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Types;
+import java.util.concurrent.TimeUnit;
+
+/*
+Row mapping cost on its own: each mapper walks an in-memory result set, so no
+database or driver time is included.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class RowMapperBenchmark {
+
+    @Param({"1000"})
+    int rows;
+
+    private SimpleResultSet studentRows;
+    private SimpleResultSet courseRows;
+    private SimpleResultSet teacherRows;
+
+    private final StudentDaoDB.StudentMapper studentMapper = new StudentDaoDB.StudentMapper();
+    private final CourseDaoDB.CourseMapper courseMapper = new CourseDaoDB.CourseMapper();
+    private final TeacherDaoDB.TeacherMapper teacherMapper = new TeacherDaoDB.TeacherMapper();
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        studentRows = new SimpleResultSet();
+        studentRows.addColumn("id", Types.INTEGER, 10, 0);
+        studentRows.addColumn("studentId", Types.VARCHAR, 20, 0);
+        studentRows.addColumn("firstName", Types.VARCHAR, 50, 0);
+        studentRows.addColumn("lastName", Types.VARCHAR, 50, 0);
+
+        courseRows = new SimpleResultSet();
+        courseRows.addColumn("id", Types.INTEGER, 10, 0);
+        courseRows.addColumn("name", Types.VARCHAR, 50, 0);
+        courseRows.addColumn("description", Types.VARCHAR, 255, 0);
+        courseRows.addColumn("teacherId", Types.INTEGER, 10, 0);
+
+        teacherRows = new SimpleResultSet();
+        teacherRows.addColumn("id", Types.INTEGER, 10, 0);
+        teacherRows.addColumn("firstName", Types.VARCHAR, 30, 0);
+        teacherRows.addColumn("lastName", Types.VARCHAR, 50, 0);
+        teacherRows.addColumn("specialty", Types.VARCHAR, 50, 0);
+
+        // Keep the rows after the last next() so each invocation can rewind
+        studentRows.setAutoClose(false);
+        courseRows.setAutoClose(false);
+        teacherRows.setAutoClose(false);
+
+        for (int i = 1; i <= rows; i++) {
+            studentRows.addRow(i, "S" + i, "First" + i, "Last" + i);
+            courseRows.addRow(i, "Course" + i, "Description of course " + i, i);
+            teacherRows.addRow(i, "First" + i, "Last" + i, i % 2 == 0 ? "Course" + i : null);
+        }
+    }
+
+    @Benchmark
+    public void mapStudents(Blackhole blackhole) throws SQLException {
+        mapAll(studentRows, studentMapper, blackhole);
+    }
+
+    @Benchmark
+    public void mapCourses(Blackhole blackhole) throws SQLException {
+        mapAll(courseRows, courseMapper, blackhole);
+    }
+
+    @Benchmark
+    public void mapTeachers(Blackhole blackhole) throws SQLException {
+        mapAll(teacherRows, teacherMapper, blackhole);
+    }
+
+    private static void mapAll(ResultSet rs, RowMapper<?> mapper, Blackhole blackhole) throws SQLException {
+        rs.beforeFirst();
+        int index = 0;
+        while (rs.next()) {
+            blackhole.consume(mapper.mapRow(rs, index++));
+        }
+    }
+}
@@ -0,0 +1,230 @@
+package com.example.ClassRosterWebService.benchmark;
+
+import com.example.ClassRosterWebService.ClassRosterWebServiceApplication;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.context.annotation.Bean;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.net.CookieManager;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+/*
+End-to-end load on GET /students: the whole application on an embedded Tomcat,
+backed by H2 with a fixed delay added to every statement to stand in for the
+network round trip to MySQL. Each invocation fires `concurrency` simultaneous
+requests and waits for all of them, so the score is the time to drain one burst.
+Compare virtualThreads=false/true at each concurrency; the highest concurrency
+whose burst time stays near a single request's latency is the most the server
+absorbs at that latency.
+
+    mvn -Pjmh verify -Djmh.args="StudentsLoadBenchmark -p concurrency=100,400,1600 -p statementLatencyMillis=10"
+
+With platform threads the limit is server.tomcat.threads.max; with virtual
+threads it is the connection pools, sized here by the readPoolSize parameter.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class StudentsLoadBenchmark {
+
+    @Param({"false", "true"})
+    boolean virtualThreads;
+
+    @Param({"100", "400"})
+    int concurrency;
+
+    @Param({"5"})
+    int statementLatencyMillis;
+
+    @Param({"200"})
+    int tomcatThreads;
+
+    @Param({"50"})
+    int readPoolSize;
+
+    @Param({"1000"})
+    int students;
+
+    private ConfigurableApplicationContext context;
+    private HttpClient client;
+    private URI studentsUri;
+
+    @Setup(Level.Trial)
+    public void setUp() throws Exception {
+        context = new SpringApplicationBuilder(ClassRosterWebServiceApplication.class, LatencyConfig.class)
+            // Command-line arguments, so they override application.properties
+            .run(
+                "--server.port=0",
+                "--spring.datasource.url=jdbc:h2:mem:load-" + UUID.randomUUID()
+                    + ";MODE=MySQL;DATABASE_TO_LOWER=TRUE;IGNORECASE=TRUE;NON_KEYWORDS=USER,ROLE;DB_CLOSE_DELAY=-1",
+                "--spring.datasource.driver-class-name=org.h2.Driver",
+                "--spring.datasource.username=sa",
+                "--spring.datasource.password=",
+                "--spring.flyway.enabled=true",
+                "--spring.threads.virtual.enabled=" + virtualThreads,
+                "--server.tomcat.threads.max=" + tomcatThreads,
+                "--server.tomcat.accept-count=" + concurrency,
+                "--server.servlet.session.cookie.secure=false",
+                "--spring.thymeleaf.cache=true",
+                "--roster.datasource.pools.read.maximum-pool-size=" + readPoolSize,
+                "--roster.datasource.pools.write.maximum-pool-size=" + readPoolSize,
+                "--roster.datasource.pools.auth.maximum-pool-size=" + readPoolSize,
+                "--roster.datasource.pools.read.connection-timeout=60000",
+                "--roster.datasource.pools.write.connection-timeout=60000",
+                "--roster.datasource.pools.auth.connection-timeout=60000",
+                "--roster.benchmark.statement-latency-millis=" + statementLatencyMillis,
+                // application.properties turns on security and DAO debug logging, which would dominate the timings
+                "--logging.level.root=WARN",
+                "--logging.level.org.springframework.security=WARN",
+                "--logging.level.org.springframework.security.authentication=WARN",
+                "--logging.level.org.springframework.security.web=WARN",
+                "--logging.level.com.example.ClassRosterWebService=WARN",
+                "--logging.level.com.example.ClassRosterWebService.Security=WARN",
+                "--logging.level.com.example.ClassRosterWebService.DAO=WARN");
+
+        JdbcTemplate jdbc = context.getBean(JdbcTemplate.class);
+        RosterSeeder.seed(jdbc, students, 50, 3);
+        jdbc.update("INSERT INTO `role`(id, name) VALUES (2, 'ADMIN')");
+        jdbc.update("INSERT INTO `user`(id, username, password) VALUES (?, 'admin', ?)",
+            students + 1, new BCryptPasswordEncoder().encode("password"));
+        jdbc.update("INSERT INTO user_role(user_id, role_id) VALUES (?, 2)", students + 1);
+
+        String base = "http://localhost:" + context.getEnvironment().getProperty("local.server.port");
+        studentsUri = URI.create(base + "/students");
+        client = HttpClient.newBuilder()
+            .cookieHandler(new CookieManager())
+            .followRedirects(HttpClient.Redirect.NEVER)
+            .build();
+        client.send(HttpRequest.newBuilder(URI.create(base + "/login"))
+                .header("Content-Type", "application/x-www-form-urlencoded")
+                .POST(HttpRequest.BodyPublishers.ofString("username=admin&password=password"))
+                .build(),
+            HttpResponse.BodyHandlers.discarding());
+        HttpResponse<Void> probe = send().join();
+        if (probe.statusCode() != 200) {
+            throw new IllegalStateException("GET /students returned " + probe.statusCode() + " after logging in: "
+                + probe.headers().map());
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        client.close();
+        context.close();
+    }
+
+    @Benchmark
+    public int burst() {
+        List<CompletableFuture<HttpResponse<Void>>> responses = new ArrayList<>(concurrency);
+        for (int i = 0; i < concurrency; i++) {
+            responses.add(send());
+        }
+        int ok = 0;
+        for (CompletableFuture<HttpResponse<Void>> response : responses) {
+            if (response.join().statusCode() == 200) {
+                ok++;
+            }
+        }
+        if (ok != concurrency) {
+            throw new IllegalStateException((concurrency - ok) + " of " + concurrency + " requests failed");
+        }
+        return ok;
+    }
+
+    private CompletableFuture<HttpResponse<Void>> send() {
+        return client.sendAsync(HttpRequest.newBuilder(studentsUri).GET().build(),
+            HttpResponse.BodyHandlers.discarding());
+    }
+
+    /*
+    Registered explicitly as a source, never component-scanned, so it only applies
+    to this benchmark's application context.
+     */
+    public static class LatencyConfig {
+
+        @Bean
+        public static BeanPostProcessor statementLatencyPostProcessor(
+                org.springframework.core.env.Environment environment) {
+            long latency = environment.getProperty("roster.benchmark.statement-latency-millis", Long.class, 0L);
+            return new BeanPostProcessor() {
+                @Override
+                public Object postProcessAfterInitialization(Object bean, String beanName) {
+                    if (bean instanceof DataSource dataSource && beanName.equals("dataSource")) {
+                        return new LatencyDataSource(dataSource, latency);
+                    }
+                    return bean;
+                }
+            };
+        }
+    }
+
+    // Sleeps before every statement execution while holding the connection, like a network round trip
+    static class LatencyDataSource extends DelegatingDataSource {
+        private final long latencyMillis;
+
+        LatencyDataSource(DataSource target, long latencyMillis) {
+            super(target);
+            this.latencyMillis = latencyMillis;
+        }
+
+        @Override
+        public Connection getConnection() throws SQLException {
+            return delaying(super.getConnection(), Connection.class);
+        }
+
+        @SuppressWarnings("unchecked")
+        private <T> T delaying(T target, Class<T> type) {
+            return (T) Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[]{type}, (proxy, method, args) -> {
+                if (method.getName().startsWith("execute")) {
+                    Thread.sleep(latencyMillis);
+                }
+                try {
+                    Object result = method.invoke(target, args);
+                    if (result instanceof Statement statement && method.getName().startsWith("prepare")) {
+                        return delaying(statement, (Class<Statement>) method.getReturnType());
+                    }
+                    if (result instanceof Statement statement && method.getName().equals("createStatement")) {
+                        return delaying(statement, Statement.class);
+                    }
+                    return result;
+                } catch (InvocationTargetException ex) {
+                    throw ex.getTargetException();
+                }
+            });
+        }
+    }
+}
@@ -0,0 +1,119 @@
+package com.example.ClassRosterWebService.benchmark;
+
+import com.example.ClassRosterWebService.ClassRosterWebServiceApplication;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+import java.net.CookieManager;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/*
+Time to serve one page of GET /students, one request at a time, against an
+in-memory H2 roster, so the score is dominated by rendering rather than the
+database. templateCache=false is the development setting (every render re-reads
+and re-parses students.html); templateCache=true with fragmentCache=true is the
+prod profile, where the course badges of each row come from the fragment cache.
+
+    mvn -Pjmh verify -Djmh.args="StudentsRenderBenchmark -p pageSize=50,500"
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 3)
+@Measurement(iterations = 5, time = 3)
+@Fork(1)
+public class StudentsRenderBenchmark {
+
+    @Param({"false", "true"})
+    boolean templateCache;
+
+    @Param({"false", "true"})
+    boolean fragmentCache;
+
+    @Param({"200"})
+    int pageSize;
+
+    private ConfigurableApplicationContext context;
+    private HttpClient client;
+    private HttpRequest studentsRequest;
+
+    @Setup(Level.Trial)
+    public void setUp() throws Exception {
+        context = new SpringApplicationBuilder(ClassRosterWebServiceApplication.class)
+            // Command-line arguments, so they override application.properties
+            .run(
+                "--server.port=0",
+                "--spring.datasource.url=jdbc:h2:mem:render-" + UUID.randomUUID()
+                    + ";MODE=MySQL;DATABASE_TO_LOWER=TRUE;IGNORECASE=TRUE;NON_KEYWORDS=USER,ROLE;DB_CLOSE_DELAY=-1",
+                "--spring.datasource.driver-class-name=org.h2.Driver",
+                "--spring.datasource.username=sa",
+                "--spring.datasource.password=",
+                "--spring.flyway.enabled=true",
+                "--server.servlet.session.cookie.secure=false",
+                "--spring.thymeleaf.cache=" + templateCache,
+                "--roster.views.fragment-cache=" + fragmentCache,
+                // application.properties turns on security and DAO debug logging, which would dominate the timings
+                "--logging.level.root=WARN",
+                "--logging.level.org.springframework.security=WARN",
+                "--logging.level.org.springframework.security.authentication=WARN",
+                "--logging.level.org.springframework.security.web=WARN",
+                "--logging.level.com.example.ClassRosterWebService=WARN",
+                "--logging.level.com.example.ClassRosterWebService.Security=WARN",
+                "--logging.level.com.example.ClassRosterWebService.DAO=WARN");
+
+        JdbcTemplate jdbc = context.getBean(JdbcTemplate.class);
+        RosterSeeder.seed(jdbc, pageSize, 50, 3);
+        jdbc.update("INSERT INTO `role`(id, name) VALUES (2, 'ADMIN')");
+        jdbc.update("INSERT INTO `user`(id, username, password) VALUES (?, 'admin', ?)",
+            pageSize + 1, new BCryptPasswordEncoder().encode("password"));
+        jdbc.update("INSERT INTO user_role(user_id, role_id) VALUES (?, 2)", pageSize + 1);
+
+        String base = "http://localhost:" + context.getEnvironment().getProperty("local.server.port");
+        studentsRequest = HttpRequest.newBuilder(URI.create(base + "/students?size=" + pageSize)).GET().build();
+        client = HttpClient.newBuilder()
+            .cookieHandler(new CookieManager())
+            .followRedirects(HttpClient.Redirect.NEVER)
+            .build();
+        client.send(HttpRequest.newBuilder(URI.create(base + "/login"))
+                .header("Content-Type", "application/x-www-form-urlencoded")
+                .POST(HttpRequest.BodyPublishers.ofString("username=admin&password=password"))
+                .build(),
+            HttpResponse.BodyHandlers.discarding());
+        render();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        client.close();
+        context.close();
+    }
+
+    @Benchmark
+    public int render() throws Exception {
+        HttpResponse<byte[]> response = client.send(studentsRequest, HttpResponse.BodyHandlers.ofByteArray());
+        if (response.statusCode() != 200) {
+            throw new IllegalStateException("GET /students returned " + response.statusCode());
+        }
+        return response.body().length;
+    }
+}
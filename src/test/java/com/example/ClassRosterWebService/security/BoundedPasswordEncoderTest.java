@@ -0,0 +1,129 @@
+package com.example.ClassRosterWebService.security;
+
+import com.example.ClassRosterWebService.Security.BoundedPasswordEncoder;
+import com.example.ClassRosterWebService.Security.RosterUserDetails;
+import com.example.ClassRosterWebService.Security.SecurityConfig;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.authentication.AuthenticationServiceException;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.authentication.dao.DaoAuthenticationProvider;
+import org.springframework.security.core.authority.AuthorityUtils;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class BoundedPasswordEncoderTest {
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private final List<BoundedPasswordEncoder> encoders = new ArrayList<>();
+
+    @AfterEach
+    void tearDown() {
+        encoders.forEach(BoundedPasswordEncoder::destroy);
+    }
+
+    @Test
+    void hashesOnThePoolAndReturnsTheDelegatesResult() {
+        AtomicReference<String> hashingThread = new AtomicReference<>();
+        PasswordEncoder delegate = new PasswordEncoder() {
+            @Override
+            public String encode(CharSequence rawPassword) {
+                return "hash:" + rawPassword;
+            }
+
+            @Override
+            public boolean matches(CharSequence rawPassword, String encodedPassword) {
+                hashingThread.set(Thread.currentThread().getName());
+                return encodedPassword.equals("hash:" + rawPassword);
+            }
+        };
+        BoundedPasswordEncoder encoder = bounded(delegate, 1, 10, Duration.ofSeconds(5));
+
+        assertThat(encoder.encode("secret")).isEqualTo("hash:secret");
+        assertThat(encoder.matches("secret", "hash:secret")).isTrue();
+        assertThat(encoder.matches("wrong", "hash:secret")).isFalse();
+        assertThat(hashingThread.get()).startsWith("roster-password-hash-");
+    }
+
+    @Test
+    void refusesLoginsBeyondTheQueueInsteadOfWaiting() throws Exception {
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        PasswordEncoder slow = new PasswordEncoder() {
+            @Override
+            public String encode(CharSequence rawPassword) {
+                return rawPassword.toString();
+            }
+
+            @Override
+            public boolean matches(CharSequence rawPassword, String encodedPassword) {
+                started.countDown();
+                try {
+                    release.await(5, TimeUnit.SECONDS);
+                } catch (InterruptedException ex) {
+                    Thread.currentThread().interrupt();
+                }
+                return true;
+            }
+        };
+        BoundedPasswordEncoder encoder = bounded(slow, 1, 1, Duration.ofSeconds(5));
+
+        CompletableFuture<Boolean> running = CompletableFuture.supplyAsync(() -> encoder.matches("a", "a"));
+        assertThat(started.await(5, TimeUnit.SECONDS)).isTrue();
+        CompletableFuture<Boolean> queued = CompletableFuture.supplyAsync(() -> encoder.matches("b", "b"));
+        while (registry.get("roster.auth.hash.queued").gauge().value() < 1) {
+            Thread.onSpinWait();
+        }
+
+        assertThatThrownBy(() -> encoder.matches("c", "c"))
+                .isInstanceOf(AuthenticationServiceException.class)
+                .hasMessageContaining("Too many logins");
+        assertThat(registry.get("roster.auth.hash.rejected").counter().count()).isEqualTo(1);
+
+        release.countDown();
+        assertThat(running.get(5, TimeUnit.SECONDS)).isTrue();
+        assertThat(queued.get(5, TimeUnit.SECONDS)).isTrue();
+    }
+
+    @Test
+    void loginRehashesLegacyAndLowerCostHashesToTheConfiguredCost() {
+        PasswordEncoder encoder = new SecurityConfig().passwordEncoder(5, 1, 10, Duration.ofSeconds(5), registry);
+        encoders.add((BoundedPasswordEncoder) encoder);
+        AtomicReference<String> storedHash = new AtomicReference<>(new BCryptPasswordEncoder(4).encode("password"));
+
+        DaoAuthenticationProvider provider = new DaoAuthenticationProvider();
+        provider.setPasswordEncoder(encoder);
+        provider.setUserDetailsService(username -> new RosterUserDetails(1, username, storedHash.get(), null,
+                AuthorityUtils.createAuthorityList("ROLE_STUDENT")));
+        provider.setUserDetailsPasswordService((user, newPassword) -> {
+            storedHash.set(newPassword);
+            return user;
+        });
+
+        provider.authenticate(new UsernamePasswordAuthenticationToken("ann", "password"));
+        String upgraded = storedHash.get();
+        assertThat(upgraded).startsWith("{bcrypt}$2a$05$");
+
+        // Already at the configured cost: the next login leaves it alone
+        provider.authenticate(new UsernamePasswordAuthenticationToken("ann", "password"));
+        assertThat(storedHash.get()).isEqualTo(upgraded);
+    }
+
+    private BoundedPasswordEncoder bounded(PasswordEncoder delegate, int threads, int queueCapacity, Duration timeout) {
+        BoundedPasswordEncoder encoder = new BoundedPasswordEncoder(delegate, threads, queueCapacity, timeout, registry);
+        encoders.add(encoder);
+        return encoder;
+    }
+}
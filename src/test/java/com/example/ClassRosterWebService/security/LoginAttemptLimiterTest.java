@@ -0,0 +1,132 @@
+package com.example.ClassRosterWebService.security;
+
+import com.example.ClassRosterWebService.Security.LoginAttemptLimiter;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class LoginAttemptLimiterTest {
+
+    private final AtomicLong now = new AtomicLong(Duration.ofHours(1).toNanos());
+
+    @Test
+    void refusesAttemptsOverTheLimitUntilTheWindowSlides() {
+        LoginAttemptLimiter limiter = limiter(Duration.ofMinutes(1), 100, 4);
+
+        for (int i = 0; i < 3; i++) {
+            assertThat(limiter.tryAcquire("user:ann", 3)).isTrue();
+        }
+        assertThat(limiter.tryAcquire("user:ann", 3)).isFalse();
+        assertThat(limiter.tryAcquire("user:bob", 3)).isTrue();
+
+        // Half way through the next window half of the previous window's attempts still count
+        advance(Duration.ofSeconds(90));
+        assertThat(limiter.tryAcquire("user:ann", 3)).isTrue();
+        assertThat(limiter.tryAcquire("user:ann", 3)).isTrue();
+        assertThat(limiter.tryAcquire("user:ann", 3)).isFalse();
+
+        advance(Duration.ofMinutes(2));
+        for (int i = 0; i < 3; i++) {
+            assertThat(limiter.tryAcquire("user:ann", 3)).isTrue();
+        }
+    }
+
+    @Test
+    void resetClearsTheKeysCount() {
+        LoginAttemptLimiter limiter = limiter(Duration.ofMinutes(1), 100, 4);
+        assertThat(limiter.tryAcquire("user:ann", 1)).isTrue();
+        assertThat(limiter.tryAcquire("user:ann", 1)).isFalse();
+
+        limiter.reset("user:ann");
+
+        assertThat(limiter.tryAcquire("user:ann", 1)).isTrue();
+    }
+
+    @Test
+    void releaseTakesBackOneAttempt() {
+        LoginAttemptLimiter limiter = limiter(Duration.ofMinutes(1), 100, 4);
+        assertThat(limiter.tryAcquire("ip:10.0.0.1", 2)).isTrue();
+        assertThat(limiter.tryAcquire("ip:10.0.0.1", 2)).isTrue();
+
+        limiter.release("ip:10.0.0.1");
+
+        assertThat(limiter.tryAcquire("ip:10.0.0.1", 2)).isTrue();
+        assertThat(limiter.tryAcquire("ip:10.0.0.1", 2)).isFalse();
+    }
+
+    @Test
+    void tracksAtMostMaxKeys() {
+        LoginAttemptLimiter limiter = limiter(Duration.ofMinutes(1), 64, 8);
+
+        for (int i = 0; i < 10_000; i++) {
+            limiter.tryAcquire("ip:10.0." + (i / 256) + "." + (i % 256), 5);
+        }
+
+        assertThat(limiter.size()).isLessThanOrEqualTo(64);
+    }
+
+    // Every thread hammers the same few keys and many private ones; no attempt may be lost or double counted
+    @Test
+    void countsExactlyUnderConcurrentAttempts() throws Exception {
+        int threads = Math.max(4, Runtime.getRuntime().availableProcessors() * 2);
+        int attemptsPerThread = 20_000;
+        int sharedKeys = 8;
+        int limit = 1_000;
+        LoginAttemptLimiter limiter = new LoginAttemptLimiter(Duration.ofHours(1), 1_000_000, 64);
+
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<int[]>> results = new ArrayList<>();
+        for (int t = 0; t < threads; t++) {
+            int thread = t;
+            results.add(executor.submit(() -> {
+                int[] granted = new int[sharedKeys + 1];
+                start.await();
+                for (int i = 0; i < attemptsPerThread; i++) {
+                    int shared = i % sharedKeys;
+                    if (limiter.tryAcquire("user:shared" + shared, limit)) {
+                        granted[shared]++;
+                    }
+                    if (limiter.tryAcquire("ip:" + thread + "-" + (i % 500), Integer.MAX_VALUE)) {
+                        granted[sharedKeys]++;
+                    }
+                }
+                return granted;
+            }));
+        }
+        start.countDown();
+
+        int[] total = new int[sharedKeys + 1];
+        for (Future<int[]> result : results) {
+            int[] granted = result.get(60, TimeUnit.SECONDS);
+            for (int i = 0; i < total.length; i++) {
+                total[i] += granted[i];
+            }
+        }
+        executor.shutdown();
+
+        for (int i = 0; i < sharedKeys; i++) {
+            assertThat(total[i]).as("attempts granted for shared key %d", i).isEqualTo(limit);
+        }
+        assertThat(total[sharedKeys]).isEqualTo(threads * attemptsPerThread);
+        assertThat(limiter.size()).isEqualTo(sharedKeys + threads * 500);
+    }
+
+    private void advance(Duration duration) {
+        now.addAndGet(duration.toNanos());
+    }
+
+    private LoginAttemptLimiter limiter(Duration window, int maxKeys, int stripes) {
+        return new LoginAttemptLimiter(window, maxKeys, stripes, now::get);
+    }
+}
@@ -0,0 +1,139 @@
+package com.example.ClassRosterWebService.security;
+
+import com.example.ClassRosterWebService.Security.LoginAttemptLimiter;
+import com.example.ClassRosterWebService.Security.RateLimitedAuthenticationProvider;
+import com.example.ClassRosterWebService.Security.RateLimitedAuthenticationProvider.LoginThrottledException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.security.authentication.AuthenticationProvider;
+import org.springframework.security.authentication.BadCredentialsException;
+import org.springframework.security.authentication.ProviderManager;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.authority.AuthorityUtils;
+import org.springframework.security.web.authentication.WebAuthenticationDetails;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class RateLimitedAuthenticationProviderTest {
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private final AtomicInteger delegateCalls = new AtomicInteger();
+
+    // Stands in for DaoAuthenticationProvider: only "password" is accepted
+    private final AuthenticationProvider delegate = new AuthenticationProvider() {
+        @Override
+        public Authentication authenticate(Authentication authentication) {
+            delegateCalls.incrementAndGet();
+            if (!"password".equals(authentication.getCredentials())) {
+                throw new BadCredentialsException("Bad credentials");
+            }
+            return UsernamePasswordAuthenticationToken.authenticated(authentication.getName(), null,
+                AuthorityUtils.createAuthorityList("ROLE_STUDENT"));
+        }
+
+        @Override
+        public boolean supports(Class<?> authentication) {
+            return UsernamePasswordAuthenticationToken.class.isAssignableFrom(authentication);
+        }
+    };
+
+    @Test
+    void refusesAttemptsOverTheUsernameLimitWithoutCallingTheDelegate() {
+        ProviderManager manager = manager(3, 100);
+
+        for (int i = 0; i < 3; i++) {
+            assertThatThrownBy(() -> manager.authenticate(login("ann", "wrong", "10.0.0.1")))
+                .isInstanceOf(BadCredentialsException.class);
+        }
+        assertThatThrownBy(() -> manager.authenticate(login("ANN", "password", "10.0.0.2")))
+            .isInstanceOf(LoginThrottledException.class);
+
+        assertThat(delegateCalls).hasValue(3);
+        assertThat(registry.get("roster.auth.login.throttled").counter().count()).isEqualTo(1);
+    }
+
+    @Test
+    void refusesAttemptsOverTheIpLimitAcrossUsernames() {
+        ProviderManager manager = manager(100, 2);
+
+        assertThatThrownBy(() -> manager.authenticate(login("ann", "wrong", "10.0.0.1")))
+            .isInstanceOf(BadCredentialsException.class);
+        assertThatThrownBy(() -> manager.authenticate(login("bob", "wrong", "10.0.0.1")))
+            .isInstanceOf(BadCredentialsException.class);
+        assertThatThrownBy(() -> manager.authenticate(login("cid", "password", "10.0.0.1")))
+            .isInstanceOf(LoginThrottledException.class);
+
+        assertThat(manager.authenticate(login("cid", "password", "10.0.0.9")).isAuthenticated()).isTrue();
+        assertThat(delegateCalls).hasValue(3);
+    }
+
+    // Many users behind one NAT/proxy address: only their failures count against it
+    @Test
+    void successfulLoginsDoNotCountAgainstTheIpLimit() {
+        ProviderManager manager = manager(100, 2);
+
+        for (int i = 0; i < 10; i++) {
+            assertThat(manager.authenticate(login("user" + i, "password", "10.0.0.1")).isAuthenticated()).isTrue();
+        }
+        assertThatThrownBy(() -> manager.authenticate(login("ann", "wrong", "10.0.0.1")))
+            .isInstanceOf(BadCredentialsException.class);
+        assertThatThrownBy(() -> manager.authenticate(login("bob", "wrong", "10.0.0.1")))
+            .isInstanceOf(BadCredentialsException.class);
+        assertThatThrownBy(() -> manager.authenticate(login("cid", "password", "10.0.0.1")))
+            .isInstanceOf(LoginThrottledException.class);
+    }
+
+    @Test
+    void successfulLoginClearsTheUsernamesCount() {
+        ProviderManager manager = manager(2, 100);
+
+        assertThatThrownBy(() -> manager.authenticate(login("ann", "wrong", "10.0.0.1")))
+            .isInstanceOf(BadCredentialsException.class);
+        assertThat(manager.authenticate(login("ann", "password", "10.0.0.1")).isAuthenticated()).isTrue();
+
+        assertThatThrownBy(() -> manager.authenticate(login("ann", "wrong", "10.0.0.1")))
+            .isInstanceOf(BadCredentialsException.class);
+        assertThat(manager.authenticate(login("ann", "password", "10.0.0.1")).isAuthenticated()).isTrue();
+    }
+
+    // ProviderManager retries failed logins on its parent; a throttled one must not reach it
+    @Test
+    void throttledLoginDoesNotFallThroughToTheParentManager() {
+        AtomicInteger parentCalls = new AtomicInteger();
+        ProviderManager manager = new ProviderManager(List.of(provider(1, 100)), authentication -> {
+            parentCalls.incrementAndGet();
+            throw new BadCredentialsException("Bad credentials");
+        });
+
+        assertThatThrownBy(() -> manager.authenticate(login("ann", "wrong", "10.0.0.1")))
+            .isInstanceOf(BadCredentialsException.class);
+        assertThatThrownBy(() -> manager.authenticate(login("ann", "wrong", "10.0.0.1")))
+            .isInstanceOf(LoginThrottledException.class);
+
+        assertThat(parentCalls).hasValue(1);
+    }
+
+    private ProviderManager manager(int perUsername, int perIp) {
+        return new ProviderManager(provider(perUsername, perIp));
+    }
+
+    private RateLimitedAuthenticationProvider provider(int perUsername, int perIp) {
+        LoginAttemptLimiter limiter = new LoginAttemptLimiter(Duration.ofMinutes(5), 1_000, 4);
+        return new RateLimitedAuthenticationProvider(delegate, limiter, perUsername, perIp, registry);
+    }
+
+    private static UsernamePasswordAuthenticationToken login(String username, String password, String ip) {
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", "/login");
+        request.setRemoteAddr(ip);
+        UsernamePasswordAuthenticationToken token = UsernamePasswordAuthenticationToken.unauthenticated(username, password);
+        token.setDetails(new WebAuthenticationDetails(request));
+        return token;
+    }
+}